@@ -0,0 +1,160 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.data.binder.BeanPropertySet;
+import com.vaadin.flow.data.binder.PropertySet;
+import com.vaadin.flow.data.binder.Setter;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * Measures reading and writing bean properties through
+ * {@link BeanPropertySet}, as done by {@code Binder} and bean based
+ * {@code Grid} columns, compared to calling the same methods reflectively.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanPropertyBenchmark {
+
+    /**
+     * A bean with a few properties of different kinds.
+     */
+    public static class Person {
+        private String name = "Jane";
+        private int age = 42;
+        private Person parent;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public Person getParent() {
+            return parent;
+        }
+
+        public void setParent(Person parent) {
+            this.parent = parent;
+        }
+    }
+
+    private Person person;
+
+    private ValueProvider<Person, ?> nameGetter;
+    private ValueProvider<Person, ?> ageGetter;
+    private ValueProvider<Person, ?> parentNameGetter;
+    private Setter<Person, Object> ageSetter;
+
+    private Method nameMethod;
+    private Method ageMethod;
+    private Method setAgeMethod;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void createAccessors() throws Exception {
+        person = new Person();
+        person.setParent(new Person());
+
+        PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
+        nameGetter = propertySet.getProperty("name").get().getGetter();
+        ageGetter = propertySet.getProperty("age").get().getGetter();
+        parentNameGetter = propertySet.getProperty("parent.name").get()
+                .getGetter();
+        ageSetter = (Setter<Person, Object>) propertySet.getProperty("age")
+                .get().getSetter().get();
+
+        nameMethod = Person.class.getMethod("getName");
+        ageMethod = Person.class.getMethod("getAge");
+        setAgeMethod = Person.class.getMethod("setAge", int.class);
+    }
+
+    /**
+     * Reads an object and a primitive property.
+     */
+    @Benchmark
+    public void getProperties(Blackhole blackhole) {
+        blackhole.consume(nameGetter.apply(person));
+        blackhole.consume(ageGetter.apply(person));
+    }
+
+    /**
+     * Reads the same properties using {@link Method#invoke}.
+     */
+    @Benchmark
+    public void getPropertiesReflectively(Blackhole blackhole)
+            throws Exception {
+        blackhole.consume(nameMethod.invoke(person));
+        blackhole.consume(ageMethod.invoke(person));
+    }
+
+    /**
+     * Reads a property of a nested bean.
+     */
+    @Benchmark
+    public Object getNestedProperty() {
+        return parentNameGetter.apply(person);
+    }
+
+    /**
+     * Writes a primitive property.
+     */
+    @Benchmark
+    public void setProperty() {
+        ageSetter.accept(person, Integer.valueOf(43));
+    }
+
+    /**
+     * Writes the same property using {@link Method#invoke}.
+     */
+    @Benchmark
+    public void setPropertyReflectively() throws Exception {
+        setAgeMethod.invoke(person, Integer.valueOf(43));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.change.NodeChange;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * Compares encoding a recorded change stream using the JSON object format and
+ * the compact array format.
+ * <p>
+ * The change stream is recorded once per trial from a UI containing elements
+ * with attributes, properties, text and children, i.e. the kind of changes a
+ * high-frequency push UI sends. The length of the encoded changes is reported
+ * as the {@code encodedLength} secondary result.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeEncodingBenchmark {
+
+    /**
+     * Reports the length of the encoded changes with the timing results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedLength {
+        public long encodedLength;
+    }
+
+    @Param({ "100", "1000", "10000" })
+    private int elementCount;
+
+    private List<NodeChange> changes;
+
+    private ConstantPool constantPool;
+
+    @Setup(Level.Trial)
+    public void recordChanges() {
+        UI ui = new UI();
+        for (int i = 0; i < elementCount; i++) {
+            Element row = new Element("div");
+            row.setAttribute("class", "row");
+            row.setProperty("index", i);
+            row.setProperty("selected", i % 2 == 0);
+            Element label = new Element("span");
+            label.setText("Item " + i);
+            row.appendChild(label);
+            ui.getElement().appendChild(row);
+        }
+        changes = new ArrayList<>();
+        ui.getInternals().getStateTree().collectChanges(changes::add);
+        constantPool = new ConstantPool();
+    }
+
+    /**
+     * Encodes the recorded changes as JSON objects.
+     */
+    @Benchmark
+    public String encodeJson(EncodedLength length) {
+        JsonArray array = Json.createArray();
+        for (NodeChange change : changes) {
+            array.set(array.length(), change.toJson(constantPool));
+        }
+        String json = array.toJson();
+        length.encodedLength = json.length();
+        return json;
+    }
+
+    /**
+     * Encodes the recorded changes as compact JSON arrays.
+     */
+    @Benchmark
+    public String encodeCompact(EncodedLength length) {
+        JsonArray array = Json.createArray();
+        for (NodeChange change : changes) {
+            array.set(array.length(), change.toCompactJson(constantPool));
+        }
+        String json = array.toJson();
+        length.encodedLength = json.length();
+        return json;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Measures changing properties, attributes and class names of an
+ * {@link Element}, either while it is detached or attached to a UI. Changes
+ * to attached elements also mark the state node as dirty.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementMutationBenchmark {
+
+    private static final String[] NAMES = { "value", "label", "title",
+            "placeholder", "theme", "tabindex", "aria-label", "name" };
+
+    @Param({ "false", "true" })
+    private boolean attached;
+
+    private Element element;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void createElement() {
+        element = new Element("vaadin-text-field");
+        if (attached) {
+            new UI().getElement().appendChild(element);
+        }
+    }
+
+    /**
+     * Sets a number of string properties.
+     */
+    @Benchmark
+    public Element setProperties() {
+        String value = String.valueOf(round++);
+        for (String name : NAMES) {
+            element.setProperty(name, value);
+        }
+        return element;
+    }
+
+    /**
+     * Sets a number of attributes.
+     */
+    @Benchmark
+    public Element setAttributes() {
+        String value = String.valueOf(round++);
+        for (String name : NAMES) {
+            element.setAttribute(name, value);
+        }
+        return element;
+    }
+
+    /**
+     * Adds and removes a number of class names.
+     */
+    @Benchmark
+    public Element toggleClassNames() {
+        boolean add = (round++ & 1) == 0;
+        for (String name : NAMES) {
+            element.getClassList().set(name, add);
+        }
+        return element;
+    }
+}
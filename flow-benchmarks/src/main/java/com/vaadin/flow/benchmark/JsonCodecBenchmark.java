@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonCodec;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Measures encoding and decoding the kinds of values passed as property
+ * values, event data and JavaScript invocation parameters using
+ * {@link JsonCodec}.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private Object[] values;
+
+    private JsonValue[] encoded;
+
+    private Class<?>[] types;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        UI ui = new UI();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        JsonArray array = Json.createArray();
+        array.set(0, "first");
+        array.set(1, 2);
+        JsonObject object = Json.createObject();
+        object.put("name", "value");
+        object.put("count", 42);
+
+        values = new Object[] { "A string value", Integer.valueOf(42),
+                Double.valueOf(Math.PI), Boolean.TRUE, null, object, array,
+                element };
+
+        types = new Class<?>[] { String.class, int.class, double.class,
+                boolean.class, String.class, JsonObject.class,
+                JsonArray.class };
+        encoded = new JsonValue[types.length];
+        for (int i = 0; i < types.length; i++) {
+            encoded[i] = JsonCodec.encodeWithoutTypeInfo(values[i]);
+        }
+    }
+
+    /**
+     * Encodes each value with type information.
+     */
+    @Benchmark
+    public void encodeWithTypeInfo(Blackhole blackhole) {
+        for (Object value : values) {
+            blackhole.consume(JsonCodec.encodeWithTypeInfo(value));
+        }
+    }
+
+    /**
+     * Decodes each encoded value as its original type.
+     */
+    @Benchmark
+    public void decodeAs(Blackhole blackhole) {
+        for (int i = 0; i < encoded.length; i++) {
+            blackhole.consume(JsonCodec.decodeAs(encoded[i], types[i]));
+        }
+    }
+
+    /**
+     * Decodes each encoded value to the default Java type.
+     */
+    @Benchmark
+    public void decodeWithoutTypeInfo(Blackhole blackhole) {
+        for (JsonValue value : encoded) {
+            blackhole.consume(JsonCodec.decodeWithoutTypeInfo(value));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.DependencyFilter;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Helpers for setting up the framework objects needed by the benchmarks
+ * without a servlet container.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class MockEnvironment {
+
+    /**
+     * Answers the method calls of a proxy created using
+     * {@link MockEnvironment#proxy(Class, Answer)}.
+     */
+    @FunctionalInterface
+    interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    private MockEnvironment() {
+        // Only static helpers
+    }
+
+    /**
+     * Creates a proxy implementing the given interface.
+     *
+     * @param type
+     *            the interface to implement
+     * @param answer
+     *            the answer to use for all method calls
+     * @return a new proxy
+     */
+    static <T> T proxy(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> answer.answer(method.getName(),
+                        args)));
+    }
+
+    /**
+     * Creates a service running in production mode which has not been
+     * initialized and has no dependency filters.
+     *
+     * @return a new service
+     */
+    static VaadinServletService createService() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE, "true");
+        return new VaadinServletService(null,
+                new DefaultDeploymentConfiguration(MockEnvironment.class,
+                        initParameters)) {
+            @Override
+            public Iterable<DependencyFilter> getDependencyFilters() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    /**
+     * Creates a UI attached to a new session of the given service. The
+     * session is locked by the current thread and stays locked.
+     *
+     * @param service
+     *            the service to create the session for
+     * @return a new UI
+     */
+    static UI createUI(VaadinService service) {
+        Lock lock = new ReentrantLock();
+        VaadinSession session = new VaadinSession(service) {
+            @Override
+            public Lock getLockInstance() {
+                return lock;
+            }
+        };
+        session.lock();
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        return ui;
+    }
+}
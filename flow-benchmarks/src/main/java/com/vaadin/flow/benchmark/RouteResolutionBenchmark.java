@@ -0,0 +1,123 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.RouteParameterRegex;
+import com.vaadin.flow.router.internal.ConfigureRoutes;
+import com.vaadin.flow.router.internal.ConfiguredRoutes;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+
+/**
+ * Measures resolving URLs to navigation targets through the route segment
+ * tree of {@link ConfiguredRoutes}.
+ * <p>
+ * The routes mix static templates with templates using optional, varargs and
+ * regex constrained parameters, i.e. the different paths through the segment
+ * matching.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteResolutionBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int moduleCount;
+
+    private ConfiguredRoutes routes;
+
+    private String[] staticUrls;
+
+    private String[] parameterUrls;
+
+    private int index;
+
+    @Tag("div")
+    public static class View extends Component {
+    }
+
+    @Setup(Level.Trial)
+    public void setupRoutes() {
+        ConfigureRoutes configure = new ConfigureRoutes();
+        staticUrls = new String[moduleCount];
+        parameterUrls = new String[moduleCount * 3];
+        for (int i = 0; i < moduleCount; i++) {
+            String module = "module" + i;
+            configure.setRoute(module, View.class);
+            configure.setRoute(module + "/list", View.class);
+            configure.setRoute(module + "/:id(" + RouteParameterRegex.INTEGER
+                    + ")/edit", View.class);
+            configure.setRoute(module + "/search/:query?", View.class);
+            configure.setRoute(module + "/files/:path*", View.class);
+
+            staticUrls[i] = module + "/list";
+            parameterUrls[3 * i] = module + "/" + i + "/edit";
+            parameterUrls[3 * i + 1] = module + "/search/term" + i;
+            parameterUrls[3 * i + 2] = module + "/files/docs/" + i
+                    + "/readme.txt";
+        }
+        routes = new ConfiguredRoutes(configure);
+    }
+
+    /**
+     * Resolves URLs matching static templates.
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveStatic() {
+        index = (index + 1) % staticUrls.length;
+        return routes.getNavigationRouteTarget(staticUrls[index]);
+    }
+
+    /**
+     * Resolves URLs matching templates with parameters.
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveWithParameters() {
+        index = (index + 1) % parameterUrls.length;
+        return routes.getNavigationRouteTarget(parameterUrls[index]);
+    }
+
+    /**
+     * Resolves a URL which does not match any route.
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveNotFound() {
+        return routes.getNavigationRouteTarget("unknown/path/to/nowhere");
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Measures parsing a client to server message and dispatching its
+ * invocations using {@link ServerRpcHandler#handleRpc}.
+ * <p>
+ * Each message contains a property synchronization and a DOM event for every
+ * element in the UI, as sent when a form with many fields is submitted.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerRpcHandlerBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int elementCount;
+
+    private UI ui;
+
+    private VaadinRequest request;
+
+    private ServerRpcHandler rpcHandler;
+
+    private String messageStart;
+
+    private int eventCount;
+
+    @Setup(Level.Trial)
+    public void createMessage() {
+        VaadinServletService service = MockEnvironment.createService();
+        ui = MockEnvironment.createUI(service);
+        request = MockEnvironment.proxy(VaadinRequest.class,
+                (method, args) -> "getService".equals(method) ? service
+                        : null);
+        rpcHandler = new ServerRpcHandler();
+
+        int propertyFeature = NodeFeatureRegistry
+                .getId(ElementPropertyMap.class);
+        JsonArray invocations = Json.createArray();
+        for (int i = 0; i < elementCount; i++) {
+            Element element = new Element("input");
+            element.addPropertyChangeListener("value", "change", event -> {
+            });
+            element.addEventListener("change", event -> eventCount++)
+                    .addEventData("event.timeStamp");
+            ui.getElement().appendChild(element);
+            int nodeId = element.getNode().getId();
+
+            JsonObject sync = Json.createObject();
+            sync.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+            sync.put(JsonConstants.RPC_NODE, nodeId);
+            sync.put(JsonConstants.RPC_FEATURE, propertyFeature);
+            sync.put(JsonConstants.RPC_PROPERTY, "value");
+            sync.put(JsonConstants.RPC_PROPERTY_VALUE, "Value " + i);
+            invocations.set(invocations.length(), sync);
+
+            JsonObject eventData = Json.createObject();
+            eventData.put("event.timeStamp", 1000 + i);
+            JsonObject event = Json.createObject();
+            event.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+            event.put(JsonConstants.RPC_NODE, nodeId);
+            event.put(JsonConstants.RPC_EVENT_TYPE, "change");
+            event.put(JsonConstants.RPC_EVENT_DATA, eventData);
+            invocations.set(invocations.length(), event);
+        }
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+
+        JsonObject message = Json.createObject();
+        message.put(ApplicationConstants.CSRF_TOKEN, ui.getCsrfToken());
+        message.put(ApplicationConstants.RPC_INVOCATIONS, invocations);
+        message.put(ApplicationConstants.SERVER_SYNC_ID, 0);
+        String json = message.toJson();
+        // The client id is appended for each message
+        messageStart = json.substring(0, json.length() - 1) + ",\""
+                + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":";
+    }
+
+    /**
+     * Handles a message with the next expected client id.
+     */
+    @Benchmark
+    public int handleRpc() throws Exception {
+        int clientId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        rpcHandler.handleRpc(ui,
+                new StringReader(messageStart + clientId + "}"), request);
+        return eventCount;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Measures marking nodes as dirty and collecting the changes of a state tree
+ * where a large number of nodes are dirty at the same time, e.g. when a grid
+ * is refreshed or a big form is rebound.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTreeBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    private int nodeCount;
+
+    private StateTree tree;
+
+    private List<Element> elements;
+
+    private List<StateNode> nodes;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setupTree() {
+        UI ui = new UI();
+        tree = ui.getInternals().getStateTree();
+        elements = new ArrayList<>(nodeCount);
+        nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            Element element = new Element("div");
+            ui.getElement().appendChild(element);
+            elements.add(element);
+            nodes.add(element.getNode());
+        }
+        tree.collectChanges(change -> {
+        });
+    }
+
+    /**
+     * Marks every node dirty several times in a row, as happens when multiple
+     * features of the same node change in one round trip.
+     */
+    @Benchmark
+    public void markDirtyRepeatedly(Blackhole blackhole) {
+        for (int i = 0; i < 4; i++) {
+            nodes.forEach(StateNode::markAsDirty);
+        }
+        tree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Changes a property of every node and collects the resulting changes.
+     */
+    @Benchmark
+    public void changePropertiesAndCollect(Blackhole blackhole) {
+        round++;
+        for (Element element : elements) {
+            element.setProperty("value", round);
+        }
+        tree.collectChanges(blackhole::consume);
+    }
+}
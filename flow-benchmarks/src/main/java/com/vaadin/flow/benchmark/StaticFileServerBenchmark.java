@@ -0,0 +1,259 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.StaticFileServer;
+import com.vaadin.flow.server.VaadinServletService;
+
+import static com.vaadin.flow.benchmark.MockEnvironment.proxy;
+
+/**
+ * Measures the throughput of {@link StaticFileServer} when serving a large
+ * JavaScript bundle, both as a whole and as multiple byte ranges.
+ * <p>
+ * The bundle is served either from a <code>file:</code> URL, as in exploded
+ * deployments, or from a URL that can only be read as a stream, as for
+ * resources inside jars. The output stream of the response is either a plain
+ * stream or one that also accepts buffers like the output of some servlet
+ * containers. Note that the buffer accepting stream does not read the buffers
+ * it is given, so its results show the cost of Flow's part of the transfer
+ * only.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaticFileServerBenchmark {
+
+    private static final String BUNDLE_PATH = "/VAADIN/static/bundle.js";
+
+    @Param({ "1048576", "8388608" })
+    private int bundleSize;
+
+    @Param({ "file", "stream" })
+    private String source;
+
+    @Param({ "false", "true" })
+    private boolean channelOutput;
+
+    private File bundle;
+
+    private StaticFileServer fileServer;
+
+    private HttpServletRequest wholeRequest;
+
+    private HttpServletRequest rangeRequest;
+
+    private HttpServletResponse response;
+
+    private DiscardingOutputStream outputStream;
+
+    /**
+     * An output stream which throws away everything written to it.
+     */
+    private static class DiscardingOutputStream extends ServletOutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+
+    /**
+     * An output stream which also accepts buffers.
+     */
+    private static class DiscardingChannelOutputStream
+            extends DiscardingOutputStream implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            write(null, 0, remaining);
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupServer() throws IOException {
+        bundle = File.createTempFile("bundle", ".js");
+        byte[] contents = new byte[bundleSize];
+        new Random(42).nextBytes(contents);
+        Files.write(bundle.toPath(), contents);
+
+        URL bundleUrl = "file".equals(source) ? bundle.toURI().toURL()
+                : createStreamUrl(bundle);
+
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_PRODUCTION_MODE, "true");
+        VaadinServletService service = new VaadinServletService(null,
+                new DefaultDeploymentConfiguration(getClass(),
+                        initParameters)) {
+            @Override
+            public URL getStaticResource(String path) {
+                return BUNDLE_PATH.equals(path) ? bundleUrl : null;
+            }
+        };
+        fileServer = new StaticFileServer(service);
+
+        ServletContext context = proxy(ServletContext.class,
+                (method, args) -> "getMimeType".equals(method)
+                        ? "application/javascript"
+                        : null);
+        wholeRequest = createRequest(context, null);
+        int quarter = bundleSize / 4;
+        rangeRequest = createRequest(context,
+                String.format("bytes=0-%d, %d-%d, %d-", quarter - 1,
+                        2 * quarter, 3 * quarter - 1, 3 * quarter));
+
+        outputStream = channelOutput ? new DiscardingChannelOutputStream()
+                : new DiscardingOutputStream();
+        response = proxy(HttpServletResponse.class,
+                (method, args) -> "getOutputStream".equals(method)
+                        ? outputStream
+                        : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteBundle() {
+        bundle.delete();
+    }
+
+    /**
+     * Serves the whole bundle.
+     */
+    @Benchmark
+    public long serveWholeFile() throws IOException {
+        fileServer.serveStaticResource(wholeRequest, response);
+        return outputStream.count;
+    }
+
+    /**
+     * Serves three quarters of the bundle as a multipart byte range response.
+     */
+    @Benchmark
+    public long serveByteRanges() throws IOException {
+        fileServer.serveStaticResource(rangeRequest, response);
+        return outputStream.count;
+    }
+
+    private static HttpServletRequest createRequest(ServletContext context,
+            String range) {
+        return proxy(HttpServletRequest.class, (method, args) -> {
+            switch (method) {
+            case "getServletContext":
+                return context;
+            case "getServletPath":
+                return "";
+            case "getPathInfo":
+                return BUNDLE_PATH;
+            case "getHeader":
+                return "Range".equals(args[0]) ? range : null;
+            case "getDateHeader":
+                return -1L;
+            default:
+                return null;
+            }
+        });
+    }
+
+    private static URL createStreamUrl(File file) throws IOException {
+        return new URL("stream", "", -1, file.getPath(),
+                new URLStreamHandler() {
+                    @Override
+                    protected URLConnection openConnection(URL url) {
+                        return new URLConnection(url) {
+                            @Override
+                            public void connect() {
+                            }
+
+                            @Override
+                            public InputStream getInputStream()
+                                    throws IOException {
+                                return new FileInputStream(file);
+                            }
+
+                            @Override
+                            public long getContentLengthLong() {
+                                return file.length();
+                            }
+                        };
+                    }
+                });
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.communication.UidlWriter;
+
+import elemental.json.JsonObject;
+
+/**
+ * Measures creating the UIDL response for a UI using
+ * {@link UidlWriter#createUidl(UI, boolean)}, including collecting and
+ * encoding the changes, and serializing the response to a string.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UidlWriterBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int elementCount;
+
+    private UI ui;
+
+    private UidlWriter uidlWriter;
+
+    private List<Element> elements;
+
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setupUI() {
+        ui = MockEnvironment.createUI(MockEnvironment.createService());
+        uidlWriter = new UidlWriter();
+        elements = new ArrayList<>(elementCount);
+        for (int i = 0; i < elementCount; i++) {
+            Element row = new Element("div");
+            row.setAttribute("class", "row");
+            Element label = new Element("span");
+            label.setText("Item " + i);
+            row.appendChild(label);
+            ui.getElement().appendChild(row);
+            elements.add(row);
+        }
+        uidlWriter.createUidl(ui, false);
+    }
+
+    /**
+     * Creates the response after a property of every element has changed.
+     */
+    @Benchmark
+    public String changedProperties() {
+        round++;
+        for (Element element : elements) {
+            element.setProperty("value", round);
+        }
+        return uidlWriter.createUidl(ui, false).toJson();
+    }
+
+    /**
+     * Creates the response when nothing has changed, i.e. the fixed cost of
+     * each response.
+     */
+    @Benchmark
+    public String noChanges() {
+        JsonObject response = uidlWriter.createUidl(ui, false);
+        return response.toJson();
+    }
+}
@@ -25,12 +25,15 @@ import com.vaadin.client.flow.nodefeature.NodeMap;
 import com.vaadin.client.flow.util.ClientJsonCodec;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
- * Updates a state tree based on changes in JSON format.
+ * Updates a state tree based on changes in JSON format. Changes can be
+ * provided either as JSON objects or in the compact JSON array format.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -46,23 +49,26 @@ public class TreeChangeProcessor {
      * @param tree
      *            the tree to update
      * @param changes
-     *            the JSON array of changes
+     *            the JSON array of changes, either as JSON objects or as
+     *            compact JSON arrays
      * @return a set of updated nodes addressed by the {@code changes}
      */
     public static JsSet<StateNode> processChanges(StateTree tree,
             JsonArray changes) {
         assert !tree
                 .isUpdateInProgress() : "Previous tree change processing has not completed";
+        JsonArray changeObjects = expandCompactChanges(changes);
         try {
             tree.setUpdateInProgress(true);
 
             // Attach all nodes before doing anything else
-            JsSet<StateNode> nodes = processAttachChanges(tree, changes);
+            JsSet<StateNode> nodes = processAttachChanges(tree,
+                    changeObjects);
 
             // Then process all non-attach changes
-            int length = changes.length();
+            int length = changeObjects.length();
             for (int i = 0; i < length; i++) {
-                JsonObject change = changes.getObject(i);
+                JsonObject change = changeObjects.getObject(i);
                 if (!isAttach(change)) {
                     nodes.add(processChange(tree, change));
                 }
@@ -92,6 +98,101 @@ public class TreeChangeProcessor {
         return nodes;
     }
 
+    private static JsonArray expandCompactChanges(JsonArray changes) {
+        // All changes in a message use the same format
+        if (changes.length() == 0
+                || changes.get(0).getType() != JsonType.ARRAY) {
+            return changes;
+        }
+        JsonArray expanded = Json.createArray();
+        int length = changes.length();
+        for (int i = 0; i < length; i++) {
+            expanded.set(i, expandCompactChange(changes.getArray(i)));
+        }
+        return expanded;
+    }
+
+    /**
+     * Converts a change in the compact JSON array format to the corresponding
+     * JSON object change. This method is public for testing purposes.
+     *
+     * @param compact
+     *            the compact change
+     * @return the change as a JSON object
+     */
+    public static JsonObject expandCompactChange(JsonArray compact) {
+        JsonObject change = Json.createObject();
+        change.put(JsonConstants.CHANGE_NODE, compact.getNumber(0));
+
+        int type = (int) compact.getNumber(1);
+        switch (type) {
+        case JsonConstants.COMPACT_CHANGE_TYPE_ATTACH:
+            change.put(JsonConstants.CHANGE_TYPE,
+                    JsonConstants.CHANGE_TYPE_ATTACH);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_DETACH:
+            change.put(JsonConstants.CHANGE_TYPE,
+                    JsonConstants.CHANGE_TYPE_DETACH);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_NOOP:
+            change.put(JsonConstants.CHANGE_TYPE,
+                    JsonConstants.CHANGE_TYPE_NOOP);
+            change.put(JsonConstants.CHANGE_FEATURE, compact.getNumber(2));
+            change.put(JsonConstants.CHANGE_FEATURE_TYPE,
+                    compact.getBoolean(3));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_PUT:
+            expandMapChange(compact, change, JsonConstants.CHANGE_TYPE_PUT);
+            change.put(JsonConstants.CHANGE_PUT_VALUE, compact.<JsonValue> get(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE:
+            expandMapChange(compact, change, JsonConstants.CHANGE_TYPE_PUT);
+            change.put(JsonConstants.CHANGE_PUT_NODE_VALUE,
+                    compact.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_REMOVE:
+            expandMapChange(compact, change,
+                    JsonConstants.CHANGE_TYPE_REMOVE);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_REMOVE:
+            expandSpliceChange(compact, change);
+            change.put(JsonConstants.CHANGE_SPLICE_REMOVE,
+                    compact.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD:
+            expandSpliceChange(compact, change);
+            change.put(JsonConstants.CHANGE_SPLICE_ADD, compact.getArray(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD_NODES:
+            expandSpliceChange(compact, change);
+            change.put(JsonConstants.CHANGE_SPLICE_ADD_NODES,
+                    compact.getArray(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_CLEAR:
+            change.put(JsonConstants.CHANGE_TYPE,
+                    JsonConstants.CHANGE_TYPE_CLEAR);
+            change.put(JsonConstants.CHANGE_FEATURE, compact.getNumber(2));
+            break;
+        default:
+            assert false : "Unsupported compact change type: " + type;
+        }
+        return change;
+    }
+
+    private static void expandMapChange(JsonArray compact, JsonObject change,
+            String type) {
+        change.put(JsonConstants.CHANGE_TYPE, type);
+        change.put(JsonConstants.CHANGE_FEATURE, compact.getNumber(2));
+        change.put(JsonConstants.CHANGE_MAP_KEY, compact.getString(3));
+    }
+
+    private static void expandSpliceChange(JsonArray compact,
+            JsonObject change) {
+        change.put(JsonConstants.CHANGE_TYPE, JsonConstants.CHANGE_TYPE_SPLICE);
+        change.put(JsonConstants.CHANGE_FEATURE, compact.getNumber(2));
+        change.put(JsonConstants.CHANGE_SPLICE_INDEX, compact.getNumber(3));
+    }
+
     private static boolean isAttach(JsonObject change) {
         return JsonConstants.CHANGE_TYPE_ATTACH
                 .equals(change.getString(JsonConstants.CHANGE_TYPE));
@@ -316,6 +316,96 @@ public class TreeChangeProcessorTest {
         Assert.assertNull(child.getParent());
     }
 
+    @Test
+    public void compactChanges_processedAsJsonObjectChanges() {
+        int nodeId = 2;
+        int listNs = NodeFeatures.ELEMENT_CHILDREN;
+        JsonArray changes = toArray(
+                compactChange(nodeId,
+                        JsonConstants.COMPACT_CHANGE_TYPE_ATTACH),
+                compactChange(rootId,
+                        JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE,
+                        Json.create(ns), Json.create(myKey),
+                        Json.create(nodeId)),
+                compactChange(nodeId, JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                        Json.create(ns), Json.create(myKey),
+                        Json.create(myValue)),
+                compactChange(nodeId,
+                        JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD,
+                        Json.create(listNs), Json.create(0),
+                        toArray(Json.create("foo"), Json.create("bar"))),
+                compactChange(nodeId,
+                        JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_REMOVE,
+                        Json.create(listNs), Json.create(0),
+                        Json.create(1)));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor
+                .processChanges(tree, changes);
+
+        StateNode node = tree.getNode(nodeId);
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertSame(node,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertEquals(myValue,
+                node.getMap(ns).getProperty(myKey).getValue());
+        Assert.assertEquals(1, node.getList(listNs).length());
+        Assert.assertEquals("bar", node.getList(listNs).get(0));
+    }
+
+    @Test
+    public void expandCompactChange_allTypes_sameAsJsonObjectChange() {
+        assertExpandsTo(attachChange(3),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_ATTACH));
+        assertExpandsTo(detachChange(3),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_DETACH));
+        assertExpandsTo(populateChange(3, true, 1),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_NOOP,
+                        Json.create(1), Json.create(true)));
+        assertExpandsTo(putChange(3, ns, myKey, Json.createNull()),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                        Json.create(ns), Json.create(myKey),
+                        Json.createNull()));
+        assertExpandsTo(putNodeChange(3, ns, myKey, 4),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE,
+                        Json.create(ns), Json.create(myKey), Json.create(4)));
+        assertExpandsTo(removeChange(3, ns, myKey),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_REMOVE,
+                        Json.create(ns), Json.create(myKey)));
+        assertExpandsTo(spliceChange(3, ns, 2, 1),
+                compactChange(3,
+                        JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_REMOVE,
+                        Json.create(ns), Json.create(2), Json.create(1)));
+        assertExpandsTo(spliceChange(3, ns, 2, 0, Json.create("foo")),
+                compactChange(3, JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD,
+                        Json.create(ns), Json.create(2),
+                        toArray(Json.create("foo"))));
+        assertExpandsTo(nodeSpliceChange(3, ns, 2, 0, 4),
+                compactChange(3,
+                        JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD_NODES,
+                        Json.create(ns), Json.create(2),
+                        toArray(Json.create(4))));
+
+        JsonObject clear = baseChange(3, JsonConstants.CHANGE_TYPE_CLEAR);
+        clear.put(JsonConstants.CHANGE_FEATURE, ns);
+        assertExpandsTo(clear, compactChange(3,
+                JsonConstants.COMPACT_CHANGE_TYPE_CLEAR, Json.create(ns)));
+    }
+
+    private static void assertExpandsTo(JsonObject expected,
+            JsonArray compact) {
+        Assert.assertTrue(JsonUtils.jsonEquals(expected,
+                TreeChangeProcessor.expandCompactChange(compact)));
+    }
+
+    private static JsonArray compactChange(int node, int type,
+            JsonValue... values) {
+        JsonArray json = toArray(Json.create(node), Json.create(type));
+        for (JsonValue value : values) {
+            json.set(json.length(), value);
+        }
+        return json;
+    }
+
     private static JsonArray toArray(JsonValue... changes) {
         return Arrays.stream(changes).collect(JsonUtils.asArray());
     }
@@ -19,8 +19,13 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,8 +37,12 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.BeanUtil;
+import com.vaadin.flow.internal.ReflectTools;
 
 /**
  * A {@link PropertySet} that uses reflection to find bean properties.
@@ -113,13 +122,14 @@ public class BeanPropertySet<T> implements PropertySet<T> {
             super(propertySet, propertyHolderType, descriptor);
         }
 
+        // Generated on first use, definitions are serialized by name
+        private transient volatile ValueProvider<Object, Object> reader;
+        private transient volatile Setter<Object, Object> writer;
+
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod, bean);
-                return getType().cast(value);
-            };
+            Class<V> type = getType();
+            return bean -> type.cast(getReader().apply(bean));
         }
 
         @Override
@@ -128,17 +138,25 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 return Optional.empty();
             }
 
-            Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
-                // if its done outside the code block, that will produce
-                // NotSerializableException because of some lambda compilation
-                // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter, bean, value);
-            };
+            Setter<T, V> setter = (bean, value) -> getWriter().accept(bean,
+                    value);
             return Optional.of(setter);
         }
 
+        private ValueProvider<Object, Object> getReader() {
+            if (reader == null) {
+                reader = createReader(getDescriptor().getReadMethod());
+            }
+            return reader;
+        }
+
+        private Setter<Object, Object> getWriter() {
+            if (writer == null) {
+                writer = createWriter(getDescriptor().getWriteMethod());
+            }
+            return writer;
+        }
+
         private Object writeReplace() {
             /*
              * Instead of serializing this actual property definition, only
@@ -176,6 +194,10 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         private final PropertyDefinition<T, ?> parent;
 
+        // Generated on first use, definitions are serialized by name
+        private transient volatile ValueProvider<Object, Object> reader;
+        private transient volatile Setter<Object, Object> writer;
+
         /**
          * Creates a new instance of a nested property definition.
          *
@@ -195,12 +217,10 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod,
-                        parent.getGetter().apply(bean));
-                return getType().cast(value);
-            };
+            Class<V> type = getType();
+            ValueProvider<T, ?> parentGetter = parent.getGetter();
+            return bean -> type
+                    .cast(getReader().apply(parentGetter.apply(bean)));
         }
 
         @Override
@@ -209,18 +229,26 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 return Optional.empty();
             }
 
-            Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
-                // if its done outside the code block, that will produce
-                // NotSerializableException because of some lambda compilation
-                // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter,
-                        parent.getGetter().apply(bean), value);
-            };
+            ValueProvider<T, ?> parentGetter = parent.getGetter();
+            Setter<T, V> setter = (bean, value) -> getWriter()
+                    .accept(parentGetter.apply(bean), value);
             return Optional.of(setter);
         }
 
+        private ValueProvider<Object, Object> getReader() {
+            if (reader == null) {
+                reader = createReader(getDescriptor().getReadMethod());
+            }
+            return reader;
+        }
+
+        private Setter<Object, Object> getWriter() {
+            if (writer == null) {
+                writer = createWriter(getDescriptor().getWriteMethod());
+            }
+            return writer;
+        }
+
         @Override
         public String getName() {
             return parent.getName() + "." + super.getName();
@@ -310,6 +338,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
     private static final ConcurrentMap<InstanceKey<?>, BeanPropertySet<?>> INSTANCES = new ConcurrentHashMap<>();
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private final InstanceKey<T> instanceKey;
 
     private final Map<String, PropertyDefinition<T, ?>> definitions;
@@ -510,6 +540,118 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 && readMethod.getDeclaringClass() != Object.class;
     }
 
+    /**
+     * Creates a function that calls the given getter. A lambda class is
+     * generated for the getter if it is accessible from this class, so that
+     * calls do not go through reflection. Otherwise, the getter is called
+     * using {@link Method#invoke(Object, Object...)}.
+     * <p>
+     * Both fail in the same way: exceptions thrown by the getter are wrapped
+     * as by {@link #invokeWrapExceptions(Method, Object, Object...)}, and an
+     * invalid bean is reported by a reflective call.
+     */
+    private static ValueProvider<Object, Object> createReader(Method method) {
+        if (canGenerateAccessor(method)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                ValueProvider<Object, Object> generated = (ValueProvider<Object, Object>) LambdaMetafactory
+                        .metafactory(LOOKUP, "apply",
+                                MethodType.methodType(ValueProvider.class),
+                                MethodType.methodType(Object.class,
+                                        Object.class),
+                                handle, handle.type().wrap())
+                        .getTarget().invoke();
+                Class<?> beanType = method.getDeclaringClass();
+                return bean -> {
+                    if (!beanType.isInstance(bean)) {
+                        return invokeWrapExceptions(method, bean);
+                    }
+                    try {
+                        return generated.apply(bean);
+                    } catch (RuntimeException | Error e) {
+                        throw wrapInvocationException(e);
+                    }
+                };
+            } catch (Throwable e) {
+                getLogger().debug("Cannot generate a getter for {}, "
+                        + "using reflection instead", method, e);
+            }
+        }
+        return bean -> invokeWrapExceptions(method, bean);
+    }
+
+    /**
+     * Creates a function that calls the given setter, like
+     * {@link #createReader(Method)}.
+     */
+    private static Setter<Object, Object> createWriter(Method method) {
+        if (canGenerateAccessor(method)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                Setter<Object, Object> generated = (Setter<Object, Object>) LambdaMetafactory
+                        .metafactory(LOOKUP, "accept",
+                                MethodType.methodType(Setter.class),
+                                MethodType.methodType(void.class,
+                                        Object.class, Object.class),
+                                handle,
+                                handle.type().wrap()
+                                        .changeReturnType(void.class))
+                        .getTarget().invoke();
+                Class<?> beanType = method.getDeclaringClass();
+                Class<?> parameterType = method.getParameterTypes()[0];
+                Class<?> valueType = ReflectTools
+                        .convertPrimitiveType(parameterType);
+                return (bean, value) -> {
+                    /*
+                     * Null for a primitive, a value that needs a widening
+                     * conversion or an invalid bean are left for a reflective
+                     * call, which also reports them.
+                     */
+                    if (!beanType.isInstance(bean) || (value == null
+                            ? parameterType.isPrimitive()
+                            : !valueType.isInstance(value))) {
+                        invokeWrapExceptions(method, bean, value);
+                        return;
+                    }
+                    try {
+                        generated.accept(bean, value);
+                    } catch (RuntimeException | Error e) {
+                        throw wrapInvocationException(e);
+                    }
+                };
+            } catch (Throwable e) {
+                getLogger().debug("Cannot generate a setter for {}, "
+                        + "using reflection instead", method, e);
+            }
+        }
+        return (bean, value) -> invokeWrapExceptions(method, bean, value);
+    }
+
+    private static boolean canGenerateAccessor(Method method) {
+        Class<?> type = method.getDeclaringClass();
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        if (method.getExceptionTypes().length > 0) {
+            // Keep wrapping checked exceptions like reflective calls do
+            return false;
+        }
+        try {
+            /*
+             * The generated class is defined by the class loader of this
+             * class, so it can only refer to types visible to that loader.
+             */
+            return Class.forName(type.getName(), false,
+                    BeanPropertySet.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(BeanPropertySet.class);
+    }
+
     private static Object invokeWrapExceptions(Method method, Object target,
             Object... parameters) {
         try {
@@ -519,6 +661,11 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         }
     }
 
+    private static RuntimeException wrapInvocationException(Throwable e) {
+        // Same as for an exception thrown by a reflective call
+        return new RuntimeException(new InvocationTargetException(e));
+    }
+
     @Override
     public String toString() {
         return "Property set for bean " + instanceKey.type.getName();
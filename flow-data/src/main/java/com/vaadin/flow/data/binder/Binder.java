@@ -1055,6 +1055,16 @@ public class Binder<BEAN> implements Serializable {
 
         private boolean validatorsDisabled = false;
 
+        /*
+         * The result of the last conversion and the state it was computed
+         * for, reused by incremental validation while the state is unchanged.
+         */
+        private transient Result<TARGET> cachedConversion;
+        private transient FIELDVALUE cachedFieldValue;
+        private transient Locale cachedLocale;
+        private transient boolean cachedValidatorsDisabled;
+        private transient boolean cachedRequired;
+
         public BindingImpl(BindingBuilderImpl<BEAN, FIELDVALUE, TARGET> builder,
                 ValueProvider<BEAN, TARGET> getter,
                 Setter<BEAN, TARGET> setter) {
@@ -1136,9 +1146,52 @@ public class Binder<BEAN> implements Serializable {
          * @return the result of the conversion
          */
         private Result<TARGET> doConversion() {
+            return doConversion(false);
+        }
+
+        /**
+         * Returns the field value run through all converters and validators,
+         * optionally reusing the result of the previous conversion if the
+         * field value, locale, required state and disabled state of the
+         * validators have not changed since then.
+         *
+         * @param reuseCached
+         *            {@code true} to reuse the previous result if possible,
+         *            {@code false} to always convert the value
+         * @return the result of the conversion
+         */
+        private Result<TARGET> doConversion(boolean reuseCached) {
             FIELDVALUE fieldValue = field.getValue();
-            return converterValidatorChain.convertToModel(fieldValue,
-                    createValueContext());
+            ValueContext context = createValueContext();
+            Locale locale = context.getLocale().orElse(null);
+            boolean disabled = isValidatorsDisabled()
+                    || (binder != null && binder.isValidatorsDisabled());
+            boolean required = field.isRequiredIndicatorVisible();
+            if (reuseCached && cachedConversion != null
+                    && Objects.equals(cachedFieldValue, fieldValue)
+                    && Objects.equals(cachedLocale, locale)
+                    && cachedValidatorsDisabled == disabled
+                    && cachedRequired == required) {
+                return cachedConversion;
+            }
+
+            Result<TARGET> result = converterValidatorChain
+                    .convertToModel(fieldValue, context);
+            cachedConversion = result;
+            cachedFieldValue = fieldValue;
+            cachedLocale = locale;
+            cachedValidatorsDisabled = disabled;
+            cachedRequired = required;
+            return result;
+        }
+
+        /**
+         * Discards the result of the previous conversion, so that the next
+         * incremental validation converts the field value again.
+         */
+        private void clearCachedConversion() {
+            cachedConversion = null;
+            cachedFieldValue = null;
         }
 
         private BindingValidationStatus<TARGET> toValidationStatus(
@@ -1157,6 +1210,11 @@ public class Binder<BEAN> implements Serializable {
             return toValidationStatus(doConversion());
         }
 
+        private BindingValidationStatus<TARGET> doValidation(
+                boolean reuseCached) {
+            return toValidationStatus(doConversion(reuseCached));
+        }
+
         /**
          * Creates a value context from the current state of the binding and its
          * field.
@@ -1240,9 +1298,14 @@ public class Binder<BEAN> implements Serializable {
          *            the bean to set the property value to
          */
         private BindingValidationStatus<TARGET> writeFieldValue(BEAN bean) {
+            return writeFieldValue(bean, false);
+        }
+
+        private BindingValidationStatus<TARGET> writeFieldValue(BEAN bean,
+                boolean reuseCached) {
             assert bean != null;
 
-            Result<TARGET> result = doConversion();
+            Result<TARGET> result = doConversion(reuseCached);
             if (!isReadOnly()) {
                 result.ifOk(value -> setter.accept(bean, value));
             }
@@ -1453,6 +1516,10 @@ public class Binder<BEAN> implements Serializable {
 
     private boolean validatorsDisabled = false;
 
+    private boolean incrementalValidationEnabled = false;
+
+    private final Map<Binding<BEAN, ?>, Set<Binding<BEAN, ?>>> validationDependents = new HashMap<>();
+
     /**
      * Creates a binder using a custom {@link PropertySet} implementation for
      * finding and resolving property names for
@@ -1556,10 +1623,21 @@ public class Binder<BEAN> implements Serializable {
      */
     protected void handleFieldValueChange(Binding<BEAN, ?> binding) {
         changedBindings.add(binding);
+        Set<Binding<BEAN, ?>> dependents = Collections.emptySet();
+        if (isIncrementalValidationEnabled()) {
+            clearCachedConversion(binding);
+            dependents = validationDependents.getOrDefault(binding,
+                    Collections.emptySet());
+            dependents.forEach(this::clearCachedConversion);
+        }
         if (getBean() != null) {
-            doWriteIfValid(getBean(), changedBindings);
+            // Dependents are validated and written with the changed binding
+            changedBindings.addAll(dependents);
+            doWriteIfValid(getBean(), changedBindings,
+                    isIncrementalValidationEnabled());
         } else {
             binding.validate();
+            dependents.forEach(Binding::validate);
         }
     }
 
@@ -1934,16 +2012,42 @@ public class Binder<BEAN> implements Serializable {
      * @return a list of field validation errors if such occur, otherwise a list
      *         of bean validation errors.
      */
-    @SuppressWarnings("unchecked")
     private BinderValidationStatus<BEAN> doWriteIfValid(BEAN bean,
             Collection<Binding<BEAN, ?>> bindings) {
+        return doWriteIfValid(bean, bindings, false);
+    }
+
+    /**
+     * Writes the field values into the given bean if all field level
+     * validators pass. Runs bean level validators on the bean after writing.
+     *
+     * @param bean
+     *            the bean to write field values into
+     * @param bindings
+     *            the set of bindings to write to the bean
+     * @param reuseCached
+     *            {@code true} to reuse the previous conversion results of
+     *            bindings whose state has not changed, {@code false} to
+     *            validate all bindings
+     * @return a list of field validation errors if such occur, otherwise a list
+     *         of bean validation errors.
+     */
+    @SuppressWarnings("unchecked")
+    private BinderValidationStatus<BEAN> doWriteIfValid(BEAN bean,
+            Collection<Binding<BEAN, ?>> bindings, boolean reuseCached) {
         Objects.requireNonNull(bean, "bean cannot be null");
         List<ValidationResult> binderResults = Collections.emptyList();
 
         // First run fields level validation, if no validation errors then
         // update bean
-        List<BindingValidationStatus<?>> bindingResults = bindings.stream()
-                .map(b -> b.validate(false)).collect(Collectors.toList());
+        List<BindingValidationStatus<?>> bindingResults = new ArrayList<>(
+                bindings.size());
+        for (Binding<BEAN, ?> binding : bindings) {
+            BindingValidationStatus<?> bindingResult = reuseCached
+                    ? ((BindingImpl<BEAN, ?, ?>) binding).doValidation(true)
+                    : binding.validate(false);
+            bindingResults.add(bindingResult);
+        }
 
         if (bindingResults.stream()
                 .noneMatch(BindingValidationStatus::isError)) {
@@ -1952,7 +2056,7 @@ public class Binder<BEAN> implements Serializable {
                     bindings);
 
             bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
-                    .writeFieldValue(bean));
+                    .writeFieldValue(bean, reuseCached));
             // Now run bean level validation against the updated bean
             binderResults = validateBean(bean);
             if (binderResults.stream().anyMatch(ValidationResult::isError)) {
@@ -3050,6 +3154,9 @@ public class Binder<BEAN> implements Serializable {
             boundProperties.entrySet()
                     .removeIf(entry -> entry.getValue().equals(binding));
             changedBindings.remove(binding);
+            validationDependents.remove(binding);
+            validationDependents.values()
+                    .forEach(dependents -> dependents.remove(binding));
         }
     }
 
@@ -3084,4 +3191,73 @@ public class Binder<BEAN> implements Serializable {
     public boolean isValidatorsDisabled() {
         return validatorsDisabled;
     }
+
+    /**
+     * Sets whether validation triggered by field value changes is
+     * incremental. When enabled, the conversion and validation result of each
+     * binding is reused while its field value, locale, required state and
+     * disabled state of the validators stay the same, instead of running the
+     * converters and validators of all changed bindings again whenever any
+     * field value changes. This makes value changes of forms with many
+     * bindings cheaper, especially with {@code ValueChangeMode.EAGER}.
+     * <p>
+     * Validators which depend on the values of other fields must declare
+     * those with {@link #addValidationDependency(Binding, Binding)}, since
+     * otherwise their results would not be updated when the other fields
+     * change. Bindings whose validators are still failing are validated
+     * again on each change like without incremental validation, but their
+     * converters and validators only run if their own state has changed.
+     * Explicit validation, e.g. {@link #validate()} and
+     * {@link #writeBean(Object)}, always runs all converters and validators.
+     * Incremental validation is disabled by default.
+     *
+     * @param incrementalValidationEnabled
+     *            {@code true} to enable incremental validation, {@code false}
+     *            to validate all changed bindings on each value change
+     */
+    public void setIncrementalValidationEnabled(
+            boolean incrementalValidationEnabled) {
+        this.incrementalValidationEnabled = incrementalValidationEnabled;
+    }
+
+    /**
+     * Returns whether validation triggered by field value changes is
+     * incremental.
+     *
+     * @return {@code true} if incremental validation is enabled,
+     *         {@code false} otherwise
+     * @see #setIncrementalValidationEnabled(boolean)
+     */
+    public boolean isIncrementalValidationEnabled() {
+        return incrementalValidationEnabled;
+    }
+
+    /**
+     * Declares that the validation of a binding depends on the value of the
+     * field of another binding, e.g. when a validator compares the values of
+     * two fields. With incremental validation, the binding is then validated
+     * again whenever the value of the other field changes, and its value is
+     * written to the bean together with the value of the other field.
+     *
+     * @param binding
+     *            the binding whose validation depends on the other binding,
+     *            not {@code null}
+     * @param dependency
+     *            the binding the validation depends on, not {@code null}
+     * @see #setIncrementalValidationEnabled(boolean)
+     */
+    public void addValidationDependency(Binding<BEAN, ?> binding,
+            Binding<BEAN, ?> dependency) {
+        Objects.requireNonNull(binding, "Binding cannot be null");
+        Objects.requireNonNull(dependency, "Dependency cannot be null");
+        validationDependents
+                .computeIfAbsent(dependency, key -> new LinkedHashSet<>())
+                .add(binding);
+    }
+
+    private void clearCachedConversion(Binding<BEAN, ?> binding) {
+        if (binding instanceof BindingImpl) {
+            ((BindingImpl<BEAN, ?, ?>) binding).clearCachedConversion();
+        }
+    }
 }
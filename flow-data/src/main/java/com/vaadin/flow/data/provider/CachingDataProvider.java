@@ -0,0 +1,371 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
+import com.vaadin.flow.shared.Registration;
+
+/**
+ * A data provider that caches the pages and item counts fetched from another
+ * data provider. A single instance can be shared by all components and
+ * sessions of an application, so that the wrapped data provider, e.g. a
+ * database, is queried only once for each page as long as the page is cached.
+ * <p>
+ * Items are cached in pages of a fixed size, keyed by the filter, the
+ * {@link QuerySortOrder sort orders} and the offset of the page. The in-memory
+ * sorting of a query is not part of the key, so it should match the sort
+ * orders. Queries for other offsets and limits are served by combining cached
+ * pages. Filter objects must implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} for cached pages to be reused.
+ * <p>
+ * Cached pages and counts expire after the configured time to live, and the
+ * least recently used ones are evicted when the maximum number of entries is
+ * exceeded. All cached data is discarded by {@link #refreshAll()} and when
+ * the wrapped data provider fires a {@link DataChangeEvent}. Pages
+ * containing an item are discarded by {@link #refreshItem(Object)} and when
+ * the wrapped data provider fires a {@link DataRefreshEvent} for the item.
+ * Listeners are notified on the thread that refreshes the data.
+ * <p>
+ * Since an instance is shared, its listeners and cached data are not
+ * serialized with a session. {@link #close()} stops listening to the wrapped
+ * data provider when the cache is no longer needed.
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @author Vaadin Ltd
+ * @since
+ */
+public class CachingDataProvider<T, F>
+        extends AbstractBackEndDataProvider<T, F> {
+
+    private final DataProvider<T, F> dataProvider;
+
+    private final int pageSize;
+
+    private final int maxEntries;
+
+    private final long timeToLive;
+
+    private final Clock clock;
+
+    private final Registration dataProviderRegistration;
+
+    // Listeners of all sessions, not serialized
+    private transient CopyOnWriteArrayList<DataProviderListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by itself, not serialized
+    private transient Map<List<Object>, CacheEntry> cache;
+
+    /**
+     * A cached page or count which is loaded by the first thread that needs
+     * it while other threads wait for the result.
+     */
+    private static class CacheEntry {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+
+        private final long expires;
+
+        // Set when the entry is discarded while loading, the result is then
+        // returned to the waiting threads but not reused
+        private volatile boolean invalidated;
+
+        private CacheEntry(long expires) {
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Creates a caching data provider for the given data provider.
+     *
+     * @param dataProvider
+     *            the data provider to cache, not <code>null</code>
+     * @param pageSize
+     *            the number of items in each cached page, at least 1
+     * @param maxEntries
+     *            the maximum number of cached pages and counts, at least 1
+     * @param timeToLive
+     *            how long pages and counts are cached, not <code>null</code>
+     *            and positive
+     */
+    public CachingDataProvider(DataProvider<T, F> dataProvider, int pageSize,
+            int maxEntries, Duration timeToLive) {
+        this(dataProvider, pageSize, maxEntries, timeToLive,
+                Clock.systemUTC());
+    }
+
+    CachingDataProvider(DataProvider<T, F> dataProvider, int pageSize,
+            int maxEntries, Duration timeToLive, Clock clock) {
+        this.dataProvider = Objects.requireNonNull(dataProvider,
+                "The wrapped data provider cannot be null.");
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Page size cannot be less than 1, got %d", pageSize));
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Maximum number of entries cannot be less than 1, got %d",
+                    maxEntries));
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException(
+                    "Time to live must be positive, got " + timeToLive);
+        }
+        this.pageSize = pageSize;
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive.toMillis();
+        this.clock = clock;
+        cache = createCache();
+
+        dataProviderRegistration = dataProvider
+                .addDataProviderListener(this::onDataChange);
+    }
+
+    /**
+     * Gets the data provider whose data is cached.
+     *
+     * @return the wrapped data provider
+     */
+    public DataProvider<T, F> getDataProvider() {
+        return dataProvider;
+    }
+
+    /**
+     * Stops listening to changes in the wrapped data provider and discards all
+     * cached data. Pages fetched after closing are cached again, but changes
+     * in the wrapped data provider are no longer noticed.
+     */
+    public void close() {
+        dataProviderRegistration.remove();
+        clearCache();
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return false;
+    }
+
+    @Override
+    public Object getId(T item) {
+        return dataProvider.getId(item);
+    }
+
+    @Override
+    public void refreshAll() {
+        clearCache();
+        // Listeners are notified through the event of the wrapped provider
+        dataProvider.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        discardPagesContaining(item);
+        dataProvider.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        discardPagesContaining(item);
+        dataProvider.refreshItem(item, refreshChildren);
+    }
+
+    @Override
+    public Registration addDataProviderListener(
+            DataProviderListener<T> listener) {
+        // Components of different sessions may add listeners concurrently
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void fireEvent(EventObject event) {
+        listeners.forEach(
+                listener -> listener.onDataChange((DataChangeEvent<T>) event));
+    }
+
+    @Override
+    protected Stream<T> fetchFromBackEnd(Query<T, F> query) {
+        int limit = query.getLimit();
+        List<Object> queryKey = Arrays.asList(query.getFilter().orElse(null),
+                getSortKey(query.getSortOrders()));
+
+        List<T> items = new ArrayList<>();
+        int page = query.getOffset() / pageSize;
+        int indexInPage = query.getOffset() % pageSize;
+        while (items.size() < limit) {
+            List<T> pageItems = getPage(queryKey, page, query);
+            for (int i = indexInPage; i < pageItems.size()
+                    && items.size() < limit; i++) {
+                items.add(pageItems.get(i));
+            }
+            if (pageItems.size() < pageSize) {
+                break;
+            }
+            page++;
+            indexInPage = 0;
+        }
+        return items.stream();
+    }
+
+    @Override
+    protected int sizeInBackEnd(Query<T, F> query) {
+        F filter = query.getFilter().orElse(null);
+        return getCached(Collections.singletonList(filter),
+                () -> dataProvider.size(new Query<>(filter)));
+    }
+
+    private List<T> getPage(List<Object> queryKey, int page,
+            Query<T, F> query) {
+        List<Object> key = new ArrayList<>(queryKey);
+        key.add(page);
+        return getCached(key, () -> dataProvider
+                .fetch(new Query<>(page * pageSize, pageSize,
+                        query.getSortOrders(), query.getInMemorySorting(),
+                        query.getFilter().orElse(null)))
+                .limit(pageSize)
+                .collect(Collectors.toList()));
+    }
+
+    private static List<String> getSortKey(List<QuerySortOrder> sortOrders) {
+        // QuerySortOrder does not implement equals
+        return sortOrders.stream()
+                .map(order -> order.getSorted() + " " + order.getDirection())
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V getCached(List<Object> key, Supplier<V> loader) {
+        long now = clock.millis();
+        CacheEntry entry;
+        boolean load = false;
+        synchronized (cache) {
+            entry = cache.get(key);
+            if (entry == null || entry.expires <= now || entry.invalidated) {
+                entry = new CacheEntry(now + timeToLive);
+                cache.put(key, entry);
+                load = true;
+            }
+        }
+        if (load) {
+            boolean loaded = false;
+            try {
+                entry.value.complete(loader.get());
+                loaded = true;
+            } catch (Throwable e) {
+                // Waiting threads must not block forever, whatever was thrown
+                entry.value.completeExceptionally(e);
+                throw e;
+            } finally {
+                if (!loaded || entry.invalidated) {
+                    synchronized (cache) {
+                        cache.remove(key, entry);
+                    }
+                }
+            }
+        }
+        try {
+            return (V) entry.value.join();
+        } catch (CompletionException e) {
+            // Loading failed in another thread
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private void onDataChange(DataChangeEvent<T> event) {
+        if (event instanceof DataRefreshEvent) {
+            T item = ((DataRefreshEvent<T>) event).getItem();
+            discardPagesContaining(item);
+            fireEvent(new DataRefreshEvent<>(this, item,
+                    ((DataRefreshEvent<T>) event).isRefreshChildren()));
+        } else {
+            clearCache();
+            fireEvent(new DataChangeEvent<>(this));
+        }
+    }
+
+    private void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void discardPagesContaining(T item) {
+        Object id = getId(item);
+        synchronized (cache) {
+            cache.values().removeIf(entry -> {
+                if (!entry.value.isDone()) {
+                    // The items are not known yet, so the result of the
+                    // load may already be out of date
+                    entry.invalidated = true;
+                    return false;
+                }
+                if (entry.value.isCompletedExceptionally()) {
+                    return false;
+                }
+                Object value = entry.value.join();
+                return value instanceof List && ((List<T>) value).stream()
+                        .anyMatch(cached -> Objects.equals(id,
+                                getId(cached)));
+            });
+        }
+    }
+
+    private Map<List<Object>, CacheEntry> createCache() {
+        return new LinkedHashMap<List<Object>, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<List<Object>, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        listeners = new CopyOnWriteArrayList<>();
+        cache = createCache();
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Objects;
+
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link DataKeyMapper} which uses less memory per mapped object than
+ * {@link KeyMapper}.
+ * <p>
+ * Keys are sequential numbers which are stored as primitive values and only
+ * converted to strings when requested. The mappings are stored in open
+ * addressing hash tables backed by arrays, so no entry objects or key strings
+ * are retained for the mapped objects. The keys have the same format as the
+ * default keys of {@link KeyMapper}. The mapper can be taken into use with
+ * {@link DataCommunicator#setKeyMapper(DataKeyMapper)}.
+ * <p>
+ * The mapper can optionally be used in identifier-only mode, where only the
+ * identifiers of the objects are retained and {@link #get(String)} loads the
+ * object by its identifier, typically from the backend of the data provider.
+ * This trades memory for a backend call each time an object is retrieved by
+ * its key, e.g. when an item is selected or an event is received for it.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ * @author Vaadin Ltd
+ * @since
+ */
+public class CompactKeyMapper<V> implements DataKeyMapper<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final String NULL_KEY = "null";
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    private final SerializableFunction<Object, V> itemLoader;
+
+    private int lastKey = 0;
+
+    private transient int size = 0;
+
+    // The slots depend on the hash codes of the identifiers, which may change
+    // on deserialization, so the tables are rebuilt from the entries instead
+
+    // Identifier to key table, a zero key marks an empty slot
+    private transient Object[] ids;
+    private transient int[] idKeys;
+
+    // Key to object table, holding identifiers in identifier-only mode
+    private transient int[] keys;
+    private transient Object[] values;
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter}.
+     */
+    public CompactKeyMapper() {
+        this(v -> v);
+    }
+
+    /**
+     * Constructs a new mapper which retains the mapped objects.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public CompactKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+        this.itemLoader = null;
+        clearTables(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new mapper in identifier-only mode. Only the identifiers
+     * of the mapped objects are retained, and the objects are loaded with
+     * the given function when retrieved by their keys.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     * @param itemLoader
+     *            function which returns the object with the given identifier
+     *            or {@code null} if it no longer exists, not {@code null}
+     */
+    public CompactKeyMapper(ValueProvider<V, Object> identifierGetter,
+            SerializableFunction<Object, V> itemLoader) {
+        this.identifierGetter = identifierGetter;
+        this.itemLoader = Objects.requireNonNull(itemLoader,
+                "Item loader cannot be null");
+        clearTables(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Gets whether only the identifiers of the mapped objects are retained.
+     *
+     * @return {@code true} if the mapper is in identifier-only mode,
+     *         {@code false} if the mapped objects are retained
+     */
+    public boolean isIdentifierOnly() {
+        return itemLoader != null;
+    }
+
+    @Override
+    public String key(V dataObject) {
+        if (dataObject == null) {
+            return NULL_KEY;
+        }
+
+        Object id = identifierGetter.apply(dataObject);
+        int slot = findId(id);
+        if (slot >= 0) {
+            return Integer.toString(idKeys[slot]);
+        }
+
+        int key = ++lastKey;
+        put(id, key, dataObject);
+        return Integer.toString(key);
+    }
+
+    @Override
+    public boolean has(V dataObject) {
+        return findId(identifierGetter.apply(dataObject)) >= 0;
+    }
+
+    @Override
+    public V get(String key) {
+        int slot = findKey(parseKey(key));
+        if (slot < 0) {
+            return null;
+        }
+        return toItem(values[slot]);
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        return findKey(parseKey(key)) >= 0;
+    }
+
+    @Override
+    public void remove(V dataObject) {
+        int slot = findId(identifierGetter.apply(dataObject));
+        if (slot < 0) {
+            return;
+        }
+        int keySlot = findKey(idKeys[slot]);
+        removeIdSlot(slot);
+        removeKeySlot(keySlot);
+        size--;
+    }
+
+    @Override
+    public void removeAll() {
+        clearTables(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        if (isIdentifierOnly()) {
+            // The object is loaded again when retrieved
+            return;
+        }
+        int slot = findId(identifierGetter.apply(dataObject));
+        if (slot >= 0) {
+            values[findKey(idKeys[slot])] = dataObject;
+        }
+    }
+
+    @Override
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter == identifierGetter) {
+            return;
+        }
+        this.identifierGetter = identifierGetter;
+
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        clearTables(oldKeys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                V item = toItem(oldValues[i]);
+                if (item != null) {
+                    Object id = identifierGetter.apply(item);
+                    int slot = findId(id);
+                    if (slot >= 0) {
+                        // Like in KeyMapper, the identifier is mapped to one
+                        // key while the other key still resolves its object
+                        idKeys[slot] = Math.max(idKeys[slot], oldKeys[i]);
+                    } else {
+                        putId(id, oldKeys[i]);
+                    }
+                    putKey(oldKeys[i], isIdentifierOnly() ? id : item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of currently mapped objects.
+     *
+     * @return the number of mapped objects
+     */
+    int size() {
+        return size;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                out.writeInt(keys[i]);
+                out.writeObject(values[i]);
+            }
+        }
+        int idCount = 0;
+        for (int idKey : idKeys) {
+            if (idKey != 0) {
+                idCount++;
+            }
+        }
+        out.writeInt(idCount);
+        for (int i = 0; i < idKeys.length; i++) {
+            if (idKeys[i] != 0) {
+                out.writeInt(idKeys[i]);
+                out.writeObject(ids[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        int capacity = INITIAL_CAPACITY;
+        while (count * 4L > capacity * 3L) {
+            capacity *= 2;
+        }
+        clearTables(capacity);
+        for (int i = 0; i < count; i++) {
+            int key = in.readInt();
+            putKey(key, in.readObject());
+        }
+        int idCount = in.readInt();
+        for (int i = 0; i < idCount; i++) {
+            int key = in.readInt();
+            putId(in.readObject(), key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V toItem(Object value) {
+        return isIdentifierOnly() ? itemLoader.apply(value) : (V) value;
+    }
+
+    private void clearTables(int capacity) {
+        ids = new Object[capacity];
+        idKeys = new int[capacity];
+        keys = new int[capacity];
+        values = new Object[capacity];
+        size = 0;
+    }
+
+    private void put(Object id, int key, V dataObject) {
+        putKey(key, isIdentifierOnly() ? id : dataObject);
+        putId(id, key);
+    }
+
+    /**
+     * Adds a key to the key table, growing both tables if needed. There are
+     * never more identifiers than keys.
+     */
+    private void putKey(int key, Object value) {
+        // Keep the load factor at most 3/4
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        int slot = freeSlot(hashKey(key), keys);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void putId(Object id, int key) {
+        int slot = freeSlot(hashId(id), idKeys);
+        ids[slot] = id;
+        idKeys[slot] = key;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldIds = ids;
+        int[] oldIdKeys = idKeys;
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldSize = size;
+        clearTables(capacity);
+        for (int i = 0; i < oldIdKeys.length; i++) {
+            if (oldIdKeys[i] != 0) {
+                int slot = freeSlot(hashId(oldIds[i]), idKeys);
+                ids[slot] = oldIds[i];
+                idKeys[slot] = oldIdKeys[i];
+            }
+            if (oldKeys[i] != 0) {
+                int slot = freeSlot(hashKey(oldKeys[i]), keys);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+        size = oldSize;
+    }
+
+    private int findId(Object id) {
+        int mask = idKeys.length - 1;
+        for (int slot = hashId(id) & mask; idKeys[slot] != 0; slot = (slot
+                + 1) & mask) {
+            if (Objects.equals(ids[slot], id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findKey(int key) {
+        if (key <= 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int slot = hashKey(key) & mask; keys[slot] != 0; slot = (slot
+                + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void removeIdSlot(int slot) {
+        int mask = idKeys.length - 1;
+        int hole = slot;
+        // Shift back the following entries of the probe sequence so that
+        // lookups do not stop at the removed slot
+        for (int next = (hole + 1) & mask; idKeys[next] != 0; next = (next
+                + 1) & mask) {
+            int home = hashId(ids[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                ids[hole] = ids[next];
+                idKeys[hole] = idKeys[next];
+                hole = next;
+            }
+        }
+        ids[hole] = null;
+        idKeys[hole] = 0;
+    }
+
+    private void removeKeySlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1)
+                & mask) {
+            int home = hashKey(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+    private static int freeSlot(int hash, int[] occupied) {
+        int mask = occupied.length - 1;
+        int slot = hash & mask;
+        while (occupied[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hashId(Object id) {
+        return hashKey(Objects.hashCode(id));
+    }
+
+    private static int hashKey(int key) {
+        // Spread sequential keys and poor hash codes over the table
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Parses a key created by this mapper, returning zero for any other
+     * string.
+     */
+    private static int parseKey(String key) {
+        if (key == null || key.isEmpty() || key.length() > 10
+                || key.charAt(0) == '0') {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+}
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.vaadin.flow.shared.Registration;
@@ -41,12 +42,38 @@ public class CompositeDataGenerator<T>
 
     private final Set<DataGenerator<T>> dataGenerators = new HashSet<>();
 
+    // Subclasses overriding generateData are called for each item
+    private final boolean generateDataOverridden = isGenerateDataOverridden();
+
     @Override
     public void generateData(T item, JsonObject jsonObject) {
         dataGenerators
                 .forEach(generator -> generator.generateData(item, jsonObject));
     }
 
+    @Override
+    public void generateBatchData(List<T> items,
+            List<JsonObject> jsonObjects) {
+        if (generateDataOverridden) {
+            for (int i = 0; i < items.size(); i++) {
+                generateData(items.get(i), jsonObjects.get(i));
+            }
+        } else {
+            dataGenerators.forEach(generator -> generator
+                    .generateBatchData(items, jsonObjects));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A composite generator is thread safe if all of its generators are.
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return dataGenerators.stream().allMatch(DataGenerator::isThreadSafe);
+    }
+
     @Override
     public void destroyData(T item) {
         dataGenerators.forEach(generator -> generator.destroyData(item));
@@ -69,6 +96,16 @@ public class CompositeDataGenerator<T>
         return () -> removeDataGenerator(generator);
     }
 
+    private boolean isGenerateDataOverridden() {
+        try {
+            return getClass()
+                    .getMethod("generateData", Object.class, JsonObject.class)
+                    .getDeclaringClass() != CompositeDataGenerator.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Removes the DataGenerator from the list, destroying its data.
      * 
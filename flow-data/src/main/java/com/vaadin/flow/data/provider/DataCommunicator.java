@@ -22,9 +22,14 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -33,6 +38,8 @@ import java.util.stream.Stream;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.dom.Element;
@@ -44,10 +51,10 @@ import com.vaadin.flow.internal.ExecutionContext;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.Range;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.shared.Registration;
 import org.slf4j.LoggerFactory;
 
-import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
@@ -124,6 +131,16 @@ public class DataCommunicator<T> implements Serializable {
 
     private boolean fetchEnabled;
 
+    // Fetching in the background is disabled unless an executor is set
+    private transient Executor asyncFetchExecutor;
+    private int prefetchPageCount;
+
+    // Data is generated in parallel only if enabled and thread safe
+    private int parallelGenerationThreshold;
+    private final FetchedPages<T> fetchedPages = new FetchedPages<>();
+    private transient AsyncFetch<T> pendingFetch;
+    private boolean flushWaitingForFetch;
+
     /**
      * In-memory data provider with no items.
      * <p>
@@ -336,6 +353,7 @@ public class DataCommunicator<T> implements Serializable {
         resendEntireRange = true;
         dataGenerator.destroyAllData();
         updatedData.clear();
+        fetchedPages.clear();
         requestFlush();
     }
 
@@ -350,6 +368,7 @@ public class DataCommunicator<T> implements Serializable {
                 "DataCommunicator can not refresh null object");
         getKeyMapper().refresh(data);
         dataGenerator.refreshData(data);
+        fetchedPages.refresh(data, getDataProvider()::getId);
         updatedData.add(data);
         requestFlushUpdatedData();
     }
@@ -630,6 +649,7 @@ public class DataCommunicator<T> implements Serializable {
         skipCountIncreaseUntilReset = false;
         // there is no reset but we need to get the defined size
         sizeReset = true;
+        fetchedPages.clearCount();
         requestFlush();
     }
 
@@ -729,6 +749,7 @@ public class DataCommunicator<T> implements Serializable {
             skipCountIncreaseUntilReset = false;
             if (definedSize) {
                 // Always fetch explicit count from data provider
+                fetchedPages.clearCount();
                 requestFlush();
             } else
             /*
@@ -874,6 +895,111 @@ public class DataCommunicator<T> implements Serializable {
         this.fetchEnabled = fetchEnabled;
     }
 
+    /**
+     * Sets the executor to use for fetching items from data providers which
+     * are not in-memory, e.g. {@link CallbackDataProvider}. By default, items
+     * are fetched while the session is locked, which blocks all other
+     * requests and pushes for the session until the backend responds.
+     * <p>
+     * When an executor is set, the count and fetch queries run on the
+     * executor without holding the session lock, and the results are applied
+     * using {@link UI#access(com.vaadin.flow.server.Command)}. The client
+     * receives the items in the next response after that, so server push
+     * should be enabled to show the items without waiting for the next
+     * request. The executor is not serialized and must be set again after
+     * the session has been deserialized.
+     * <p>
+     * The data provider must support being queried from a thread that does
+     * not hold the session lock. In-memory data providers are always queried
+     * directly.
+     *
+     * @param executor
+     *            the executor for fetching items, or {@code null} to fetch
+     *            items while the session is locked
+     * @see #setPrefetchPageCount(int)
+     */
+    public void setAsyncFetchExecutor(Executor executor) {
+        asyncFetchExecutor = executor;
+        if (executor == null) {
+            fetchedPages.clear();
+            pendingFetch = null;
+        }
+        requestFlush();
+    }
+
+    /**
+     * Gets the executor used for fetching items without holding the session
+     * lock.
+     *
+     * @return the executor, or {@code null} if items are fetched while the
+     *         session is locked
+     * @see #setAsyncFetchExecutor(Executor)
+     */
+    public Executor getAsyncFetchExecutor() {
+        return asyncFetchExecutor;
+    }
+
+    /**
+     * Sets the number of pages after the requested range to fetch in advance
+     * when items are fetched using an executor. Scrolling to the prefetched
+     * pages does not need to wait for the backend. Default is {@code 0}.
+     *
+     * @param prefetchPageCount
+     *            the number of pages to fetch in advance, not negative
+     * @see #setAsyncFetchExecutor(Executor)
+     */
+    public void setPrefetchPageCount(int prefetchPageCount) {
+        if (prefetchPageCount < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Prefetch page count cannot be negative, got %d",
+                    prefetchPageCount));
+        }
+        this.prefetchPageCount = prefetchPageCount;
+    }
+
+    /**
+     * Gets the number of pages to fetch in advance when items are fetched
+     * using an executor.
+     *
+     * @return the number of pages to fetch in advance
+     */
+    public int getPrefetchPageCount() {
+        return prefetchPageCount;
+    }
+
+    /**
+     * Sets the minimum number of items sent to the client at once for which
+     * data is generated in parallel using the common fork-join pool. Data is
+     * only generated in parallel if the data generator is
+     * {@link DataGenerator#isThreadSafe() thread safe}. Default is
+     * {@code 0}, which disables parallel data generation.
+     *
+     * @param threshold
+     *            the minimum number of items to generate data for in
+     *            parallel, or {@code 0} to always generate data in the
+     *            calling thread
+     */
+    public void setParallelGenerationThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Parallel generation threshold cannot be negative, got %d",
+                    threshold));
+        }
+        parallelGenerationThreshold = threshold;
+    }
+
+    /**
+     * Gets the minimum number of items for which data is generated in
+     * parallel.
+     *
+     * @return the minimum number of items, or {@code 0} if parallel data
+     *         generation is disabled
+     * @see #setParallelGenerationThreshold(int)
+     */
+    public int getParallelGenerationThreshold() {
+        return parallelGenerationThreshold;
+    }
+
     /**
      * Getter method for determining the item count of the data.
      * <p>
@@ -994,6 +1120,10 @@ public class DataCommunicator<T> implements Serializable {
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private Stream<T> doFetchFromDataProvider(int offset, int limitedTo) {
+        if (isAsyncFetch()) {
+            // Everything needed by the flush has been fetched beforehand
+            return fetchedPages.getItems(offset, limitedTo);
+        }
         QueryTrace query = new QueryTrace(offset, limitedTo, backEndSorting,
                 inMemorySorting, getFilter());
         Stream<T> stream = getDataProvider().fetch(query);
@@ -1002,7 +1132,7 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     @SuppressWarnings("rawtypes")
-    private void verifyQueryContract(QueryTrace query) {
+    private static void verifyQueryContract(QueryTrace query) {
         /*
          * These restrictions are used to help users to see that they have done
          * a mistake instead of just letting things work in an unintended way.
@@ -1017,7 +1147,7 @@ public class DataCommunicator<T> implements Serializable {
         }
     }
 
-    private String getInvalidContractMessage(String method) {
+    private static String getInvalidContractMessage(String method) {
         return String.format("The data provider hasn't ever called %s "
                 + "method on the provided query. "
                 + "It means that the the data provider breaks the contract "
@@ -1081,6 +1211,10 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private void flush() {
+        if (isAsyncFetch() && !ensureFetched()) {
+            return;
+        }
+
         Set<String> oldActive = new HashSet<>(activeKeyOrder);
 
         Range effectiveRequested;
@@ -1091,7 +1225,7 @@ public class DataCommunicator<T> implements Serializable {
 
         // With defined size the backend is only queried when necessary
         if (definedSize && (resendEntireRange || sizeReset)) {
-            assumedSize = getDataProviderSize();
+            assumedSize = getFetchedSize();
         } else if (!definedSize
                 && (!skipCountIncreaseUntilReset || sizeReset)) {
             // with undefined size, size estimate is checked when scrolling down
@@ -1109,7 +1243,7 @@ public class DataCommunicator<T> implements Serializable {
         // In case received less items than what was expected, adjust size
         if (activation.isSizeRecheckNeeded()) {
             if (definedSize) {
-                assumedSize = getDataProviderSize();
+                assumedSize = getFetchedSize();
             } else {
                 // the end has been reached
                 assumedSize = requestedRange.getStart()
@@ -1154,6 +1288,119 @@ public class DataCommunicator<T> implements Serializable {
         fireItemCountEvent(assumedSize);
 
         clearFilterIfDisposable();
+
+        if (isAsyncFetch()) {
+            prefetch();
+        }
+    }
+
+    private boolean isAsyncFetch() {
+        return asyncFetchExecutor != null && !getDataProvider().isInMemory();
+    }
+
+    private int getFetchedSize() {
+        if (isAsyncFetch() && fetchedPages.hasCount()) {
+            return fetchedPages.getCount();
+        }
+        return getDataProviderSize();
+    }
+
+    /*
+     * Checks whether the items and the count needed for flushing have been
+     * fetched and starts fetching them in the background if not. The flush is
+     * requested again once the fetch completes.
+     */
+    private boolean ensureFetched() {
+        fetchedPages.setPageSize(pageSize);
+        boolean countNeeded = definedSize && (resendEntireRange || sizeReset)
+                && !fetchedPages.hasCount();
+        Range needed = requestedRange;
+        if (definedSize && !countNeeded) {
+            needed = needed.restrictTo(
+                    Range.withLength(0, fetchedPages.hasCount()
+                            ? fetchedPages.getCount()
+                            : assumedSize));
+        }
+        List<Integer> missingPages = fetchedPages.getMissingPages(needed);
+        if (!countNeeded && missingPages.isEmpty()) {
+            flushWaitingForFetch = false;
+            return true;
+        }
+        flushWaitingForFetch = true;
+        TreeSet<Integer> pages = new TreeSet<>(missingPages);
+        pages.addAll(fetchedPages.getMissingPages(getPrefetchRange()));
+        fetchInBackground(countNeeded, new ArrayList<>(pages));
+        return false;
+    }
+
+    private void prefetch() {
+        int firstPage = requestedRange.getStart() / pageSize;
+        int lastPage = requestedRange.getEnd() / pageSize;
+        fetchedPages.retainPages(firstPage - prefetchPageCount,
+                lastPage + prefetchPageCount);
+
+        List<Integer> pages = fetchedPages
+                .getMissingPages(getPrefetchRange());
+        if (!pages.isEmpty()) {
+            fetchInBackground(false, pages);
+        }
+    }
+
+    private Range getPrefetchRange() {
+        Range range = Range.withLength(requestedRange.getEnd(),
+                prefetchPageCount * pageSize);
+        return definedSize ? range.restrictTo(Range.withLength(0, assumedSize))
+                : range;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void fetchInBackground(boolean count, List<Integer> pages) {
+        if (pendingFetch != null
+                && pendingFetch.generation == fetchedPages.getGeneration()) {
+            // Flush is requested again when the pending fetch completes
+            return;
+        }
+        if (!stateNode.isAttached()) {
+            // Nothing to show the results in, fetched again when attached
+            return;
+        }
+        UI ui = ((StateTree) stateNode.getOwner()).getUI();
+        AsyncFetch<T> fetch = new AsyncFetch<>(fetchedPages.getGeneration(),
+                (DataProvider) getDataProvider(),
+                (CallbackDataProvider.CountCallback) countCallback, count,
+                getFilter(), new ArrayList<>(backEndSorting), inMemorySorting,
+                pageSize, pages);
+        pendingFetch = fetch;
+        CompletableFuture.runAsync(fetch::run, asyncFetchExecutor)
+                .whenComplete((ignore, error) -> applyFetch(ui, fetch, error));
+    }
+
+    private void applyFetch(UI ui, AsyncFetch<T> fetch, Throwable error) {
+        try {
+            ui.access(() -> {
+                if (pendingFetch == fetch) {
+                    pendingFetch = null;
+                }
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IllegalStateException(
+                            "Fetching items from the data provider failed",
+                            cause);
+                }
+                fetchedPages.addPages(fetch.generation, fetch.fetched,
+                        fetch.count, fetch.end);
+                if (flushWaitingForFetch) {
+                    requestFlush();
+                }
+            });
+        } catch (UIDetachedException e) {
+            // The component is no longer shown, the results are not needed
+        }
     }
 
     /**
@@ -1187,7 +1434,7 @@ public class DataCommunicator<T> implements Serializable {
         if (updatedData.isEmpty()) {
             return;
         }
-        dataUpdater.accept(updatedData.stream().map(this::generateJson)
+        dataUpdater.accept(generateJson(new ArrayList<>(updatedData)).stream()
                 .collect(JsonUtils.asArray()));
         updatedData.clear();
     }
@@ -1307,10 +1554,9 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private List<JsonValue> getJsonItems(Range range) {
-        return range.stream()
+        return generateJson(range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
-                .map(keyMapper::get).map(this::generateJson)
-                .collect(Collectors.toList());
+                .map(keyMapper::get).collect(Collectors.toList()));
     }
 
     private static void withMissing(Range expected, Range actual,
@@ -1350,11 +1596,9 @@ public class DataCommunicator<T> implements Serializable {
         return new Activation(activeKeys, needsSizeRecheck);
     }
 
-    private JsonValue generateJson(T item) {
-        JsonObject json = Json.createObject();
-        json.put("key", getKeyMapper().key(item));
-        dataGenerator.generateData(item, json);
-        return json;
+    private List<JsonValue> generateJson(List<T> items) {
+        return DataGeneratorUtils.generateJson(items, getKeyMapper(),
+                dataGenerator, parallelGenerationThreshold);
     }
 
     private void clearFilterIfDisposable() {
@@ -1382,6 +1626,67 @@ public class DataCommunicator<T> implements Serializable {
                 DataViewUtils::removeComponentFilterAndSortComparator);
     }
 
+    /**
+     * Fetches the count and pages of items from a data provider. Only uses
+     * the values given to the constructor so that it can be run without
+     * holding the session lock.
+     */
+    private static class AsyncFetch<T> {
+        private final int generation;
+        private final DataProvider<T, Object> dataProvider;
+        private final CallbackDataProvider.CountCallback<T, Object> countCallback;
+        private final boolean countNeeded;
+        private final Object filter;
+        private final List<QuerySortOrder> sortOrders;
+        private final Comparator<T> inMemorySorting;
+        private final int pageSize;
+        private final List<Integer> pages;
+
+        private final Map<Integer, List<T>> fetched = new HashMap<>();
+        private int count = -1;
+        private int end = -1;
+
+        private AsyncFetch(int generation, DataProvider<T, Object> dataProvider,
+                CallbackDataProvider.CountCallback<T, Object> countCallback,
+                boolean countNeeded, Object filter,
+                List<QuerySortOrder> sortOrders, Comparator<T> inMemorySorting,
+                int pageSize, List<Integer> pages) {
+            this.generation = generation;
+            this.dataProvider = dataProvider;
+            this.countCallback = countCallback;
+            this.countNeeded = countNeeded;
+            this.filter = filter;
+            this.sortOrders = sortOrders;
+            this.inMemorySorting = inMemorySorting;
+            this.pageSize = pageSize;
+            this.pages = pages;
+        }
+
+        private void run() {
+            if (countNeeded) {
+                count = countCallback != null
+                        ? countCallback.count(new Query<>(filter))
+                        : dataProvider.size(new Query<>(filter));
+            }
+            for (int page : pages) {
+                int offset = page * pageSize;
+                if (count >= 0 && offset >= count) {
+                    break;
+                }
+                QueryTrace<T, Object> query = new QueryTrace<>(offset,
+                        pageSize, sortOrders, inMemorySorting, filter);
+                List<T> items = dataProvider.fetch(query)
+                        .collect(Collectors.toList());
+                verifyQueryContract(query);
+                fetched.put(page, items);
+                if (items.size() < pageSize) {
+                    end = offset + items.size();
+                    break;
+                }
+            }
+        }
+    }
+
     private static class Activation implements Serializable {
         private final List<String> activeKeys;
         private final boolean sizeRecheckNeeded;
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.io.Serializable;
+import java.util.List;
 
 import elemental.json.JsonObject;
 
@@ -44,6 +45,45 @@ public interface DataGenerator<T> extends Serializable {
      */
     void generateData(T item, JsonObject jsonObject);
 
+    /**
+     * Adds custom data for the given items to their serialized
+     * {@code JsonObject} representations. {@link DataCommunicator} calls this
+     * method once for all items sent to the client in the same response.
+     * <p>
+     * The default implementation calls
+     * {@link #generateData(Object, JsonObject)} for each item. Generators can
+     * override this method to do work which is the same for all items, e.g.
+     * looking up the state of a column, only once.
+     *
+     * @param items
+     *            the data items being serialized, not {@code null}
+     * @param jsonObjects
+     *            the JSON objects being sent to the client, in the same order
+     *            as the items, not {@code null}
+     */
+    default void generateBatchData(List<T> items,
+            List<JsonObject> jsonObjects) {
+        for (int i = 0; i < items.size(); i++) {
+            generateData(items.get(i), jsonObjects.get(i));
+        }
+    }
+
+    /**
+     * Checks whether this generator supports generating data for different
+     * items concurrently in multiple threads. Thread safe generators must not
+     * depend on thread local state, such as the current UI or session, while
+     * generating data.
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} if data can be generated in parallel,
+     *         {@code false} otherwise
+     * @see DataCommunicator#setParallelGenerationThreshold(int)
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
     /**
      * Informs the {@code DataGenerator} that the given data item has been
      * dropped and is no longer needed. This method should clean up any unneeded
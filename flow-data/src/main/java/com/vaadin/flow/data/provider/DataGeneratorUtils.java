@@ -0,0 +1,89 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Internal utility class used by data communicators to generate the JSON of
+ * the items sent to the client.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class DataGeneratorUtils {
+
+    private DataGeneratorUtils() {
+        // avoid instantiating utility class
+    }
+
+    /**
+     * Generates the JSON of the given items. The JSON of each item contains
+     * its key and the data generated for it by the given data generator.
+     * <p>
+     * The data is generated in parallel chunks if there are at least
+     * {@code parallelThreshold} items and the data generator is thread safe.
+     *
+     * @param items
+     *            the items to generate the JSON for, not {@code null}
+     * @param keyMapper
+     *            the key mapper for the keys of the items, not {@code null}
+     * @param dataGenerator
+     *            the data generator, not {@code null}
+     * @param parallelThreshold
+     *            the minimum number of items to generate the data in
+     *            parallel for, or zero to always generate it in the calling
+     *            thread
+     * @param <T>
+     *            the type of the items
+     * @return the JSON of the items, in the order of the items
+     * @see DataGenerator#generateBatchData(List, List)
+     */
+    public static <T> List<JsonValue> generateJson(List<T> items,
+            DataKeyMapper<T> keyMapper, DataGenerator<T> dataGenerator,
+            int parallelThreshold) {
+        List<JsonObject> json = new ArrayList<>(items.size());
+        for (T item : items) {
+            JsonObject object = Json.createObject();
+            object.put("key", keyMapper.key(item));
+            json.add(object);
+        }
+        if (parallelThreshold > 0 && items.size() >= parallelThreshold
+                && dataGenerator.isThreadSafe()) {
+            // A few chunks per thread to balance uneven chunks
+            int chunkSize = Math.max(1, items.size()
+                    / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            IntStream.range(0, (items.size() + chunkSize - 1) / chunkSize)
+                    .parallel().forEach(chunk -> {
+                        int from = chunk * chunkSize;
+                        int to = Math.min(from + chunkSize, items.size());
+                        dataGenerator.generateBatchData(
+                                items.subList(from, to),
+                                json.subList(from, to));
+                    });
+        } else {
+            dataGenerator.generateBatchData(items, json);
+        }
+        return new ArrayList<>(json);
+    }
+}
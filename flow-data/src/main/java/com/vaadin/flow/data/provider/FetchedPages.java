@@ -0,0 +1,221 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.internal.Range;
+
+/**
+ * Pages of items which {@link DataCommunicator} has fetched from a data
+ * provider in the background, along with the item count if it has been
+ * fetched.
+ * <p>
+ * Each time the cached data is cleared, the generation is increased so that
+ * the results of fetches started before clearing can be discarded.
+ *
+ * @param <T>
+ *            the item type
+ * @author Vaadin Ltd
+ * @since
+ */
+class FetchedPages<T> implements Serializable {
+
+    // ArrayLists, serializable as long as the items are
+    private final HashMap<Integer, List<T>> pages = new HashMap<>();
+
+    private int pageSize = 1;
+
+    private int count = -1;
+
+    // Index after the last item if the end of the data has been reached
+    private int end = -1;
+
+    private int generation;
+
+    /**
+     * Removes all fetched items and the item count and increases the
+     * generation.
+     */
+    void clear() {
+        pages.clear();
+        count = -1;
+        end = -1;
+        generation++;
+    }
+
+    /**
+     * Gets the generation of the fetched data.
+     *
+     * @return the current generation
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Sets the size of the fetched pages. All fetched data is cleared if the
+     * page size changes.
+     *
+     * @param pageSize
+     *            the page size
+     */
+    void setPageSize(int pageSize) {
+        if (this.pageSize != pageSize) {
+            clear();
+            this.pageSize = pageSize;
+        }
+    }
+
+    /**
+     * Checks whether the item count has been fetched.
+     *
+     * @return {@code true} if the item count is known, {@code false}
+     *         otherwise
+     */
+    boolean hasCount() {
+        return count >= 0;
+    }
+
+    /**
+     * Gets the fetched item count.
+     *
+     * @return the item count or {@code -1} if it has not been fetched
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Forgets the fetched item count but keeps the fetched items.
+     */
+    void clearCount() {
+        count = -1;
+    }
+
+    /**
+     * Gets the indices of the pages overlapping with the given range which
+     * have not been fetched. Pages after the end of the data are not
+     * included.
+     *
+     * @param range
+     *            the range of item indices
+     * @return the missing page indices in ascending order
+     */
+    List<Integer> getMissingPages(Range range) {
+        List<Integer> missing = new ArrayList<>();
+        if (range.isEmpty()) {
+            return missing;
+        }
+        int lastPage = (range.getEnd() - 1) / pageSize;
+        for (int page = range.getStart() / pageSize; page <= lastPage; page++) {
+            int offset = page * pageSize;
+            if ((end >= 0 && offset >= end) || (count >= 0 && offset >= count)) {
+                break;
+            }
+            if (!pages.containsKey(page)) {
+                missing.add(page);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Stores the results of a fetch unless the fetched data has been cleared
+     * after the fetch was started.
+     *
+     * @param fetchGeneration
+     *            the generation when the fetch was started
+     * @param fetched
+     *            the fetched items by page index
+     * @param fetchedCount
+     *            the fetched item count or {@code -1} if not fetched
+     * @param fetchedEnd
+     *            the index after the last item or {@code -1} if the end of
+     *            the data was not reached
+     */
+    void addPages(int fetchGeneration, Map<Integer, List<T>> fetched,
+            int fetchedCount, int fetchedEnd) {
+        if (fetchGeneration != generation) {
+            return;
+        }
+        pages.putAll(fetched);
+        if (fetchedCount >= 0) {
+            count = fetchedCount;
+        }
+        if (fetchedEnd >= 0) {
+            end = fetchedEnd;
+        }
+    }
+
+    /**
+     * Discards the pages outside the given page range.
+     *
+     * @param firstPage
+     *            the first page to keep
+     * @param lastPage
+     *            the last page to keep
+     */
+    void retainPages(int firstPage, int lastPage) {
+        pages.keySet().removeIf(page -> page < firstPage || page > lastPage);
+    }
+
+    /**
+     * Gets the fetched items in the given range. The returned items end at
+     * the first item which has not been fetched.
+     *
+     * @param offset
+     *            the index of the first item
+     * @param limit
+     *            the maximum number of items
+     * @return a stream of the fetched items
+     */
+    Stream<T> getItems(int offset, int limit) {
+        Stream.Builder<T> items = Stream.builder();
+        int last = end >= 0 ? Math.min(offset + limit, end) : offset + limit;
+        for (int index = offset; index < last; index++) {
+            List<T> page = pages.get(index / pageSize);
+            int indexInPage = index % pageSize;
+            if (page == null || indexInPage >= page.size()) {
+                break;
+            }
+            items.add(page.get(indexInPage));
+        }
+        return items.build();
+    }
+
+    /**
+     * Replaces the fetched instances of the given item with the item.
+     *
+     * @param item
+     *            the updated item
+     * @param identifierGetter
+     *            gets the identifier of an item
+     */
+    void refresh(T item, Function<T, Object> identifierGetter) {
+        Object id = identifierGetter.apply(item);
+        pages.values().forEach(page -> page.replaceAll(
+                existing -> Objects.equals(id,
+                        identifierGetter.apply(existing)) ? item : existing));
+    }
+}
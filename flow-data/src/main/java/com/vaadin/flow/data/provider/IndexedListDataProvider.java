@@ -0,0 +1,318 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link ListDataProvider} for large collections which keeps the filtered
+ * and sorted items in memory between queries.
+ * <p>
+ * {@link ListDataProvider} filters and sorts the whole collection for each
+ * query. This data provider instead stores the result of filtering and
+ * sorting, and serves the offset and limit of queries by index as long as
+ * the filters and sort comparators of the queries are the same instances as
+ * in the previous query. The stored items are recomputed when the filter or
+ * the sorting of the data provider is changed and when
+ * {@link #refreshAll()} or {@link #refreshItem(Object)} is called, which
+ * must be done after changing the backing collection.
+ * <p>
+ * Filters set with {@link #setFilterByValue(ValueProvider, Object)} are
+ * served from an index of the items by the property value, so that
+ * switching between values using the same value provider instance does not
+ * need to go through all items.
+ * <p>
+ * Filtering and sorting can optionally be run in parallel, see
+ * {@link #setParallel(boolean)}. The stored items are guarded by a lock, so
+ * the data provider can be queried from several threads, e.g. when it is
+ * shared between sessions.
+ *
+ * @param <T>
+ *            data type
+ * @author Vaadin Ltd
+ * @since
+ */
+public class IndexedListDataProvider<T> extends ListDataProvider<T> {
+
+    /**
+     * The minimum number of items to use parallel filtering and sorting for,
+     * since splitting smaller collections costs more than it saves.
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    private volatile boolean parallel;
+
+    // Guards the fields below, queries may come from several sessions
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private ValueProvider<T, ?> indexedProperty;
+    private Object indexedValue;
+    private SerializablePredicate<T> indexedFilter;
+
+    // Derived from the items, recomputed when needed after deserialization
+    private transient Map<ValueProvider<T, ?>, Map<Object, List<T>>> indexes = new HashMap<>();
+
+    private transient List<T> filteredItems;
+    private transient SerializablePredicate<T> filteredBy;
+    private transient SerializablePredicate<T> filteredByQuery;
+    private transient int backendSize;
+
+    private transient List<T> sortedItems;
+    private transient Comparator<T> sortedBy;
+    private transient Comparator<T> sortedByQuery;
+
+    /**
+     * Constructs a new indexed list data provider.
+     * <p>
+     * No protective copy is made of the list, and changes in the provided
+     * backing Collection will be visible via this data provider after
+     * {@link #refreshAll()} has been called. The caller should copy the list
+     * if necessary.
+     *
+     * @param items
+     *            the initial data, not null
+     */
+    public IndexedListDataProvider(Collection<T> items) {
+        super(items);
+    }
+
+    /**
+     * Sets whether filtering and sorting large collections is done in
+     * parallel using the common fork-join pool. Filters and comparators must
+     * then be thread safe and must not depend on thread local state such as
+     * {@link com.vaadin.flow.component.UI#getCurrent()}. Parallel processing
+     * is disabled by default.
+     *
+     * @param parallel
+     *            <code>true</code> to filter and sort in parallel,
+     *            <code>false</code> to do it on the calling thread
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Gets whether filtering and sorting large collections is done in
+     * parallel.
+     *
+     * @return <code>true</code> if filtering and sorting is done in
+     *         parallel, otherwise <code>false</code>
+     * @see #setParallel(boolean)
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        List<T> items = getSortedItems(query);
+        int from = Math.min(query.getOffset(), items.size());
+        int to = (int) Math.min((long) from + query.getLimit(), items.size());
+        return items.subList(from, to).stream();
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        return getFilteredItems(query.getFilter().orElse(null)).size();
+    }
+
+    @Override
+    public void setFilter(SerializablePredicate<T> filter) {
+        Map<ValueProvider<T, ?>, Map<Object, List<T>>> itemIndexes;
+        lock.lock();
+        try {
+            indexedFilter = null;
+            indexedProperty = null;
+            indexedValue = null;
+            itemIndexes = indexes;
+        } finally {
+            lock.unlock();
+        }
+        // Changing the filter refreshes the data but does not change the items
+        super.setFilter(filter);
+        lock.lock();
+        try {
+            indexes = itemIndexes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <V> void setFilterByValue(ValueProvider<T, V> valueProvider,
+            V requiredValue) {
+        SerializablePredicate<T> filter = InMemoryDataProviderHelpers
+                .createEqualsFilter(valueProvider, requiredValue);
+        setFilter(filter);
+        lock.lock();
+        try {
+            indexedFilter = filter;
+            indexedProperty = valueProvider;
+            indexedValue = requiredValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void refreshAll() {
+        clearDerivedItems();
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        // The item may now be filtered out or sorted differently
+        clearDerivedItems();
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        clearDerivedItems();
+        super.refreshItem(item, refreshChildren);
+    }
+
+    private void clearDerivedItems() {
+        lock.lock();
+        try {
+            indexes = new HashMap<>();
+            filteredItems = null;
+            sortedItems = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the filtered and sorted items for the query. The returned list is
+     * never modified afterwards, so it can be used without holding the lock.
+     */
+    private List<T> getSortedItems(Query<T, SerializablePredicate<T>> query) {
+        lock.lock();
+        try {
+            return doGetSortedItems(query);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<T> getFilteredItems(SerializablePredicate<T> queryFilter) {
+        lock.lock();
+        try {
+            return doGetFilteredItems(queryFilter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<T> doGetSortedItems(
+            Query<T, SerializablePredicate<T>> query) {
+        List<T> filtered = doGetFilteredItems(query.getFilter().orElse(null));
+        Comparator<T> querySorting = query.getInMemorySorting();
+        Comparator<T> defaultSorting = getSortComparator();
+        if (sortedItems != null && sortedByQuery == querySorting
+                && sortedBy == defaultSorting) {
+            return sortedItems;
+        }
+
+        Comparator<T> comparator = Stream.of(querySorting, defaultSorting)
+                .filter(c -> c != null).reduce(Comparator::thenComparing)
+                .orElse(null);
+        if (comparator == null) {
+            sortedItems = filtered;
+        } else {
+            @SuppressWarnings("unchecked")
+            T[] array = (T[]) filtered.toArray();
+            // Both sorts are stable, like the one of ListDataProvider
+            if (useParallel(array.length)) {
+                Arrays.parallelSort(array, comparator);
+            } else {
+                Arrays.sort(array, comparator);
+            }
+            sortedItems = Arrays.asList(array);
+        }
+        sortedByQuery = querySorting;
+        sortedBy = defaultSorting;
+        return sortedItems;
+    }
+
+    private List<T> doGetFilteredItems(SerializablePredicate<T> queryFilter) {
+        if (backendSize != getItems().size()) {
+            // Items added or removed without a refresh
+            clearDerivedItems();
+            backendSize = getItems().size();
+        }
+        SerializablePredicate<T> filter = getFilter();
+        if (filteredItems != null && filteredBy == filter
+                && filteredByQuery == queryFilter) {
+            return filteredItems;
+        }
+
+        Collection<T> source = getItems();
+        // Apply our own filter first so that query filters never see the
+        // items that would already have been filtered out
+        if (filter != null && filter == indexedFilter) {
+            source = getIndex(indexedProperty).getOrDefault(indexedValue,
+                    Collections.emptyList());
+            filter = null;
+        }
+
+        Stream<T> stream = useParallel(source.size()) ? source.parallelStream()
+                : source.stream();
+        if (filter != null) {
+            stream = stream.filter(filter);
+        }
+        if (queryFilter != null) {
+            stream = stream.filter(queryFilter);
+        }
+        filteredItems = stream.collect(Collectors.toList());
+        filteredBy = getFilter();
+        filteredByQuery = queryFilter;
+        sortedItems = null;
+        return filteredItems;
+    }
+
+    private Map<Object, List<T>> getIndex(ValueProvider<T, ?> valueProvider) {
+        if (indexes == null) {
+            indexes = new HashMap<>();
+        }
+        return indexes.computeIfAbsent(valueProvider, key -> {
+            Map<Object, List<T>> index = new HashMap<>();
+            getItems().forEach(item -> index
+                    .computeIfAbsent(key.apply(item), value -> new ArrayList<>())
+                    .add(item));
+            return index;
+        });
+    }
+
+    private boolean useParallel(int size) {
+        return parallel && size >= PARALLEL_THRESHOLD;
+    }
+}
@@ -28,6 +28,7 @@ import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
 import com.vaadin.flow.data.provider.DataGenerator;
+import com.vaadin.flow.data.provider.DataGeneratorUtils;
 import com.vaadin.flow.data.provider.DataKeyMapper;
 import com.vaadin.flow.data.provider.hierarchy.HierarchicalArrayUpdater.HierarchicalUpdate;
 import com.vaadin.flow.function.SerializableBiFunction;
@@ -320,10 +321,11 @@ public class HierarchicalCommunicationController<T> implements Serializable {
     }
 
     private List<JsonValue> getJsonItems(Range range) {
-        return range.stream()
+        List<T> items = range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
-                .map(keyMapper::get).map(this::generateJson)
-                .collect(Collectors.toList());
+                .map(keyMapper::get).collect(Collectors.toList());
+        return DataGeneratorUtils.generateJson(items, keyMapper,
+                dataGenerator, 0);
     }
 
     public JsonValue generateJson(T item) {
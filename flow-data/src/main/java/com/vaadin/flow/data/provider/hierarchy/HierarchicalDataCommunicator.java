@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.CompositeDataGenerator;
@@ -155,6 +156,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().refreshHierarchy();
             HierarchicalUpdate update = arrayUpdater
                     .startUpdate(getHierarchyMapper().getRootSize());
             update.enqueue("$connector.ensureHierarchy");
@@ -179,6 +181,8 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     @Override
     protected void handleDataRefreshEvent(DataChangeEvent.DataRefreshEvent<T> event) {
+        // The item may now be sorted or filtered differently
+        mapper.refreshHierarchy();
         if (event.isRefreshChildren()) {
             T item = event.getItem();
             if (isExpanded(item)) {
@@ -515,6 +519,24 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         return mapper.getRootSize();
     }
 
+    /**
+     * Fetching items without holding the session lock is not supported for
+     * hierarchical data.
+     *
+     * @param executor
+     *            must be {@code null}
+     * @throws UnsupportedOperationException
+     *             if the executor is not {@code null}
+     */
+    @Override
+    public void setAsyncFetchExecutor(Executor executor) {
+        if (executor != null) {
+            throw new UnsupportedOperationException(
+                    "Asynchronous fetching is not supported for hierarchical data");
+        }
+        super.setAsyncFetchExecutor(executor);
+    }
+
     @Override
     public void setBackEndSorting(List<QuerySortOrder> sortOrder) {
         if (mapper != null) {
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -40,6 +41,13 @@ import com.vaadin.flow.internal.Range;
  * Keeps track of the expanded nodes, and size of of the subtrees for each
  * expanded node.
  * <p>
+ * The flattened hierarchy of the expanded nodes is indexed when it is first
+ * needed, so that the tree size and the mapping between items and their
+ * indexes do not need to go through all expanded nodes. Expanding and
+ * collapsing nodes only updates the index along the path to the root. The
+ * index is discarded when the filter or the sorting changes, and must be
+ * discarded with {@link #refreshHierarchy()} when the data changes.
+ * <p>
  * This class is framework internal implementation details, and can be changed /
  * moved at any point. This means that you should not directly use this for
  * anything.
@@ -66,6 +74,95 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Map<Object, T> expandedItems = new HashMap<>();
 
+    // Index of the flattened hierarchy, built lazily from the data provider
+    private transient HierarchyNode<T> rootNode;
+    private transient Map<Object, HierarchyNode<T>> nodes;
+
+    /**
+     * A node of the expanded hierarchy. The number of rows in the flattened
+     * subtree of each child is kept in a Fenwick tree, so that prefix sums
+     * and updates for a single child are logarithmic in the child count.
+     */
+    private static final class HierarchyNode<T> {
+        private final T item;
+        private final HierarchyNode<T> parent;
+        private final int position;
+
+        // Null when the node is collapsed or has no children
+        private List<HierarchyNode<T>> children;
+        private int[] rowCounts;
+        private int descendantCount;
+
+        private HierarchyNode(T item, HierarchyNode<T> parent, int position) {
+            this.item = item;
+            this.parent = parent;
+            this.position = position;
+        }
+
+        private void setChildren(List<HierarchyNode<T>> children) {
+            this.children = children;
+            rowCounts = new int[children.size() + 1];
+            descendantCount = 0;
+            for (int i = 1; i < rowCounts.length; i++) {
+                int rows = 1 + children.get(i - 1).descendantCount;
+                descendantCount += rows;
+                rowCounts[i] += rows;
+                int next = i + (i & -i);
+                if (next < rowCounts.length) {
+                    rowCounts[next] += rowCounts[i];
+                }
+            }
+        }
+
+        private void clearChildren() {
+            children = null;
+            rowCounts = null;
+            descendantCount = 0;
+        }
+
+        private void addRows(int childPosition, int delta) {
+            for (int i = childPosition + 1; i < rowCounts.length; i += i
+                    & -i) {
+                rowCounts[i] += delta;
+            }
+            descendantCount += delta;
+        }
+
+        /**
+         * Gets the number of rows in the subtrees of the children before the
+         * given position.
+         */
+        private int rowsBefore(int childPosition) {
+            int rows = 0;
+            for (int i = childPosition; i > 0; i -= i & -i) {
+                rows += rowCounts[i];
+            }
+            return rows;
+        }
+
+        /**
+         * Gets the position of the child whose subtree contains the given
+         * row, counted from the first row under this node.
+         */
+        private int childPositionOf(int row) {
+            int position = 0;
+            int remaining = row;
+            for (int step = Integer.highestOneBit(
+                    rowCounts.length - 1); step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < rowCounts.length && rowCounts[next] <= remaining) {
+                    position = next;
+                    remaining -= rowCounts[next];
+                }
+            }
+            return position;
+        }
+
+        private boolean hasChildren() {
+            return children != null;
+        }
+    }
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -82,7 +179,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getRootNode().descendantCount;
     }
 
     /**
@@ -104,8 +201,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : getIndex(parent);
     }
 
     /**
@@ -117,8 +214,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        return getIndexOf(item).orElse(-1);
     }
 
     /**
@@ -145,7 +241,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      *         otherwise
      */
     public boolean expand(T item) {
-        return doExpand(item);
+        return doExpand(item, false) >= 0;
     }
 
     /**
@@ -158,9 +254,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return range of rows added by expanding the item
      */
     public Range expand(T item, Integer position) {
-        if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+        int addedRows = doExpand(item, position != null);
+        if (addedRows >= 0 && position != null) {
+            return Range.withLength(position + 1, addedRows);
         }
 
         return Range.withLength(0, 0);
@@ -168,20 +264,58 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     /**
      * Expands the given item if it is collapsed and has children, and returns
-     * whether this method expanded the item.
+     * the number of rows added under the item.
      *
      * @param item
      *            the item to expand
-     * @return {@code true} if this method expanded the item, {@code false}
-     *         otherwise
-     */
-    private boolean doExpand(T item) {
-        boolean expanded = false;
-        if (!isExpanded(item) && hasChildren(item)) {
-            expandedItems.put(getDataProvider().getId(item), item);
-            expanded = true;
+     * @param countRows
+     *            {@code true} to count the added rows also when the item is
+     *            not in the indexed hierarchy, {@code false} to return zero
+     *            in that case
+     * @return the number of rows added under the item, or a negative value if
+     *         this method did not expand the item
+     */
+    private int doExpand(T item, boolean countRows) {
+        if (isExpanded(item) || !hasChildren(item)) {
+            return -1;
         }
-        return expanded;
+        expandedItems.put(getDataProvider().getId(item), item);
+
+        HierarchyNode<T> node = findNode(item);
+        if (node == null) {
+            return countRows ? (int) getHierarchy(item, false).count() : 0;
+        }
+        loadChildren(node);
+        addRowsToAncestors(node, node.descendantCount);
+        return node.descendantCount;
+    }
+
+    /**
+     * Collapses the given expanded item, and returns the number of rows
+     * removed under the item.
+     *
+     * @param item
+     *            the item to collapse
+     * @param countRows
+     *            {@code true} to count the removed rows also when the item is
+     *            not in the indexed hierarchy, {@code false} to return zero
+     *            in that case
+     * @return the number of rows removed under the item
+     */
+    private int doCollapse(T item, boolean countRows) {
+        HierarchyNode<T> node = findNode(item);
+        int removedRows;
+        if (node == null) {
+            removedRows = countRows ? (int) getHierarchy(item, false).count()
+                    : 0;
+        } else {
+            removedRows = node.descendantCount;
+            removeNodes(node);
+            node.clearChildren();
+            addRowsToAncestors(node, -removedRows);
+        }
+        expandedItems.remove(getDataProvider().getId(item));
+        return removedRows;
     }
 
     /**
@@ -197,7 +331,7 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(item, false);
             return true;
         }
         return false;
@@ -216,11 +350,10 @@ public class HierarchyMapper<T, F> implements Serializable {
     public Range collapse(T item, Integer position) {
         Range removedRows = Range.withLength(0, 0);
         if (isExpanded(item)) {
+            int rowCount = doCollapse(item, position != null);
             if (position != null) {
-                removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                removedRows = Range.withLength(position + 1, rowCount);
             }
-            expandedItems.remove(getDataProvider().getId(item));
         }
         return removedRows;
     }
@@ -244,6 +377,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        refreshHierarchy();
     }
 
     /**
@@ -264,6 +398,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        refreshHierarchy();
     }
 
     /**
@@ -284,6 +419,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        refreshHierarchy();
     }
 
     /**
@@ -318,7 +454,18 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        HierarchyNode<T> root = getRootNode();
+        int end = Math.min(range.getEnd(), root.descendantCount);
+        if (range.getStart() >= end) {
+            return Stream.empty();
+        }
+        List<T> items = new ArrayList<>(end - range.getStart());
+        HierarchyNode<T> node = getNodeAt(range.getStart());
+        for (int row = range.getStart(); row < end; row++) {
+            items.add(node.item);
+            node = getNextNode(node);
+        }
+        return items.stream();
     }
 
     /**
@@ -463,21 +610,143 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
-        return Optional.ofNullable(index < 0 ? null : index);
+        getRootNode();
+        HierarchyNode<T> node = nodes.get(getDataProvider().getId(target));
+        if (node == null) {
+            return Optional.empty();
+        }
+        int index = 0;
+        while (node.parent != null) {
+            index += node.parent.rowsBefore(node.position);
+            if (node.parent.parent != null) {
+                // The row of the parent itself
+                index++;
+            }
+            node = node.parent;
+        }
+        return Optional.of(index);
+    }
+
+    /**
+     * Discards the indexed hierarchy, so that it is built again from the data
+     * provider when needed. This should be called when the data of the data
+     * provider has changed.
+     */
+    public void refreshHierarchy() {
+        rootNode = null;
+        nodes = null;
     }
 
     /**
-     * Gets the full hierarchy tree starting from given node.
+     * Gets the root of the indexed hierarchy, building the index if needed.
      *
-     * @param parent
-     *            the parent node to start from
-     * @return the flattened hierarchy as a stream
+     * @return the root node
+     */
+    private HierarchyNode<T> getRootNode() {
+        if (rootNode == null) {
+            nodes = new HashMap<>();
+            rootNode = new HierarchyNode<>(null, null, 0);
+            loadChildren(rootNode);
+        }
+        return rootNode;
+    }
+
+    /**
+     * Finds the node of the given item if the index has been built and the
+     * item is visible in it.
+     *
+     * @param item
+     *            the item to find
+     * @return the node of the item, or {@code null} if not found
+     */
+    private HierarchyNode<T> findNode(T item) {
+        if (rootNode == null || item == null) {
+            return null;
+        }
+        return nodes.get(getDataProvider().getId(item));
+    }
+
+    /**
+     * Fetches and indexes the children of the given node and, recursively,
+     * those of its expanded children.
+     *
+     * @param node
+     *            the node to load the children of
      */
-    private Stream<T> getHierarchy(T parent) {
-        return getHierarchy(parent, true);
+    private void loadChildren(HierarchyNode<T> node) {
+        if (!isExpanded(node.item)) {
+            return;
+        }
+        List<T> childItems = doFetchDirectChildren(node.item)
+                .collect(Collectors.toList());
+        if (childItems.isEmpty()) {
+            removeChildren(node.item == null ? null
+                    : getDataProvider().getId(node.item));
+            return;
+        }
+        registerChildren(node.item, childItems);
+
+        List<HierarchyNode<T>> children = new ArrayList<>(childItems.size());
+        for (T childItem : childItems) {
+            HierarchyNode<T> child = new HierarchyNode<>(childItem, node,
+                    children.size());
+            nodes.put(getDataProvider().getId(childItem), child);
+            loadChildren(child);
+            children.add(child);
+        }
+        node.setChildren(children);
+    }
+
+    private void addRowsToAncestors(HierarchyNode<T> node, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        HierarchyNode<T> current = node;
+        while (current.parent != null) {
+            current.parent.addRows(current.position, delta);
+            current = current.parent;
+        }
+    }
+
+    private void removeNodes(HierarchyNode<T> node) {
+        if (!node.hasChildren()) {
+            return;
+        }
+        for (HierarchyNode<T> child : node.children) {
+            nodes.remove(getDataProvider().getId(child.item));
+            removeNodes(child);
+        }
+    }
+
+    private HierarchyNode<T> getNodeAt(int index) {
+        HierarchyNode<T> node = getRootNode();
+        int row = index;
+        while (true) {
+            int position = node.childPositionOf(row);
+            HierarchyNode<T> child = node.children.get(position);
+            row -= node.rowsBefore(position);
+            if (row == 0) {
+                return child;
+            }
+            // Skip the row of the child itself
+            row--;
+            node = child;
+        }
+    }
+
+    private static <T> HierarchyNode<T> getNextNode(HierarchyNode<T> node) {
+        if (node.hasChildren()) {
+            return node.children.get(0);
+        }
+        HierarchyNode<T> current = node;
+        while (current.parent != null) {
+            List<HierarchyNode<T>> siblings = current.parent.children;
+            if (current.position + 1 < siblings.size()) {
+                return siblings.get(current.position + 1);
+            }
+            current = current.parent;
+        }
+        return null;
     }
 
     /**
@@ -538,6 +807,8 @@ public class HierarchyMapper<T, F> implements Serializable {
             childList = doFetchDirectChildren(parent)
                     .collect(Collectors.toList());
             if (childList.isEmpty()) {
+                // The node is collapsed, which the index does not know about
+                refreshHierarchy();
                 removeChildren(parent == null ? null
                         : getDataProvider().getId(parent));
             } else {
@@ -567,6 +838,8 @@ public class HierarchyMapper<T, F> implements Serializable {
             childList = doFetchDirectChildren(parent, range)
                     .collect(Collectors.toList());
             if (childList.isEmpty()) {
+                // The node is collapsed, which the index does not know about
+                refreshHierarchy();
                 removeChildren(parent == null ? null
                         : getDataProvider().getId(parent));
             } else {
@@ -617,6 +890,7 @@ public class HierarchyMapper<T, F> implements Serializable {
     }
 
     public void destroyAllData() {
+        refreshHierarchy();
         childMap.clear();
         parentIdMap.clear();
         expandedItems.clear();
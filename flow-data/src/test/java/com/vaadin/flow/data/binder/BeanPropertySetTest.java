@@ -17,10 +17,12 @@ package com.vaadin.flow.data.binder;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -72,6 +74,123 @@ public class BeanPropertySetTest {
         }
     }
 
+    public static class ThrowingBean implements Serializable {
+        public String getChecked() throws IOException {
+            throw new IOException("checked");
+        }
+
+        public String getUnchecked() {
+            throw new IllegalStateException("unchecked");
+        }
+
+        public void setUnchecked(String value) {
+            throw new IllegalStateException("unchecked");
+        }
+    }
+
+    @Test
+    public void getterAndSetter_primitiveProperty_valueConverted()
+            throws Exception {
+        PropertySet<com.vaadin.flow.tests.data.bean.Person> propertySet = BeanPropertySet
+                .get(com.vaadin.flow.tests.data.bean.Person.class);
+        @SuppressWarnings("unchecked")
+        PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer> definition = (PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer>) propertySet
+                .getProperty("age").orElseThrow(AssertionFailedError::new);
+        com.vaadin.flow.tests.data.bean.Person person = new com.vaadin.flow.tests.data.bean.Person();
+
+        definition.getSetter().orElseThrow(AssertionFailedError::new)
+                .accept(person, 42);
+
+        Assert.assertEquals(42, person.getAge());
+        Assert.assertEquals(Integer.valueOf(42),
+                definition.getGetter().apply(person));
+
+        // The getter can be serialized after it has been used
+        ValueProvider<com.vaadin.flow.tests.data.bean.Person, Integer> getter = ClassesSerializableUtils
+                .serializeAndDeserialize(definition.getGetter());
+        Assert.assertEquals(Integer.valueOf(42), getter.apply(person));
+    }
+
+    @Test
+    public void nestedSetter_setsValueOnNestedBean() {
+        @SuppressWarnings("unchecked")
+        PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer> definition = (PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer>) BeanPropertySet
+                .get(com.vaadin.flow.tests.data.bean.Person.class)
+                .getProperty("address.postalCode")
+                .orElseThrow(AssertionFailedError::new);
+        Address address = new Address("Ruukinkatu 2-4", 20540, "Turku",
+                Country.FINLAND);
+        com.vaadin.flow.tests.data.bean.Person person = new com.vaadin.flow.tests.data.bean.Person(
+                "Jon", "Doe", "jon.doe@vaadin.com", 32, Sex.MALE, address);
+
+        definition.getSetter().orElseThrow(AssertionFailedError::new)
+                .accept(person, 20100);
+
+        Assert.assertEquals(Integer.valueOf(20100), address.getPostalCode());
+        Assert.assertEquals(Integer.valueOf(20100),
+                definition.getGetter().apply(person));
+    }
+
+    @Test
+    public void getterThrowsCheckedException_exceptionWrapped() {
+        ValueProvider<ThrowingBean, ?> getter = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("checked")
+                .orElseThrow(AssertionFailedError::new).getGetter();
+        try {
+            getter.apply(new ThrowingBean());
+            Assert.fail("Getter should throw");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause().getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void getterThrowsUncheckedException_exceptionWrapped() {
+        ValueProvider<ThrowingBean, ?> getter = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("unchecked")
+                .orElseThrow(AssertionFailedError::new).getGetter();
+        try {
+            getter.apply(new ThrowingBean());
+            Assert.fail("Getter should throw");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void setterThrowsUncheckedException_exceptionWrapped() {
+        @SuppressWarnings("unchecked")
+        Setter<ThrowingBean, String> setter = (Setter<ThrowingBean, String>) BeanPropertySet
+                .get(ThrowingBean.class).getProperty("unchecked")
+                .flatMap(PropertyDefinition::getSetter)
+                .orElseThrow(AssertionFailedError::new);
+        try {
+            setter.accept(new ThrowingBean(), "value");
+            Assert.fail("Setter should throw");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void primitiveSetter_nullValue_throwsIllegalArgumentException() {
+        @SuppressWarnings("unchecked")
+        Setter<com.vaadin.flow.tests.data.bean.Person, Integer> setter = (Setter<com.vaadin.flow.tests.data.bean.Person, Integer>) BeanPropertySet
+                .get(com.vaadin.flow.tests.data.bean.Person.class)
+                .getProperty("age").flatMap(PropertyDefinition::getSetter)
+                .orElseThrow(AssertionFailedError::new);
+
+        setter.accept(new com.vaadin.flow.tests.data.bean.Person(), null);
+    }
+
     @Test
     public void testSerializeDeserialize_propertySet() throws Exception {
         PropertySet<Person> originalPropertySet = BeanPropertySet
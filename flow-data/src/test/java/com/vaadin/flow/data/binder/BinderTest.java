@@ -1584,6 +1584,91 @@ public class BinderTest extends BinderTestBase<Binder<Person>, Person> {
                 innerListenerInvoked.get());
     }
 
+    @Test
+    public void incrementalValidation_unchangedFieldsNotValidatedAgain() {
+        AtomicInteger nameValidations = new AtomicInteger();
+        AtomicInteger ageValidations = new AtomicInteger();
+        binder.forField(nameField).withValidator(value -> {
+            nameValidations.incrementAndGet();
+            return true;
+        }, "").bind(Person::getFirstName, Person::setFirstName);
+        binder.forField(ageField)
+                .withConverter(new StringToIntegerConverter(""))
+                .withValidator(value -> {
+                    ageValidations.incrementAndGet();
+                    return value < 100;
+                }, "Too old").bind(Person::getAge, Person::setAge);
+        binder.setIncrementalValidationEnabled(true);
+        binder.setBean(item);
+
+        ageField.setValue("200");
+        nameField.setValue("Foo");
+        nameValidations.set(0);
+        ageValidations.set(0);
+
+        nameField.setValue("Bar");
+        nameField.setValue("Baz");
+
+        assertEquals(2, nameValidations.get());
+        assertEquals(0, ageValidations.get());
+        assertEquals("Too old", componentErrors.get(ageField));
+        assertEquals("Johannes", item.getFirstName());
+
+        ageField.setValue("20");
+
+        assertEquals(1, ageValidations.get());
+        assertNull(componentErrors.get(ageField));
+        assertEquals("Baz", item.getFirstName());
+        assertEquals(20, item.getAge());
+    }
+
+    @Test
+    public void incrementalValidation_dependencyChanged_validatedAgain() {
+        TestTextField lastNameField = new TestTextField();
+        AtomicInteger lastNameValidations = new AtomicInteger();
+        Binding<Person, String> nameBinding = binder.forField(nameField)
+                .bind(Person::getFirstName, Person::setFirstName);
+        Binding<Person, String> lastNameBinding = binder
+                .forField(lastNameField).withValidator(value -> {
+                    lastNameValidations.incrementAndGet();
+                    return !value.equals(nameField.getValue());
+                }, "Same as first name")
+                .bind(Person::getLastName, Person::setLastName);
+        binder.setIncrementalValidationEnabled(true);
+        binder.addValidationDependency(lastNameBinding, nameBinding);
+        binder.setBean(item);
+
+        lastNameField.setValue("Foo");
+        assertNull(componentErrors.get(lastNameField));
+        lastNameValidations.set(0);
+
+        nameField.setValue("Foo");
+
+        assertEquals(1, lastNameValidations.get());
+        assertEquals("Same as first name",
+                componentErrors.get(lastNameField));
+    }
+
+    @Test
+    public void incrementalValidationDisabled_allChangedFieldsValidated() {
+        AtomicInteger ageValidations = new AtomicInteger();
+        binder.forField(nameField).bind(Person::getFirstName,
+                Person::setFirstName);
+        binder.forField(ageField)
+                .withConverter(new StringToIntegerConverter(""))
+                .withValidator(value -> {
+                    ageValidations.incrementAndGet();
+                    return value < 100;
+                }, "").bind(Person::getAge, Person::setAge);
+        binder.setBean(item);
+
+        ageField.setValue("200");
+        ageValidations.set(0);
+        nameField.setValue("Foo");
+
+        assertTrue(ageValidations.get() > 0);
+    }
+
     private TestTextField createNullRejectingFieldWithEmptyValue(
             String emptyValue) {
         return new TestTextField() {
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.function.SerializablePredicate;
+
+public class CachingDataProviderTest {
+
+    private static final int SIZE = 100;
+
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    private final AtomicInteger sizeCount = new AtomicInteger();
+
+    // Run by the backend before each fetch
+    private volatile Runnable beforeFetch = () -> {
+    };
+
+    private MutableClock clock;
+    private CallbackDataProvider<Integer, String> backend;
+    private CachingDataProvider<Integer, String> dataProvider;
+
+    private static class MutableClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock();
+        backend = DataProvider.fromFilteringCallbacks(query -> {
+            beforeFetch.run();
+            fetchCount.incrementAndGet();
+            int end = Math.min(query.getOffset() + query.getLimit(), SIZE);
+            return IntStream.range(query.getOffset(), end)
+                    .filter(i -> query.getFilter()
+                            .map(filter -> i % 2 == 0).orElse(true))
+                    .boxed();
+        }, query -> {
+            sizeCount.incrementAndGet();
+            return query.getFilter().isPresent() ? SIZE / 2 : SIZE;
+        });
+        dataProvider = new CachingDataProvider<>(backend, 10, 5,
+                Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    public void fetch_rangesWithinCachedPages_backendQueriedOncePerPage() {
+        Assert.assertEquals(range(0, 10), fetch(0, 10, null));
+        Assert.assertEquals(range(5, 15), fetch(5, 10, null));
+        Assert.assertEquals(range(0, 20), fetch(0, 20, null));
+
+        Assert.assertEquals(2, fetchCount.get());
+    }
+
+    @Test
+    public void fetch_differentFilterAndSorting_cachedSeparately() {
+        fetch(0, 10, null);
+        fetch(0, 10, "even");
+        dataProvider.fetch(new Query<>(0, 10,
+                QuerySortOrder.asc("value").build(), null, null));
+        dataProvider.fetch(new Query<>(0, 10,
+                QuerySortOrder.asc("value").build(), null, null));
+
+        Assert.assertEquals(3, fetchCount.get());
+    }
+
+    @Test
+    public void fetch_sameSortOrdersNewComparator_cacheReused() {
+        for (int i = 0; i < 2; i++) {
+            // A new comparator instance, as for each query of a component
+            Comparator<Integer> comparator = (a, b) -> Integer.compare(a, b);
+            dataProvider.fetch(new Query<>(0, 10,
+                    QuerySortOrder.asc("value").build(), comparator, null));
+        }
+
+        Assert.assertEquals(1, fetchCount.get());
+    }
+
+    @Test
+    public void fetch_pastEnd_partialPageReturned() {
+        Assert.assertEquals(range(95, 100), fetch(95, 20, null));
+        Assert.assertEquals(range(90, 100), fetch(90, 20, null));
+
+        // The last full page and the empty page after it
+        Assert.assertEquals(2, fetchCount.get());
+    }
+
+    @Test
+    public void size_sameFilter_backendQueriedOnce() {
+        Assert.assertEquals(SIZE, dataProvider.size(new Query<>()));
+        Assert.assertEquals(SIZE, dataProvider.size(new Query<>()));
+        Assert.assertEquals(SIZE / 2, dataProvider.size(new Query<>("even")));
+
+        Assert.assertEquals(2, sizeCount.get());
+    }
+
+    @Test
+    public void refreshAll_cacheClearedAndListenersNotified() {
+        List<DataChangeEvent<Integer>> events = new ArrayList<>();
+        dataProvider.addDataProviderListener(events::add);
+        fetch(0, 10, null);
+
+        dataProvider.refreshAll();
+        fetch(0, 10, null);
+
+        Assert.assertEquals(2, fetchCount.get());
+        Assert.assertEquals(1, events.size());
+        Assert.assertSame(dataProvider, events.get(0).getSource());
+    }
+
+    @Test
+    public void wrappedProviderRefreshed_cacheCleared() {
+        fetch(0, 10, null);
+        dataProvider.size(new Query<>());
+
+        backend.refreshAll();
+        fetch(0, 10, null);
+        dataProvider.size(new Query<>());
+
+        Assert.assertEquals(2, fetchCount.get());
+        Assert.assertEquals(2, sizeCount.get());
+    }
+
+    @Test
+    public void close_wrappedProviderNoLongerListened() {
+        List<DataChangeEvent<Integer>> events = new ArrayList<>();
+        dataProvider.addDataProviderListener(events::add);
+        fetch(0, 10, null);
+
+        dataProvider.close();
+        fetch(0, 10, null);
+        backend.refreshAll();
+        fetch(0, 10, null);
+
+        Assert.assertEquals(2, fetchCount.get());
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void serialize_listenersNotSerialized() {
+        CachingDataProvider<Integer, SerializablePredicate<Integer>> provider = new CachingDataProvider<>(
+                DataProvider.ofCollection(Arrays.asList(1, 2, 3)), 10, 5,
+                Duration.ofMinutes(1));
+        // Captures the test, which is not serializable
+        provider.addDataProviderListener(event -> fetchCount.get());
+
+        CachingDataProvider<Integer, SerializablePredicate<Integer>> copy = SerializationUtils
+                .roundtrip(provider);
+
+        List<DataChangeEvent<Integer>> events = new ArrayList<>();
+        copy.addDataProviderListener(events::add);
+        Assert.assertEquals(Arrays.asList(1, 2, 3),
+                copy.fetch(new Query<>()).collect(Collectors.toList()));
+        ((ListDataProvider<Integer>) copy.getDataProvider()).refreshAll();
+        Assert.assertEquals(1, events.size());
+    }
+
+    @Test
+    public void refreshItem_onlyPagesContainingItemDiscarded() {
+        List<DataChangeEvent<Integer>> events = new ArrayList<>();
+        dataProvider.addDataProviderListener(events::add);
+        fetch(0, 20, null);
+
+        dataProvider.refreshItem(15);
+        fetch(0, 20, null);
+
+        Assert.assertEquals(3, fetchCount.get());
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(Integer.valueOf(15),
+                ((DataChangeEvent.DataRefreshEvent<Integer>) events.get(0))
+                        .getItem());
+    }
+
+    @Test
+    public void refreshItemWhileLoading_loadedPageNotReused()
+            throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        beforeFetch = () -> {
+            loading.countDown();
+            await(refreshed);
+        };
+        Thread loader = new Thread(() -> fetch(0, 10, null));
+        loader.start();
+        await(loading);
+
+        dataProvider.refreshItem(5);
+        refreshed.countDown();
+        loader.join(TimeUnit.SECONDS.toMillis(10));
+        fetch(0, 10, null);
+
+        Assert.assertEquals(2, fetchCount.get());
+    }
+
+    @Test
+    public void loaderThrowsError_errorThrownAndPageLoadedAgain() {
+        AssertionError error = new AssertionError("backend");
+        beforeFetch = () -> {
+            throw error;
+        };
+        try {
+            fetch(0, 10, null);
+            Assert.fail("Error should be thrown");
+        } catch (AssertionError e) {
+            Assert.assertSame(error, e);
+        }
+
+        beforeFetch = () -> {
+        };
+        Assert.assertEquals(range(0, 10), fetch(0, 10, null));
+    }
+
+    @Test
+    public void loaderThrowsCheckedException_waitingThreadDoesNotBlock()
+            throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        beforeFetch = () -> {
+            loading.countDown();
+            await(waiting);
+            CachingDataProviderTest
+                    .<RuntimeException> sneakyThrow(new Exception("backend"));
+        };
+        Thread loader = new Thread(() -> {
+            try {
+                fetch(0, 10, null);
+            } catch (Throwable e) {
+                // expected, the waiting thread is verified
+            }
+        });
+        loader.start();
+        await(loading);
+
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                fetch(0, 10, null);
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        waiter.start();
+        // Wait until the second thread waits for the result of the first one
+        while (waiter.getState() != Thread.State.WAITING && waiter.isAlive()) {
+            Thread.sleep(1);
+        }
+        waiting.countDown();
+        waiter.join(TimeUnit.SECONDS.toMillis(10));
+
+        Assert.assertFalse("Waiting thread should not block", waiter.isAlive());
+        Assert.assertTrue(thrown.get() instanceof CompletionException);
+        Assert.assertEquals("backend", thrown.get().getCause().getMessage());
+    }
+
+    @Test
+    public void timeToLiveExceeded_pageFetchedAgain() {
+        fetch(0, 10, null);
+        clock.millis += Duration.ofSeconds(59).toMillis();
+        fetch(0, 10, null);
+        Assert.assertEquals(1, fetchCount.get());
+
+        clock.millis += Duration.ofSeconds(1).toMillis();
+        fetch(0, 10, null);
+        Assert.assertEquals(2, fetchCount.get());
+    }
+
+    @Test
+    public void maxEntriesExceeded_leastRecentlyUsedEvicted() {
+        fetch(0, 50, null);
+        // Use the first page so that the second one is the eldest
+        fetch(0, 10, null);
+        fetch(50, 10, null);
+        Assert.assertEquals(6, fetchCount.get());
+
+        fetch(0, 10, null);
+        Assert.assertEquals(6, fetchCount.get());
+        fetch(10, 10, null);
+        Assert.assertEquals(7, fetchCount.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroTimeToLive_throws() {
+        new CachingDataProvider<>(backend, 10, 5, Duration.ZERO);
+    }
+
+    private List<Integer> fetch(int offset, int limit, String filter) {
+        return dataProvider
+                .fetch(new Query<>(offset, limit, Collections.emptyList(),
+                        null, filter))
+                .collect(Collectors.toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable throwable)
+            throws E {
+        throw (E) throwable;
+    }
+
+    private static List<Integer> range(int start, int end) {
+        return IntStream.range(start, end).boxed()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactKeyMapperTest {
+
+    // Uses the identity hash code, which changes on deserialization
+    private static class IdentityBean implements Serializable {
+    }
+
+    private final List<StrBean> beans = IntStream.range(0, 1000)
+            .mapToObj(i -> new StrBean("Bean", i, i))
+            .collect(Collectors.toList());
+
+    @Test
+    public void key_sameObject_sameKey() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>(
+                StrBean::getId);
+        StrBean bean = beans.get(0);
+
+        String key = mapper.key(bean);
+
+        Assert.assertEquals("1", key);
+        Assert.assertEquals(key, mapper.key(bean));
+        Assert.assertEquals("2", mapper.key(beans.get(1)));
+        Assert.assertSame(bean, mapper.get(key));
+        Assert.assertTrue(mapper.has(bean));
+        Assert.assertTrue(mapper.containsKey(key));
+        Assert.assertEquals("null", mapper.key(null));
+    }
+
+    @Test
+    public void get_unknownKeys_null() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>(
+                StrBean::getId);
+        mapper.key(beans.get(0));
+
+        for (String key : new String[] { null, "", "null", "0", "01", "-1",
+                "2", "a", "99999999999" }) {
+            Assert.assertNull(key, mapper.get(key));
+            Assert.assertFalse(key, mapper.containsKey(key));
+        }
+    }
+
+    @Test
+    public void manyObjectsAddedAndRemoved_sameMappingsAsKeyMapper() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>(
+                StrBean::getId);
+        KeyMapper<StrBean> expected = new KeyMapper<>(StrBean::getId);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            StrBean bean = beans.get(random.nextInt(beans.size()));
+            if (random.nextInt(3) == 0) {
+                mapper.remove(bean);
+                expected.remove(bean);
+            } else {
+                Assert.assertEquals(expected.key(bean), mapper.key(bean));
+            }
+        }
+
+        int mapped = 0;
+        for (StrBean bean : beans) {
+            Assert.assertEquals(expected.has(bean), mapper.has(bean));
+            if (expected.has(bean)) {
+                mapped++;
+                String key = expected.key(bean);
+                Assert.assertSame(bean, mapper.get(key));
+            }
+        }
+        Assert.assertEquals(mapped, mapper.size());
+    }
+
+    @Test
+    public void removedObjectMappedAgain_keyNotReused() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>();
+        StrBean bean = beans.get(0);
+        String key = mapper.key(bean);
+
+        mapper.remove(bean);
+        Assert.assertFalse(mapper.has(bean));
+        Assert.assertNull(mapper.get(key));
+
+        Assert.assertNotEquals(key, mapper.key(bean));
+
+        mapper.removeAll();
+        Assert.assertEquals(0, mapper.size());
+        Assert.assertEquals("3", mapper.key(bean));
+    }
+
+    @Test
+    public void refresh_newInstanceReturned() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>(
+                StrBean::getId);
+        StrBean bean = beans.get(0);
+        String key = mapper.key(bean);
+
+        StrBean updated = new StrBean("Updated", bean.getId(), 0);
+        mapper.refresh(updated);
+
+        Assert.assertSame(updated, mapper.get(key));
+    }
+
+    @Test
+    public void identifierOnly_objectLoadedById() {
+        Map<Object, StrBean> backend = new HashMap<>();
+        beans.forEach(bean -> backend.put(bean.getId(), bean));
+        AtomicInteger loads = new AtomicInteger();
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>(
+                StrBean::getId, id -> {
+                    loads.incrementAndGet();
+                    return backend.get(id);
+                });
+        Assert.assertTrue(mapper.isIdentifierOnly());
+
+        StrBean bean = beans.get(0);
+        String key = mapper.key(bean);
+        Assert.assertEquals(0, loads.get());
+
+        StrBean updated = new StrBean("Updated", bean.getId(), 0);
+        backend.put(bean.getId(), updated);
+
+        Assert.assertSame(updated, mapper.get(key));
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void setIdentifierGetter_mappingsKept() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>();
+        StrBean bean = beans.get(0);
+        String key = mapper.key(bean);
+
+        mapper.setIdentifierGetter(StrBean::getId);
+
+        StrBean equalId = new StrBean("Other", bean.getId(), 0);
+        Assert.assertTrue(mapper.has(equalId));
+        Assert.assertEquals(key, mapper.key(equalId));
+        Assert.assertSame(bean, mapper.get(key));
+    }
+
+    @Test
+    public void setIdentifierGetter_sameIdForTwoObjects_idMappedOnce() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>();
+        StrBean first = beans.get(0);
+        StrBean second = beans.get(1);
+        mapper.key(first);
+        mapper.key(second);
+
+        mapper.setIdentifierGetter(bean -> "same");
+
+        Assert.assertSame(first, mapper.get("1"));
+        Assert.assertSame(second, mapper.get("2"));
+        Assert.assertEquals("2", mapper.key(first));
+
+        mapper.remove(first);
+        Assert.assertFalse(mapper.has(first));
+        Assert.assertFalse(mapper.has(second));
+
+        CompactKeyMapper<StrBean> deserialized = SerializationUtils
+                .roundtrip(mapper);
+        Assert.assertFalse(deserialized.has(first));
+        Assert.assertEquals(mapper.size(), deserialized.size());
+    }
+
+    @Test
+    public void serialized_mappingsKept() {
+        CompactKeyMapper<StrBean> mapper = new CompactKeyMapper<>(
+                StrBean::getId);
+        beans.forEach(mapper::key);
+
+        CompactKeyMapper<StrBean> deserialized = SerializationUtils
+                .roundtrip(mapper);
+
+        Assert.assertEquals(beans.get(10), deserialized.get("11"));
+        Assert.assertEquals("11", deserialized.key(beans.get(10)));
+        Assert.assertEquals(String.valueOf(beans.size() + 1),
+                deserialized.key(new StrBean("New", -1, 0)));
+    }
+
+    @Test
+    public void serialized_identityHashCodes_mappingsKept() {
+        CompactKeyMapper<IdentityBean> mapper = new CompactKeyMapper<>();
+        IntStream.range(0, 100).mapToObj(i -> new IdentityBean())
+                .forEach(mapper::key);
+
+        CompactKeyMapper<IdentityBean> deserialized = SerializationUtils
+                .roundtrip(mapper);
+
+        Assert.assertEquals(100, deserialized.size());
+        for (int i = 1; i <= 100; i++) {
+            String key = String.valueOf(i);
+            IdentityBean bean = deserialized.get(key);
+            Assert.assertNotNull(bean);
+            Assert.assertTrue(deserialized.has(bean));
+            Assert.assertEquals(key, deserialized.key(bean));
+        }
+
+        IdentityBean bean = deserialized.get("50");
+        deserialized.remove(bean);
+        Assert.assertFalse(deserialized.has(bean));
+        Assert.assertNull(deserialized.get("50"));
+        Assert.assertEquals("101", deserialized.key(new IdentityBean()));
+    }
+}
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hamcrest.CoreMatchers;
@@ -102,6 +103,74 @@ public class CompositeDataGeneratorTest {
         Assert.assertThat(mock3.getProcessed(), CoreMatchers.hasItem("item1"));
     }
 
+    @Test
+    public void generateBatchData_innerGeneratorsAreInvokedForAllItems() {
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
+
+        MockDataGenerator mock1 = new MockDataGenerator("mock1", "value1");
+        MockDataGenerator mock2 = new MockDataGenerator("mock2", "value2");
+
+        composite.addDataGenerator(mock1);
+        composite.addDataGenerator(mock2);
+
+        List<JsonObject> json = Arrays.asList(Json.createObject(),
+                Json.createObject());
+        composite.generateBatchData(Arrays.asList("item1", "item2"), json);
+
+        for (JsonObject object : json) {
+            Assert.assertEquals("value1", object.getString("mock1"));
+            Assert.assertEquals("value2", object.getString("mock2"));
+        }
+        Assert.assertEquals(Arrays.asList("item1", "item2"),
+                mock1.getProcessed());
+        Assert.assertEquals(Arrays.asList("item1", "item2"),
+                mock2.getProcessed());
+    }
+
+    @Test
+    public void generateBatchData_generateDataOverridden_overrideInvokedForAllItems() {
+        List<String> generated = new ArrayList<>();
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<String>() {
+            @Override
+            public void generateData(String item, JsonObject jsonObject) {
+                generated.add(item);
+                super.generateData(item, jsonObject);
+            }
+        };
+        MockDataGenerator mock = new MockDataGenerator("mock", "value");
+        composite.addDataGenerator(mock);
+
+        List<JsonObject> json = Arrays.asList(Json.createObject(),
+                Json.createObject());
+        composite.generateBatchData(Arrays.asList("item1", "item2"), json);
+
+        Assert.assertEquals(Arrays.asList("item1", "item2"), generated);
+        Assert.assertEquals(Arrays.asList("item1", "item2"),
+                mock.getProcessed());
+        for (JsonObject object : json) {
+            Assert.assertEquals("value", object.getString("mock"));
+        }
+    }
+
+    @Test
+    public void isThreadSafe_onlyIfAllInnerGeneratorsAreThreadSafe() {
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
+        composite.addDataGenerator(new DataGenerator<String>() {
+            @Override
+            public void generateData(String item, JsonObject jsonObject) {
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        });
+        Assert.assertTrue(composite.isThreadSafe());
+
+        composite.addDataGenerator(new MockDataGenerator("mock", "value"));
+        Assert.assertFalse(composite.isThreadSafe());
+    }
+
     @Test
     public void refreshData_innerGeneratorsAreInvoked() {
         CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
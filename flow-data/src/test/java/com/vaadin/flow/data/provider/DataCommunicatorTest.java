@@ -17,8 +17,12 @@ package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -36,6 +40,7 @@ import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.internal.Range;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -50,6 +55,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
 public class DataCommunicatorTest {
@@ -1331,6 +1337,187 @@ public class DataCommunicatorTest {
                 .size(Mockito.any(Query.class));
     }
 
+    @Test
+    public void asyncFetch_backendDataProvider_fetchedOnExecutorAndFlushedAfterAccess() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger queryCount = new AtomicInteger();
+        dataCommunicator.setAsyncFetchExecutor(tasks::add);
+        dataCommunicator.setDataProvider(
+                createBackendDataProvider(100, queryCount), null);
+        dataCommunicator.setRequestedRange(0, 50);
+
+        fakeClientCommunication();
+
+        Assert.assertEquals("Backend should not be queried during flush", 0,
+                queryCount.get());
+        Assert.assertNull(lastSet);
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        Assert.assertEquals("Expected a count and a fetch query", 2,
+                queryCount.get());
+
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+        Assert.assertEquals(100, dataCommunicator.getItemCount());
+        Assert.assertEquals("Fetched items should be used", 2,
+                queryCount.get());
+    }
+
+    @Test
+    public void asyncFetch_prefetchPages_scrollingServedFromPrefetchedPages() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger queryCount = new AtomicInteger();
+        dataCommunicator.setAsyncFetchExecutor(tasks::add);
+        dataCommunicator.setPrefetchPageCount(1);
+        dataCommunicator.setDataProvider(
+                createBackendDataProvider(200, queryCount), null);
+        dataCommunicator.setRequestedRange(0, pageSize);
+
+        fakeClientCommunication();
+        tasks.remove(0).run();
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, pageSize), lastSet);
+        // The item count is now known, so the next page is prefetched
+        Assert.assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        int queries = queryCount.get();
+
+        dataCommunicator.setRequestedRange(pageSize, pageSize);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(pageSize, pageSize), lastSet);
+        Assert.assertEquals(queries, queryCount.get());
+        Assert.assertEquals("Expected prefetching the following page", 1,
+                tasks.size());
+    }
+
+    @Test
+    public void asyncFetch_resetWhileFetching_resultsDiscarded() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger queryCount = new AtomicInteger();
+        dataCommunicator.setAsyncFetchExecutor(tasks::add);
+        dataCommunicator.setDataProvider(
+                createBackendDataProvider(100, queryCount), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataCommunicator.reset();
+        tasks.remove(0).run();
+        fakeClientCommunication();
+
+        Assert.assertNull("Discarded results should not be sent", lastSet);
+        Assert.assertEquals("Expected fetching again after reset", 1,
+                tasks.size());
+
+        tasks.remove(0).run();
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+    }
+
+    @Test
+    public void asyncFetch_inMemoryDataProvider_fetchedDuringFlush() {
+        List<Runnable> tasks = new ArrayList<>();
+        dataCommunicator.setAsyncFetchExecutor(tasks::add);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+        Assert.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void parallelGeneration_threadSafeGenerator_dataGeneratedInBatches() {
+        List<Integer> batchSizes = Collections
+                .synchronizedList(new ArrayList<>());
+        List<JsonValue> sent = createCommunicatorWithGenerator(
+                new DataGenerator<Item>() {
+                    @Override
+                    public void generateData(Item item, JsonObject json) {
+                        json.put("id", item.id);
+                    }
+
+                    @Override
+                    public void generateBatchData(List<Item> items,
+                            List<JsonObject> json) {
+                        batchSizes.add(items.size());
+                        DataGenerator.super.generateBatchData(items, json);
+                    }
+
+                    @Override
+                    public boolean isThreadSafe() {
+                        return true;
+                    }
+                }, 10);
+
+        Assert.assertEquals(100, sent.size());
+        for (int i = 0; i < sent.size(); i++) {
+            Assert.assertEquals(i,
+                    (int) ((JsonObject) sent.get(i)).getNumber("id"));
+        }
+        Assert.assertEquals(100,
+                batchSizes.stream().mapToInt(Integer::intValue).sum());
+        Assert.assertTrue("Items should be split into several batches",
+                batchSizes.size() > 1);
+    }
+
+    @Test
+    public void parallelGeneration_generatorNotThreadSafe_singleBatch() {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<JsonValue> sent = createCommunicatorWithGenerator(
+                new DataGenerator<Item>() {
+                    @Override
+                    public void generateData(Item item, JsonObject json) {
+                        json.put("id", item.id);
+                    }
+
+                    @Override
+                    public void generateBatchData(List<Item> items,
+                            List<JsonObject> json) {
+                        batchSizes.add(items.size());
+                        DataGenerator.super.generateBatchData(items, json);
+                    }
+                }, 10);
+
+        Assert.assertEquals(100, sent.size());
+        Assert.assertEquals(Collections.singletonList(100), batchSizes);
+    }
+
+    private List<JsonValue> createCommunicatorWithGenerator(
+            DataGenerator<Item> generator, int parallelThreshold) {
+        List<JsonValue> sent = new ArrayList<>();
+        ArrayUpdater updater = Mockito.mock(ArrayUpdater.class);
+        Mockito.when(updater.startUpdate(Mockito.anyInt()))
+                .thenReturn(new ArrayUpdater.Update() {
+                    @Override
+                    public void clear(int start, int length) {
+                    }
+
+                    @Override
+                    public void set(int start, List<JsonValue> items) {
+                        sent.addAll(items);
+                    }
+
+                    @Override
+                    public void commit(int updateId) {
+                    }
+                });
+        DataCommunicator<Item> communicator = new DataCommunicator<>(
+                generator, updater, data -> {
+                }, element.getNode());
+        communicator.setParallelGenerationThreshold(parallelThreshold);
+        communicator.setDataProvider(createDataProvider(), null);
+        communicator.setRequestedRange(0, 100);
+
+        fakeClientCommunication();
+        return sent;
+    }
+
     @Test
     public void setPageSize_setIncorrectPageSize_throws() {
         expectedException.expect(IllegalArgumentException.class);
@@ -1581,6 +1768,19 @@ public class DataCommunicatorTest {
         };
     }
 
+    private DataProvider<Item, Void> createBackendDataProvider(int size,
+            AtomicInteger queryCount) {
+        return DataProvider.fromCallbacks(query -> {
+            queryCount.incrementAndGet();
+            int end = Math.min(query.getOffset() + query.getLimit(), size);
+            return IntStream.range(query.getOffset(), end)
+                    .mapToObj(Item::new);
+        }, query -> {
+            queryCount.incrementAndGet();
+            return size;
+        });
+    }
+
     private AbstractDataProvider<Item, Object> createDataProvider() {
         return new AbstractDataProvider<Item, Object>() {
             @Override
@@ -1640,6 +1840,13 @@ public class DataCommunicatorTest {
             // Do nothing
         }
 
+        @Override
+        public Future<Void> access(Command command) {
+            // The session is always locked by the test thread
+            command.execute();
+            return CompletableFuture.completedFuture(null);
+        }
+
         private static VaadinSession findOrcreateSession() {
             VaadinSession session = VaadinSession.getCurrent();
             if (session == null) {
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.function.ValueProvider;
+
+public class IndexedListDataProviderTest extends ListDataProviderTest {
+
+    @Override
+    protected ListDataProvider<StrBean> createDataProvider() {
+        return new IndexedListDataProvider<>(data);
+    }
+
+    @Test
+    public void fetch_sameFilterAndSorting_filteredAndSortedOnce() {
+        AtomicInteger filterCalls = new AtomicInteger();
+        AtomicInteger compareCalls = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = bean -> {
+            filterCalls.incrementAndGet();
+            return bean.getValue().equals("Foo");
+        };
+        Comparator<StrBean> sorting = (bean1, bean2) -> {
+            compareCalls.incrementAndGet();
+            return Integer.compare(bean1.getId(), bean2.getId());
+        };
+
+        List<StrBean> firstPage = fetch(0, 10, filter, sorting);
+        int compares = compareCalls.get();
+        List<StrBean> secondPage = fetch(10, 10, filter, sorting);
+        dataProvider.size(new Query<>(filter));
+
+        Assert.assertEquals(data.size(), filterCalls.get());
+        Assert.assertEquals(compares, compareCalls.get());
+        Assert.assertEquals(fetchWithListDataProvider(0, 10, filter, sorting),
+                firstPage);
+        Assert.assertEquals(fetchWithListDataProvider(10, 10, filter, sorting),
+                secondPage);
+    }
+
+    @Test
+    public void fetch_differentQueryFilter_filteredAgain() {
+        Assert.assertEquals(36, dataProvider.size(new Query<>(fooFilter)));
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+        Assert.assertEquals(36, dataProvider.size(new Query<>(fooFilter)));
+    }
+
+    @Test
+    public void itemsChanged_refreshAll_changesVisible() {
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+        StrBean first = data.get(0);
+        first.setValue("Changed");
+        data.set(1, new StrBean("Changed", 1000, 0));
+
+        dataProvider.refreshAll();
+
+        Assert.assertEquals(2, dataProvider
+                .size(new Query<>(bean -> bean.getValue().equals("Changed"))));
+    }
+
+    @Test
+    public void itemsAddedWithoutRefresh_changesVisible() {
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+
+        data.add(new StrBean("Added", 1000, 0));
+
+        Assert.assertEquals(101, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void setFilterByValue_changeValue_servedFromIndex() {
+        AtomicInteger valueCalls = new AtomicInteger();
+        ValueProvider<StrBean, String> value = bean -> {
+            valueCalls.incrementAndGet();
+            return bean.getValue();
+        };
+
+        dataProvider.setFilterByValue(value, "Foo");
+        Assert.assertEquals(36, sizeWithUnfilteredQuery());
+        dataProvider.setFilterByValue(value, "Bar");
+        Assert.assertEquals(23, sizeWithUnfilteredQuery());
+        dataProvider.setFilterByValue(value, "Qux");
+        Assert.assertEquals(0, sizeWithUnfilteredQuery());
+
+        Assert.assertEquals("Index should be built once", data.size(),
+                valueCalls.get());
+
+        dataProvider.setFilter(null);
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void setFilterByValue_itemsRefreshed_indexRebuilt() {
+        ValueProvider<StrBean, String> value = StrBean::getValue;
+        dataProvider.setFilterByValue(value, "Foo");
+        Assert.assertEquals(36, sizeWithUnfilteredQuery());
+
+        data.stream().filter(bean -> bean.getValue().equals("Bar"))
+                .forEach(bean -> bean.setValue("Foo"));
+        dataProvider.refreshAll();
+
+        Assert.assertEquals(59, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void parallel_largeCollection_sameResultAsSequential() {
+        List<StrBean> beans = StrBean.generateRandomBeans(
+                IndexedListDataProvider.PARALLEL_THRESHOLD * 2);
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                beans);
+        provider.setParallel(true);
+        provider.setSortOrder(StrBean::getRandomNumber,
+                SortDirection.DESCENDING);
+        provider.setFilter(bean -> bean.getId() % 3 != 0);
+
+        ListDataProvider<StrBean> expected = new ListDataProvider<>(beans);
+        expected.setSortComparator(provider.getSortComparator());
+        expected.setFilter(provider.getFilter());
+
+        Assert.assertEquals(
+                expected.fetch(new Query<>()).collect(Collectors.toList()),
+                provider.fetch(new Query<>()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void concurrentQueries_differentFiltersAndSorting_correctItems()
+            throws Exception {
+        List<StrBean> beans = StrBean.generateRandomBeans(20000);
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                beans);
+        List<SerializablePredicate<StrBean>> filters = new ArrayList<>();
+        filters.add(bean -> bean.getId() % 2 == 0);
+        filters.add(bean -> bean.getId() % 3 == 0);
+        List<Comparator<StrBean>> sortings = new ArrayList<>();
+        sortings.add(Comparator.comparing(StrBean::getId).reversed());
+        sortings.add(Comparator.comparing(StrBean::getRandomNumber));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(
+                        100, 50, null, sortings.get(thread / 2),
+                        filters.get(thread % 2));
+                ListDataProvider<StrBean> expectedProvider = new ListDataProvider<>(
+                        beans);
+                List<StrBean> expected = expectedProvider.fetch(query)
+                        .collect(Collectors.toList());
+                int expectedSize = expectedProvider.size(query);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        Assert.assertEquals(expectedSize,
+                                provider.size(query));
+                        Assert.assertEquals(expected, provider.fetch(query)
+                                .collect(Collectors.toList()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void serialized_derivedItemsRecomputed() {
+        dataProvider.setFilterByValue(StrBean::getValue, "Foo");
+        Assert.assertEquals(36, sizeWithUnfilteredQuery());
+
+        ListDataProvider<StrBean> deserialized = SerializationUtils
+                .roundtrip(getDataProvider());
+
+        Assert.assertEquals(36, deserialized.size(new Query<>()));
+    }
+
+    private List<StrBean> fetch(int offset, int limit,
+            SerializablePredicate<StrBean> filter,
+            Comparator<StrBean> sorting) {
+        return dataProvider.fetch(new Query<>(offset, limit, null, sorting,
+                filter)).collect(Collectors.toList());
+    }
+
+    private List<StrBean> fetchWithListDataProvider(int offset, int limit,
+            SerializablePredicate<StrBean> filter,
+            Comparator<StrBean> sorting) {
+        return new ListDataProvider<>(data).fetch(
+                new Query<>(offset, limit, null, sorting, filter))
+                .collect(Collectors.toList());
+    }
+}
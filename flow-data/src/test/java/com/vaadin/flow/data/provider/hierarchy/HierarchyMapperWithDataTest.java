@@ -21,6 +21,8 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -293,6 +295,57 @@ public class HierarchyMapperWithDataTest {
         expandedItems.add(new TreeNode("third-1"));
     }
 
+    @Test
+    public void expandAndCollapseInAnyOrder_indexesMatchFlattenedHierarchy() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Node node = testData.get(random.nextInt(testData.size()));
+            if (mapper.isExpanded(node)) {
+                collapse(node);
+            } else {
+                expand(node);
+            }
+            checkMapSize();
+
+            List<Node> flattened = flatten(null);
+            assertEquals(flattened.size(), mapper.getTreeSize());
+            for (int index = 0; index < flattened.size(); index++) {
+                Node item = flattened.get(index);
+                assertEquals(Optional.of(index), mapper.getIndexOf(item));
+                int parentIndex = item.getParent() == null ? -1
+                        : flattened.indexOf(item.getParent());
+                assertEquals(Integer.valueOf(parentIndex),
+                        mapper.getParentIndex(item));
+            }
+            int start = random.nextInt(flattened.size());
+            verifyFetchIsCorrect(flattened, Range.between(start,
+                    Math.min(flattened.size(), start + 7)));
+        }
+    }
+
+    @Test
+    public void dataChanged_refreshHierarchy_changesVisible() {
+        expand(testData.get(0));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        data.addItem(testData.get(0), new Node(1000, testData.get(0)));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        mapper.refreshHierarchy();
+        assertEquals(ROOT_COUNT + PARENT_COUNT + 1, mapper.getTreeSize());
+    }
+
+    private List<Node> flatten(Node parent) {
+        List<Node> flattened = new ArrayList<>();
+        if (mapper.isExpanded(parent)) {
+            for (Node child : data.getChildren(parent)) {
+                flattened.add(child);
+                flattened.addAll(flatten(child));
+            }
+        }
+        return flattened;
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -63,6 +63,7 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.ErrorHandlingCommand;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
@@ -368,6 +369,7 @@ public class UI extends Component
 
     /**
      * Locks the session of this UI and runs the provided command right away.
+     * When UI locking is enabled, only this UI is locked.
      * <p>
      * It is generally recommended to use {@link #access(Command)} instead of
      * this method for accessing a session from a different thread as
@@ -432,7 +434,12 @@ public class UI extends Component
 
         VaadinService.verifyNoOtherSessionLocked(session);
 
-        session.lock();
+        boolean uiLocking = internals.isUILockingEnabled();
+        if (uiLocking) {
+            internals.lock();
+        } else {
+            session.lock();
+        }
         try {
             if (getSession() == null) {
                 // UI was detached after fetching the session but before we
@@ -443,7 +450,11 @@ public class UI extends Component
             old = CurrentInstance.setCurrent(this);
             command.execute();
         } finally {
-            session.unlock();
+            if (uiLocking) {
+                internals.unlock();
+            } else {
+                session.unlock();
+            }
             if (old != null) {
                 CurrentInstance.restoreInstances(old);
             }
@@ -459,6 +470,8 @@ public class UI extends Component
      * exclusive access to this UI. If the session is not locked, the lock will
      * be acquired and the command is run right away. If the session is
      * currently locked, the command will be run before that lock is released.
+     * When UI locking is enabled, the lock of this UI is used instead of the
+     * session lock.
      * </p>
      * <p>
      * RPC handlers for components inside this UI do not need to use this method
@@ -513,7 +526,7 @@ public class UI extends Component
             return null;
         }
 
-        return session.access(new ErrorHandlingCommand() {
+        ErrorHandlingCommand accessCommand = new ErrorHandlingCommand() {
             @Override
             public void execute() {
                 accessSynchronously(command, detachHandler);
@@ -533,7 +546,15 @@ public class UI extends Component
                     getLogger().error(e.getMessage(), e);
                 }
             }
-        });
+        };
+
+        if (internals.isUILockingEnabled()) {
+            FutureAccess future = new FutureAccess(session, accessCommand);
+            internals.getPendingAccessQueue().add(future);
+            internals.ensureAccessQueuePurged();
+            return future;
+        }
+        return session.access(accessCommand);
     }
 
     /**
@@ -660,7 +681,7 @@ public class UI extends Component
         if (session == null) {
             throw new UIDetachedException("Cannot push a detached UI");
         }
-        session.checkHasLock();
+        internals.checkHasLock();
 
         if (!getPushConfiguration().getPushMode().isEnabled()) {
             throw new IllegalStateException("Push not enabled");
@@ -674,7 +695,11 @@ public class UI extends Component
          * when the push would otherwise be ignored because there are no changes
          * to push.
          */
-        session.getService().runPendingAccessTasks(session);
+        if (internals.isUILockingEnabled()) {
+            internals.runPendingAccessTasks();
+        } else {
+            session.getService().runPendingAccessTasks(session);
+        }
 
         if (!getInternals().isDirty()) {
             // Do not push if there is nothing to push
@@ -20,6 +20,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.VaadinSession;
 
 /**
@@ -75,7 +76,7 @@ public class DeadlockDetectingCompletableFuture<T>
             // Won't block if we're done
             return;
         }
-        if (session != null && session.hasLock()) {
+        if (session != null && (session.hasLock() || hasCurrentUILock())) {
             /*
              * Disallow blocking if the current thread holds the lock for the
              * session that would need to be locked by a request thread to
@@ -86,4 +87,11 @@ public class DeadlockDetectingCompletableFuture<T>
                             + "This is because the request that delivers the value cannot be processed while this thread holds the session lock.");
         }
     }
+
+    private boolean hasCurrentUILock() {
+        // With UI locking, the response is processed holding the UI lock
+        UI ui = UI.getCurrent();
+        return ui != null && ui.getInternals().getSession() == session
+                && ui.getInternals().hasLock();
+    }
 }
@@ -23,7 +23,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,6 +54,7 @@ import com.vaadin.flow.dom.impl.BasicElementStateProvider;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.UrlUtil;
@@ -67,9 +74,12 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.AccessExecutor;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.PushCoalescer;
 import com.vaadin.flow.server.communication.PushConnection;
 import com.vaadin.flow.server.frontend.FallbackChunk;
 import com.vaadin.flow.server.frontend.FallbackChunk.CssImportData;
@@ -85,6 +95,15 @@ import com.vaadin.flow.shared.communication.PushMode;
  */
 public class UIInternals implements Serializable {
 
+    private static final String UI_NOT_LOCKED_MESSAGE = "Cannot access the state of a UI without holding the UI lock when UI locking is enabled. "
+            + "Use UI.access() to access the UI from another thread.";
+
+    /*
+     * How long a thread holding the session lock releases it at a time while
+     * waiting for a UI lock, in milliseconds.
+     */
+    private static final long LOCK_RETRY_INTERVAL = 10;
+
     /**
      * A {@link Page#executeJs(String, Serializable...)} invocation that has not
      * yet been sent to the client.
@@ -185,6 +204,20 @@ public class UIInternals implements Serializable {
      */
     private volatile VaadinSession session;
 
+    /*
+     * The UI lock and its access queue are only used when UI locking is
+     * enabled. Like the session lock, they are not serialized.
+     */
+    private transient volatile ReentrantLock lock;
+
+    private transient volatile Queue<FutureAccess> pendingAccessQueue;
+
+    /*
+     * Whether UI locking is enabled, resolved when the session is set since
+     * it is checked for every state tree change.
+     */
+    private volatile boolean uiLocking;
+
     private final DependencyList dependencyList = new DependencyList();
 
     private final ConstantPool constantPool = new ConstantPool();
@@ -403,6 +436,7 @@ public class UIInternals implements Serializable {
                 ui.getPushConfiguration().setPushMode(PushMode.DISABLED);
                 setPushConnection(null);
             }
+            uiLocking = isUILockingEnabled(session);
             this.session = session;
         }
 
@@ -496,7 +530,7 @@ public class UIInternals implements Serializable {
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
-        session.checkHasLock();
+        checkHasLock();
         List<E> list = (List<E>) listeners.computeIfAbsent(handler,
                 key -> new ArrayList<>());
         list.add(listener);
@@ -549,7 +583,7 @@ public class UIInternals implements Serializable {
      */
     public void addJavaScriptInvocation(
             PendingJavaScriptInvocation invocation) {
-        session.checkHasLock();
+        checkHasLock();
         pendingJsInvocations.add(invocation);
     }
 
@@ -788,6 +822,286 @@ public class UIInternals implements Serializable {
         return session;
     }
 
+    /**
+     * Checks whether the related UI is protected by its own lock instead of
+     * the session lock.
+     * <p>
+     * UI locking is enabled using the
+     * {@link com.vaadin.flow.server.InitParameters#SERVLET_PARAMETER_UI_LOCKING}
+     * deployment configuration parameter.
+     *
+     * @return <code>true</code> if UI locking is enabled for the UI,
+     *         <code>false</code> if the UI is protected by the session lock or
+     *         is not attached to a session
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     */
+    public boolean isUILockingEnabled() {
+        return uiLocking;
+    }
+
+    private static boolean isUILockingEnabled(VaadinSession session) {
+        if (session == null || session.getService() == null) {
+            return false;
+        }
+        DeploymentConfiguration configuration = session.getService()
+                .getDeploymentConfiguration();
+        return configuration != null && configuration.isUILockingEnabled();
+    }
+
+    /**
+     * Gets the lock that protects the state of the related UI when UI locking
+     * is enabled.
+     * <p>
+     * The lock is always acquired after the session lock if both are needed.
+     * A thread holding the session lock releases it while waiting for this
+     * lock, see {@link #lock()}.
+     *
+     * @return the lock of the UI, not <code>null</code>
+     * @see #isUILockingEnabled()
+     */
+    public ReentrantLock getLockInstance() {
+        ReentrantLock uiLock = lock;
+        if (uiLock == null) {
+            synchronized (this) {
+                if (lock == null) {
+                    lock = new ReentrantLock();
+                }
+                uiLock = lock;
+            }
+        }
+        return uiLock;
+    }
+
+    /**
+     * Checks whether the current thread holds the lock of the related UI.
+     * <p>
+     * Note that this does not take the session lock into account.
+     *
+     * @return <code>true</code> if the current thread holds the UI lock,
+     *         otherwise <code>false</code>
+     */
+    public boolean hasLock() {
+        ReentrantLock uiLock = lock;
+        return uiLock != null && uiLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Potentially checks whether the current thread holds the lock that
+     * protects the related UI, and fails if not. When UI locking is enabled,
+     * this is the UI lock and the session lock is not enough. Otherwise the
+     * check is delegated to {@link VaadinSession#checkHasLock()}.
+     * <p>
+     * As for the session lock, the check is only done if assertions are
+     * enabled when production mode is enabled. Nothing is checked if the UI
+     * is not attached to a session.
+     */
+    public void checkHasLock() {
+        VaadinSession uiSession = session;
+        if (uiSession == null) {
+            return;
+        }
+        if (!uiLocking) {
+            uiSession.checkHasLock();
+            return;
+        }
+        if (uiSession.getService().getDeploymentConfiguration()
+                .isProductionMode()) {
+            assert hasLock() : UI_NOT_LOCKED_MESSAGE;
+        } else if (!hasLock()) {
+            throw new IllegalStateException(UI_NOT_LOCKED_MESSAGE);
+        }
+    }
+
+    /**
+     * Locks the related UI. This method should only be called by the framework
+     * when UI locking is enabled. Application code should use
+     * {@link UI#access(com.vaadin.flow.server.Command)} instead.
+     * <p>
+     * If the current thread holds the session lock, the session lock is
+     * released while waiting for the UI lock, since the thread holding the UI
+     * lock may need the session lock to update the session. The session lock
+     * is held again when this method returns.
+     *
+     * @see #unlock()
+     */
+    public void lock() {
+        ReentrantLock uiLock = getLockInstance();
+        Lock sessionLock = session == null ? null
+                : session.getLockInstance();
+        if (!(sessionLock instanceof ReentrantLock)
+                || !((ReentrantLock) sessionLock).isHeldByCurrentThread()) {
+            uiLock.lock();
+            return;
+        }
+
+        Condition released = sessionLock.newCondition();
+        boolean interrupted = false;
+        while (!uiLock.tryLock()) {
+            try {
+                released.await(LOCK_RETRY_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Unlocks the related UI. If the lock is released for the last time by
+     * the current thread, pending access tasks are run and pending changes are
+     * pushed to the client if the UI uses automatic push.
+     *
+     * @see #lock()
+     */
+    public void unlock() {
+        ReentrantLock uiLock = getLockInstance();
+        boolean ultimateRelease = false;
+        try {
+            if (uiLock.getHoldCount() == 1) {
+                ultimateRelease = true;
+                if (getAccessExecutor() == null) {
+                    runPendingAccessTasks();
+                }
+                pushAutomatically();
+            }
+        } finally {
+            uiLock.unlock();
+        }
+
+        /*
+         * A task might have been enqueued after the queue was purged but
+         * before the lock was released, see VaadinSession.unlock().
+         */
+        if (ultimateRelease && !getPendingAccessQueue().isEmpty()) {
+            ensureAccessQueuePurged();
+        }
+    }
+
+    /**
+     * Pushes the pending changes of the related UI if it uses
+     * {@link PushMode#AUTOMATIC automatic} push. When push coalescing is
+     * enabled, the push is scheduled instead of done right away.
+     * <p>
+     * This method should only be called by the framework when releasing the
+     * lock that protects the UI.
+     *
+     * @see VaadinService#getPushCoalescer()
+     */
+    public void pushAutomatically() {
+        VaadinSession uiSession = session;
+        if (uiSession == null || ui.getPushConfiguration()
+                .getPushMode() != PushMode.AUTOMATIC) {
+            return;
+        }
+        VaadinService service = uiSession.getService();
+        PushCoalescer pushCoalescer = service == null ? null
+                : service.getPushCoalescer();
+        if (pushCoalescer != null) {
+            if (isDirty()) {
+                pushCoalescer.schedulePush(ui);
+            }
+            return;
+        }
+        Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                .setCurrent(ui);
+        try {
+            ui.push();
+        } finally {
+            CurrentInstance.restoreInstances(oldCurrent);
+        }
+    }
+
+    /**
+     * Gets the queue of tasks enqueued with
+     * {@link UI#access(com.vaadin.flow.server.Command)} that are run with the
+     * UI lock held when UI locking is enabled.
+     *
+     * @return the pending access queue of the UI
+     */
+    public Queue<FutureAccess> getPendingAccessQueue() {
+        Queue<FutureAccess> queue = pendingAccessQueue;
+        if (queue == null) {
+            synchronized (this) {
+                if (pendingAccessQueue == null) {
+                    pendingAccessQueue = new ConcurrentLinkedQueue<>();
+                }
+                queue = pendingAccessQueue;
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Makes sure the pending access queue of the UI is purged. If the UI lock
+     * is currently held by any thread, the queue will be purged when the lock
+     * is released. Otherwise the lock is acquired and the queue is purged
+     * right away. If an access executor is used, purging the queue is
+     * scheduled on it instead.
+     *
+     * @see VaadinService#getAccessExecutor()
+     */
+    public void ensureAccessQueuePurged() {
+        AccessExecutor accessExecutor = getAccessExecutor();
+        if (accessExecutor != null) {
+            accessExecutor.schedule(ui);
+            return;
+        }
+        try {
+            // tryLock() would be shorter, but it does not guarantee fairness
+            if (getLockInstance().tryLock(0, TimeUnit.SECONDS)) {
+                // unlock triggers runPendingAccessTasks
+                unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private AccessExecutor getAccessExecutor() {
+        VaadinSession uiSession = session;
+        VaadinService service = uiSession == null ? null
+                : uiSession.getService();
+        return service == null ? null : service.getAccessExecutor();
+    }
+
+    /**
+     * Runs the tasks in the pending access queue of the UI. The UI lock must
+     * be held by the current thread.
+     *
+     * @see #getPendingAccessQueue()
+     */
+    public void runPendingAccessTasks() {
+        assert hasLock() : "Cannot run pending access tasks of a UI without "
+                + "holding the UI lock";
+        Queue<FutureAccess> queue = pendingAccessQueue;
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+
+        // Dump all current instances, not only the ones dumped by setCurrent
+        Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
+                .getInstances();
+        try {
+            FutureAccess pendingAccess;
+            while ((pendingAccess = queue.poll()) != null) {
+                if (!pendingAccess.isCancelled()) {
+                    pendingAccess.run();
+
+                    try {
+                        pendingAccess.get();
+                    } catch (Exception exception) {
+                        pendingAccess.handleError(exception);
+                    }
+                }
+            }
+        } finally {
+            CurrentInstance.clearAll();
+            CurrentInstance.restoreInstances(oldInstances);
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(UIInternals.class.getName());
     }
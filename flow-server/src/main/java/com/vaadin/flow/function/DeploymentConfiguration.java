@@ -200,6 +200,38 @@ public interface DeploymentConfiguration extends Serializable {
                 Function.identity());
     }
 
+    /**
+     * A shorthand of
+     * {@link DeploymentConfiguration#getApplicationOrSystemProperty(String, Object, Function)}
+     * for integer values.
+     *
+     * @param propertyName
+     *            The simple of the property, in some contexts, lookup might be
+     *            performed using variations of the provided name.
+     * @param defaultValue
+     *            the default value that should be used if no value has been
+     *            defined
+     * @return the property value, or the passed default value if no property
+     *         value is found
+     *
+     * @throws IllegalArgumentException
+     *             if property value string is not an integer value
+     */
+    default int getIntegerProperty(String propertyName, int defaultValue)
+            throws IllegalArgumentException {
+        String integerString = getStringProperty(propertyName, null);
+        if (integerString == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(integerString.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Property named '%s' is an integer, but contains incorrect value '%s'",
+                    propertyName, integerString), e);
+        }
+    }
+
     /**
      * A shorthand of
      * {@link DeploymentConfiguration#getApplicationOrSystemProperty(String, Object, Function)}
@@ -286,6 +318,111 @@ public interface DeploymentConfiguration extends Serializable {
         return getBooleanProperty(InitParameters.SERVLET_PARAMETER_BROTLI, false);
     }
 
+    /**
+     * Checks whether UIDL responses and push messages should be written
+     * directly as JSON text instead of being built as a JSON object tree first.
+     * The produced output is the same in both cases.
+     *
+     * @return <code>true</code> to stream UIDL responses, <code>false</code>
+     *         to build them as JSON objects
+     */
+    default boolean isUidlStreamingEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_STREAMING_UIDL, false);
+    }
+
+    /**
+     * Checks whether state changes should be sent to the client as compact
+     * JSON arrays without keys instead of JSON objects. The client supports
+     * both formats.
+     *
+     * @return <code>true</code> to send compact state changes,
+     *         <code>false</code> to send state changes as JSON objects
+     */
+    default boolean isCompactChangesEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_COMPACT_CHANGES, false);
+    }
+
+    /**
+     * Checks whether each UI should be protected by its own lock instead of the
+     * session lock. With UI locking, requests and
+     * {@link com.vaadin.flow.component.UI#access(com.vaadin.flow.server.Command)
+     * access} tasks for different UIs in the same session are processed in
+     * parallel. Session wide operations still lock the session.
+     *
+     * @return <code>true</code> to lock UIs separately, <code>false</code> to
+     *         lock the session for all UI access
+     */
+    default boolean isUILockingEnabled() {
+        return getBooleanProperty(InitParameters.SERVLET_PARAMETER_UI_LOCKING,
+                false);
+    }
+
+    /**
+     * Returns the minimum time between two automatic pushes of a UI. When the
+     * interval is positive, a UI with automatic push mode is pushed once the
+     * interval has passed instead of every time it is unlocked, and all
+     * changes made in between are sent in the same message.
+     *
+     * @return the push coalescing interval in milliseconds, or 0 to push
+     *         automatically every time the UI is unlocked
+     * @throws IllegalArgumentException
+     *             if the property value is not an integer
+     */
+    default int getPushCoalescingInterval() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_PUSH_COALESCING_INTERVAL, 0);
+    }
+
+    /**
+     * Checks whether tasks enqueued with
+     * {@link com.vaadin.flow.component.UI#access(com.vaadin.flow.server.Command)
+     * access} should be run on a dedicated executor. The executor uses virtual
+     * threads when the JVM supports them. Pending changes of UIs with
+     * automatic push are then pushed by the executor rather than by the
+     * request thread that happens to release the lock.
+     *
+     * @return <code>true</code> to run access tasks on a dedicated executor,
+     *         <code>false</code> to run them when the lock is released
+     * @see com.vaadin.flow.server.VaadinService#getAccessExecutor()
+     */
+    default boolean isAccessExecutorEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_EXECUTOR, false);
+    }
+
+    /**
+     * Returns the maximum total size in bytes of static resources kept in
+     * memory by the static file server. Resources are only cached in
+     * production mode.
+     *
+     * @return the maximum size of the static resource cache in bytes, or 0 if
+     *         static resources are not cached
+     * @throws IllegalArgumentException
+     *             if the property value is not an integer
+     */
+    default int getStaticResourceCacheMaxSize() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_MAX_SIZE,
+                0);
+    }
+
+    /**
+     * Returns the maximum number of static resources kept in memory by the
+     * static file server.
+     *
+     * @return the maximum number of cached static resources
+     * @throws IllegalArgumentException
+     *             if the property value is not an integer
+     * @see #getStaticResourceCacheMaxSize()
+     */
+    default int getStaticResourceCacheMaxEntries() {
+        return getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_MAX_ENTRIES,
+                1000);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(InitParameters.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
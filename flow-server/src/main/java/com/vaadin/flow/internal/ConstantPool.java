@@ -25,13 +25,16 @@ import elemental.json.JsonObject;
 /**
  * Keeps track of {@link ConstantPoolKey} values that have already been sent to
  * the client.
+ * <p>
+ * Only the 64 bit hashes of the known values are stored, in an open addressing
+ * hash set, since there is a constant pool for each UI.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class ConstantPool implements Serializable {
 
-    private Set<String> knownValues = new HashSet<>();
+    private final KnownHashes knownValues = new KnownHashes();
 
     private Set<ConstantPoolKey> newKeys = new HashSet<>();
 
@@ -48,13 +51,11 @@ public class ConstantPool implements Serializable {
     public String getConstantId(ConstantPoolKey constant) {
         assert constant != null;
 
-        String id = constant.getId();
-
-        if (knownValues.add(id)) {
+        if (knownValues.add(constant.getHash())) {
             newKeys.add(constant);
         }
 
-        return id;
+        return constant.getId();
     }
 
     /**
@@ -83,4 +84,54 @@ public class ConstantPool implements Serializable {
         return json;
     }
 
+    /**
+     * A set of hashes using linear probing. Zero is used as the marker for
+     * empty slots and tracked separately.
+     */
+    private static class KnownHashes implements Serializable {
+        private long[] table = new long[16];
+        private int size;
+        private boolean containsZero;
+
+        private boolean add(long hash) {
+            if (hash == 0) {
+                boolean added = !containsZero;
+                containsZero = true;
+                return added;
+            }
+            if (insert(table, hash)) {
+                size++;
+                if (size * 4 > table.length * 3) {
+                    rehash();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean insert(long[] table, long hash) {
+            int mask = table.length - 1;
+            // The hashes come from SHA-256 so the low bits are well spread
+            int slot = (int) hash & mask;
+            while (table[slot] != 0) {
+                if (table[slot] == hash) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = hash;
+            return true;
+        }
+
+        private void rehash() {
+            long[] newTable = new long[table.length * 2];
+            for (long hash : table) {
+                if (hash != 0) {
+                    insert(newTable, hash);
+                }
+            }
+            table = newTable;
+        }
+    }
+
 }
@@ -19,6 +19,8 @@ import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
@@ -31,13 +33,27 @@ import elemental.json.JsonValue;
  * This is a way of deduplicating JSON values that are expected to be sent to
  * the same client multiple times, since all references to the same JSON
  * structure will be encoded as the same id.
+ * <p>
+ * Keys are interned in a JVM-wide registry so that the id of a JSON value
+ * which is used by many UIs, e.g. the settings of a common DOM event
+ * listener, is only calculated once and all UIs can share the same instance.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class ConstantPoolKey implements Serializable {
+    /**
+     * Keys are not interned after this many distinct values to keep the
+     * registry from growing without bounds if constants are generated
+     * dynamically.
+     */
+    private static final int MAX_INTERNED_KEYS = 10000;
+
+    private static final Map<String, ConstantPoolKey> interned = new ConcurrentHashMap<>();
+
     private final JsonValue json;
     private final String id;
+    private final long hash;
 
     /**
      * Creates a new constant pool key for the given JSON value. The value
@@ -46,12 +62,51 @@ public class ConstantPoolKey implements Serializable {
      *
      * @param json
      *            the JSON constant, not <code>null</code>
+     * @see #intern(JsonValue)
      */
     public ConstantPoolKey(JsonValue json) {
+        this(json, json.toJson());
+    }
+
+    private ConstantPoolKey(JsonValue json, String jsonString) {
         assert json != null;
         this.json = json;
 
-        id = calculateHash(json);
+        ConstantPoolKey existing = interned.get(jsonString);
+        if (existing != null) {
+            id = existing.id;
+            hash = existing.hash;
+        } else {
+            hash = calculateHash(jsonString);
+            id = encodeId(hash);
+        }
+    }
+
+    /**
+     * Gets a shared constant pool key for the given JSON value. The same
+     * instance is returned for all equal JSON values as long as the registry
+     * of interned keys is not full. The value must not be modified after it
+     * has been passed to this method.
+     *
+     * @param json
+     *            the JSON constant, not <code>null</code>
+     * @return a constant pool key for the JSON value, not <code>null</code>
+     */
+    public static ConstantPoolKey intern(JsonValue json) {
+        assert json != null;
+        String jsonString = json.toJson();
+        ConstantPoolKey key = interned.get(jsonString);
+        if (key != null) {
+            return key;
+        }
+        key = new ConstantPoolKey(json, jsonString);
+        if (interned.size() < MAX_INTERNED_KEYS) {
+            ConstantPoolKey existing = interned.putIfAbsent(jsonString, key);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return key;
     }
 
     /**
@@ -63,6 +118,16 @@ public class ConstantPoolKey implements Serializable {
         return id;
     }
 
+    /**
+     * Gets the 64 bit hash that the id of this key is encoded from. Keys with
+     * the same hash have the same id.
+     *
+     * @return the hash of the JSON value
+     */
+    long getHash() {
+        return hash;
+    }
+
     /**
      * Exports the this key into a JSON object to send to the client. This
      * method should be called only by the {@link ConstantPool} instance that
@@ -73,29 +138,41 @@ public class ConstantPoolKey implements Serializable {
      *            <code>null</code>
      */
     public void export(JsonObject clientConstantPoolUpdate) {
-        assert id.equals(calculateHash(json)) : "Json value has been changed";
+        assert hash == calculateHash(json.toJson())
+                : "Json value has been changed";
 
         clientConstantPoolUpdate.put(id, json);
     }
 
     /**
-     * Calculates the key of a JSON value by Base 64 encoding the first 64 bits
-     * of the SHA-256 digest of the JSON's string representation.
+     * Calculates the hash of a JSON value as the first 64 bits of the SHA-256
+     * digest of the JSON's string representation.
      *
      * @param json
-     *            the JSON to get a hash of, not <code>null</code>
-     * @return the key uniquely identifying the given JSON value
+     *            the JSON string to get a hash of, not <code>null</code>
+     * @return the hash of the given JSON value
      */
-    private static String calculateHash(JsonValue json) {
-        byte[] digest = MessageDigestUtil.sha256(json.toJson());
+    private static long calculateHash(String json) {
+        byte[] digest = MessageDigestUtil.sha256(json);
 
         /*
          * Only use first 64 bits to keep id string short (1 in 100 000 000
-         * collision risk with 500 000 items). 64 bits base64 -> 11 ASCII chars
+         * collision risk with 500 000 items).
          */
-        ByteBuffer truncatedDigest = ByteBuffer.wrap(digest, 0, 8);
+        return ByteBuffer.wrap(digest, 0, 8).getLong();
+    }
 
-        ByteBuffer base64Bytes = Base64.getEncoder().encode(truncatedDigest);
+    /**
+     * Calculates the key of a JSON value by Base 64 encoding its hash.
+     *
+     * @param hash
+     *            the hash of the JSON value
+     * @return the key uniquely identifying the given JSON value
+     */
+    private static String encodeId(long hash) {
+        // 64 bits base64 -> 11 ASCII chars
+        ByteBuffer base64Bytes = Base64.getEncoder()
+                .encode(ByteBuffer.allocate(8).putLong(0, hash));
 
         return StandardCharsets.US_ASCII.decode(base64Bytes).toString();
     }
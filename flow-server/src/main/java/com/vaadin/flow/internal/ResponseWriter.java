@@ -23,12 +23,18 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -39,11 +45,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.StaticResourceCache.CachedResource;
 
 import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
 
 /**
  * The class that handles writing the response data into the response.
+ * <p>
+ * Resources which are regular files on disk are read through a
+ * {@link FileChannel} so that byte ranges are served without reopening the
+ * file. If the output stream of the servlet container is a
+ * {@link WritableByteChannel}, the file contents are transferred to it with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)} without
+ * intermediate heap copies.
  *
  * @author Vaadin Ltd
  * @since 1.0.
@@ -141,10 +155,19 @@ public class ResponseWriter implements Serializable {
 
         try {
             String range = request.getHeader("Range");
+            File file = getFile(url);
             if (range != null) {
                 closeStream(dataStream);
                 dataStream = null;
                 writeRangeContents(range, response, url);
+            } else if (file != null) {
+                closeStream(dataStream);
+                dataStream = null;
+                try (FileChannel channel = openChannel(file)) {
+                    setContentLength(response, channel.size());
+                    writeChannel(response.getOutputStream(), channel, 0L,
+                            channel.size());
+                }
             } else {
                 final long contentLength = connection.getContentLengthLong();
                 if (0 <= contentLength) {
@@ -162,6 +185,86 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    /**
+     * Writes the contents and content type (if available) of the given cached
+     * resource to the response. A precompressed variant is written if one is
+     * available and accepted by the browser. Range requests are served from
+     * the resource URL.
+     *
+     * @param filenameWithPath
+     *            the name of the file being sent
+     * @param resource
+     *            the cached resource, not <code>null</code>
+     * @param request
+     *            the request object to read from
+     * @param response
+     *            the response object to write to
+     * @throws IOException
+     *             if the servlet container threw an exception while locating
+     *             the resource
+     */
+    public void writeResponseContents(String filenameWithPath,
+            CachedResource resource, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (request.getHeader("Range") != null) {
+            response.setHeader("ETag", resource.getETag());
+            writeResponseContents(filenameWithPath, resource.getUrl(), request,
+                    response);
+            return;
+        }
+        writeContentType(filenameWithPath, request, response);
+
+        String contentEncoding = getContentEncoding(resource, request);
+        byte[] contents;
+        if ("br".equals(contentEncoding)) {
+            contents = resource.getBrotliContents();
+        } else if ("gzip".equals(contentEncoding)) {
+            contents = resource.getGzipContents();
+        } else {
+            contents = resource.getContents();
+        }
+        if (contentEncoding != null) {
+            response.setHeader("Content-Encoding", contentEncoding);
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        response.setHeader("ETag", resource.getETag(contentEncoding));
+        setContentLength(response, contents.length);
+
+        try {
+            response.getOutputStream().write(contents);
+        } catch (IOException e) {
+            getLogger().debug("Error writing static file to user", e);
+        }
+    }
+
+    /**
+     * Gets the content encoding of the representation of a cached resource
+     * that is written for the given request.
+     *
+     * @param resource
+     *            the cached resource, not <code>null</code>
+     * @param request
+     *            the request to get the accepted encodings from
+     * @return <code>br</code> or <code>gzip</code> if a precompressed variant
+     *         is written, or <code>null</code> if the uncompressed resource is
+     *         written
+     */
+    public String getContentEncoding(CachedResource resource,
+            HttpServletRequest request) {
+        if (request.getHeader("Range") != null) {
+            return null;
+        }
+        if (brotliEnabled && resource.getBrotliContents() != null
+                && acceptsBrotliResource(request)) {
+            return "br";
+        }
+        if (resource.getGzipContents() != null
+                && acceptsGzippedResource(request)) {
+            return "gzip";
+        }
+        return null;
+    }
+
     private void closeStream(Closeable stream) {
         try {
             stream.close();
@@ -183,17 +286,50 @@ public class ResponseWriter implements Serializable {
             URL resourceURL) throws IOException {
         response.setHeader("Accept-Ranges", "bytes");
 
+        File file = getFile(resourceURL);
+        if (file != null) {
+            try (FileChannel channel = openChannel(file)) {
+                List<Pair<Long, Long>> ranges = parseRanges(range,
+                        channel.size(), response);
+                if (ranges != null) {
+                    writeRanges(ranges, channel.size(), response,
+                            (outputStream, start, end) -> writeChannel(
+                                    outputStream, channel, start,
+                                    end - start + 1));
+                }
+            }
+            return;
+        }
+
         URLConnection connection = resourceURL.openConnection();
+        long resourceLength = connection.getContentLengthLong();
+        List<Pair<Long, Long>> ranges = parseRanges(range, resourceLength,
+                response);
+        if (ranges != null) {
+            try (UrlRangeWriter writer = new UrlRangeWriter(connection,
+                    resourceURL)) {
+                writeRanges(ranges, resourceLength, response, writer);
+            }
+        }
+    }
 
+    /**
+     * Parses the byte ranges of a "Range:" header. Sets the response status to
+     * 206 if the ranges are satisfiable, otherwise to 416.
+     *
+     * @return the requested ranges, or <code>null</code> if the ranges cannot
+     *         be satisfied
+     */
+    private List<Pair<Long, Long>> parseRanges(String range,
+            long resourceLength, HttpServletResponse response) {
         Matcher headerMatcher = RANGE_HEADER_PATTERN.matcher(range);
         if (!headerMatcher.matches()) {
             response.setContentLengthLong(0L);
             response.setStatus(416); // Range Not Satisfiable
-            return;
+            return null;
         }
         String byteRanges = headerMatcher.group(1);
 
-        long resourceLength = connection.getContentLengthLong();
         Matcher rangeMatcher = BYTE_RANGE_PATTERN.matcher(byteRanges);
 
         List<Pair<Long, Long>> ranges = new ArrayList<>();
@@ -203,7 +339,7 @@ public class ResponseWriter implements Serializable {
             if (startGroup.isEmpty() && endGroup.isEmpty()) {
                 response.setContentLengthLong(0L);
                 response.setStatus(416); // Range Not Satisfiable
-                return;
+                return null;
             }
             long start = startGroup.isEmpty() ? 0L : Long.parseLong(startGroup);
             long end = endGroup.isEmpty() ? Long.MAX_VALUE
@@ -213,13 +349,18 @@ public class ResponseWriter implements Serializable {
                 // illegal range -> 416
                 response.setContentLengthLong(0L);
                 response.setStatus(416);
-                return;
+                return null;
             }
             ranges.add(new Pair<>(start, end));
         }
 
         response.setStatus(206);
+        return ranges;
+    }
 
+    private void writeRanges(List<Pair<Long, Long>> ranges,
+            long resourceLength, HttpServletResponse response,
+            RangeWriter writer) throws IOException {
         if (ranges.size() == 1) {
             ServletOutputStream outputStream = response.getOutputStream();
 
@@ -233,17 +374,10 @@ public class ResponseWriter implements Serializable {
             response.setHeader("Content-Range",
                     createContentRangeHeader(start, end, resourceLength));
 
-            final InputStream dataStream = connection.getInputStream();
-            try {
-                long skipped = dataStream.skip(start);
-                assert(skipped == start);
-                writeStream(outputStream, dataStream, end - start + 1);
-            } finally {
-                closeStream(dataStream);
-            }
+            writer.write(outputStream, start, end);
         } else {
-            writeMultipartRangeContents(ranges, connection, response,
-                    resourceURL);
+            writeMultipartRangeContents(ranges, resourceLength, response,
+                    writer);
         }
     }
 
@@ -253,53 +387,82 @@ public class ResponseWriter implements Serializable {
      * avoid computing "Content-Length".
      */
     private void writeMultipartRangeContents(List<Pair<Long, Long>> ranges,
-            URLConnection connection, HttpServletResponse response,
-            URL resourceURL) throws IOException {
+            long resourceLength, HttpServletResponse response,
+            RangeWriter writer) throws IOException {
         String partBoundary = UUID.randomUUID().toString();
         response.setContentType(String
                 .format("multipart/byteranges; boundary=%s", partBoundary));
         response.setHeader("Transfer-Encoding", "chunked");
 
-        long position = 0L;
         String mimeType = response.getContentType();
-        InputStream dataStream = connection.getInputStream();
         ServletOutputStream outputStream = response.getOutputStream();
-        try {
-            for (Pair<Long, Long> rangePair : ranges) {
+        for (Pair<Long, Long> rangePair : ranges) {
+            outputStream.write(
+                    String.format("\r\n--%s\r\n", partBoundary).getBytes());
+            long start = rangePair.getFirst();
+            long end = rangePair.getSecond();
+            if (mimeType != null) {
                 outputStream.write(
-                        String.format("\r\n--%s\r\n", partBoundary).getBytes());
-                long start = rangePair.getFirst();
-                long end = rangePair.getSecond();
-                if (mimeType != null) {
-                    outputStream.write(
-                            String.format("Content-Type: %s\r\n", mimeType)
-                                    .getBytes());
-                }
-                outputStream.write(String
-                        .format("Content-Range: %s\r\n\r\n",
-                                createContentRangeHeader(start, end,
-                                        connection.getContentLengthLong()))
-                        .getBytes());
-
-                if (position > start) {
-                    // out-of-sequence range -> open new stream to the file
-                    // alternative: use single stream with mark / reset
-                    closeStream(connection.getInputStream());
-                    connection = resourceURL.openConnection();
-                    dataStream = connection.getInputStream();
-                    position = 0L;
-                }
-                long skipped = dataStream.skip(start - position);
-                assert(skipped == start - position);
-                writeStream(outputStream, dataStream, end - start + 1);
-                position = end + 1;
+                        String.format("Content-Type: %s\r\n", mimeType)
+                                .getBytes());
             }
-        } finally {
-            closeStream(dataStream);
+            outputStream.write(String
+                    .format("Content-Range: %s\r\n\r\n",
+                            createContentRangeHeader(start, end,
+                                    resourceLength))
+                    .getBytes());
+
+            writer.write(outputStream, start, end);
         }
         outputStream.write(String.format("\r\n--%s", partBoundary).getBytes());
     }
-    
+
+    /**
+     * Writes the bytes between start and end, inclusive, of a resource.
+     */
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(ServletOutputStream outputStream, long start, long end)
+                throws IOException;
+    }
+
+    /**
+     * Writes ranges of a resource that can only be read as a stream. Ranges
+     * are read from a single stream as long as they are in sequence.
+     */
+    private class UrlRangeWriter implements RangeWriter, Closeable {
+        private final URL resourceURL;
+        private InputStream dataStream;
+        private long position;
+
+        private UrlRangeWriter(URLConnection connection, URL resourceURL)
+                throws IOException {
+            this.resourceURL = resourceURL;
+            dataStream = connection.getInputStream();
+        }
+
+        @Override
+        public void write(ServletOutputStream outputStream, long start,
+                long end) throws IOException {
+            if (position > start) {
+                // out-of-sequence range -> open new stream to the file
+                // alternative: use single stream with mark / reset
+                closeStream(dataStream);
+                dataStream = resourceURL.openConnection().getInputStream();
+                position = 0L;
+            }
+            long skipped = dataStream.skip(start - position);
+            assert (skipped == start - position);
+            writeStream(outputStream, dataStream, end - start + 1);
+            position = end + 1;
+        }
+
+        @Override
+        public void close() {
+            closeStream(dataStream);
+        }
+    }
+
     private String createContentRangeHeader(long start, long end, long size) {
         String lengthString = size >= 0 ? Long.toString(size) : "*";
         return String.format("bytes %d-%d/%s", start, end, lengthString);
@@ -362,6 +525,51 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    /**
+     * Writes count bytes of the channel starting from the given position, or
+     * until the end of the file, to the output stream.
+     */
+    private void writeChannel(ServletOutputStream outputStream,
+            FileChannel channel, long position, long count)
+            throws IOException {
+        long end = position + Long.min(count, channel.size() - position);
+        if (outputStream instanceof WritableByteChannel) {
+            // No mappings are created, so the file is not kept locked or
+            // mapped after the response has been written
+            WritableByteChannel target = (WritableByteChannel) outputStream;
+            while (position < end) {
+                position += channel.transferTo(position, end - position,
+                        target);
+            }
+        } else if (position < end) {
+            channel.position(position);
+            writeStream(outputStream, Channels.newInputStream(channel),
+                    end - position);
+        }
+    }
+
+    private static FileChannel openChannel(File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Gets the file a resource URL refers to.
+     *
+     * @return the file, or <code>null</code> if the URL does not refer to a
+     *         regular file on disk
+     */
+    private static File getFile(URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns whether it is ok to serve a gzipped version of the given
      * resource.
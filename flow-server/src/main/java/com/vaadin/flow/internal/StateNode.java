@@ -169,6 +169,14 @@ public class StateNode implements Serializable {
     private ArrayList<StateTree.BeforeClientResponseEntry> beforeClientResponseEntries;
     private boolean enabled = true;
 
+    /*
+     * Bookkeeping for the owner state tree: the epoch in which the node was
+     * last marked dirty and the epoch in which it was last collected. A node
+     * never has a state tree epoch of 0.
+     */
+    long dirtyEpoch;
+    long collectEpoch;
+
     /**
      * Creates a state node with the given feature types.
      *
@@ -723,6 +731,9 @@ public class StateNode implements Serializable {
                 id = -1;
             }
         }
+        // Epochs of the previous tree are meaningless in the new tree
+        dirtyEpoch = 0;
+        collectEpoch = 0;
         owner = tree;
     }
 
@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,7 +34,6 @@ import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.internal.change.NodeChange;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
-import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.UidlWriter;
 import com.vaadin.flow.shared.Registration;
 
@@ -131,7 +131,16 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    /*
+     * Dirty nodes in the order they were marked. A node is in the list if its
+     * dirty epoch is the same as the current dirty epoch of the tree, which
+     * allows checking for duplicates without hashing.
+     */
+    private ArrayList<StateNode> dirtyNodes = new ArrayList<>();
+
+    private long epoch = 1;
+
+    private long dirtyEpoch = epoch;
 
     private final Map<Integer, StateNode> idToNode = new HashMap<>();
 
@@ -257,15 +266,24 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
+        List<StateNode> allDirtyNodes = new ArrayList<>();
+        long collectEpoch = nextEpoch();
         boolean evaluateNewDirtyNodes = true;
 
         // The updateActiveState method can create new dirty nodes, so they need
         // to be collected as well
         while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+            List<StateNode> dirtyNodesList = doCollectDirtyNodes();
+            dirtyNodesList.forEach(StateNode::updateActiveState);
+
+            evaluateNewDirtyNodes = false;
+            for (StateNode node : dirtyNodesList) {
+                if (node.collectEpoch != collectEpoch) {
+                    node.collectEpoch = collectEpoch;
+                    allDirtyNodes.add(node);
+                    evaluateNewDirtyNodes = true;
+                }
+            }
         }
 
         // TODO fire preCollect events
@@ -278,7 +296,10 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (node.dirtyEpoch != dirtyEpoch) {
+            node.dirtyEpoch = dirtyEpoch;
+            dirtyNodes.add(node);
+        }
     }
 
     /**
@@ -287,7 +308,7 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(dirtyNodes));
     }
 
     /**
@@ -403,28 +424,25 @@ public class StateTree implements NodeOwner {
     }
 
     private void checkHasLock() {
-        VaadinSession session = uiInternals.getSession();
-        if (session != null) {
-            session.checkHasLock();
-        }
+        // Only the UI lock is accepted when UI locking is enabled
+        uiInternals.checkHasLock();
     }
 
     /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
+     * Gets all the nodes that have been marked as dirty and resets the dirty
+     * nodes collection.
      *
-     * @return a set of dirty nodes, in the order they were marked dirty
+     * @return a list of dirty nodes, in the order they were marked dirty
      */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
-        }
+    private List<StateNode> doCollectDirtyNodes() {
+        List<StateNode> collectedNodes = dirtyNodes;
+        dirtyNodes = new ArrayList<>();
+        dirtyEpoch = nextEpoch();
+        return collectedNodes;
+    }
 
+    private long nextEpoch() {
+        return ++epoch;
     }
 
     /**
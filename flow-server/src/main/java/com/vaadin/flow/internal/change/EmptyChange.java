@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -53,4 +54,12 @@ public class EmptyChange extends NodeFeatureChange {
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        json.set(json.length(), JsonConstants.COMPACT_CHANGE_TYPE_NOOP);
+        super.populateCompactJson(json, constantPool);
+        json.set(json.length(), NodeList.class.isAssignableFrom(getFeature()));
+    }
+
 }
@@ -111,20 +111,38 @@ public class ListAddChange<T extends Serializable>
 
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
 
+        if (nodeValues) {
+            json.put(JsonConstants.CHANGE_SPLICE_ADD_NODES,
+                    encodeNewItems(constantPool));
+        } else {
+            json.put(JsonConstants.CHANGE_SPLICE_ADD,
+                    encodeNewItems(constantPool));
+        }
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        json.set(json.length(),
+                nodeValues ? JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD_NODES
+                        : JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_ADD);
+
+        super.populateCompactJson(json, constantPool);
+
+        json.set(json.length(), getIndex());
+        json.set(json.length(), encodeNewItems(constantPool));
+    }
+
+    private JsonArray encodeNewItems(ConstantPool constantPool) {
         Function<Object, JsonValue> mapper;
-        String addKey;
         if (nodeValues) {
-            addKey = JsonConstants.CHANGE_SPLICE_ADD_NODES;
             mapper = item -> Json.create(((StateNode) item).getId());
         } else {
-            addKey = JsonConstants.CHANGE_SPLICE_ADD;
             mapper = item -> JsonCodec.encodeWithConstantPool(item,
                     constantPool);
         }
 
-        JsonArray newItemsJson = newItems.stream().map(mapper)
-                .collect(JsonUtils.asArray());
-        json.put(addKey, newItemsJson);
+        return newItems.stream().map(mapper).collect(JsonUtils.asArray());
     }
 
 }
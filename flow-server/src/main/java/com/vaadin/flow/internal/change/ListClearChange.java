@@ -21,6 +21,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -57,4 +58,11 @@ public class ListClearChange<T extends Serializable>
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        json.set(json.length(), JsonConstants.COMPACT_CHANGE_TYPE_CLEAR);
+        super.populateCompactJson(json, constantPool);
+    }
+
 }
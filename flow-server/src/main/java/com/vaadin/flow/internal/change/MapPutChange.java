@@ -23,6 +23,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -91,4 +92,21 @@ public class MapPutChange extends NodeFeatureChange {
                     JsonCodec.encodeWithConstantPool(value, constantPool));
         }
     }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        if (value instanceof StateNode) {
+            json.set(json.length(), JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE);
+            super.populateCompactJson(json, constantPool);
+            json.set(json.length(), key);
+            json.set(json.length(), ((StateNode) value).getId());
+        } else {
+            json.set(json.length(), JsonConstants.COMPACT_CHANGE_TYPE_PUT);
+            super.populateCompactJson(json, constantPool);
+            json.set(json.length(), key);
+            json.set(json.length(),
+                    JsonCodec.encodeWithConstantPool(value, constantPool));
+        }
+    }
 }
@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -65,4 +66,12 @@ public class MapRemoveChange extends NodeFeatureChange {
 
         json.put(JsonConstants.CHANGE_MAP_KEY, key);
     }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        json.set(json.length(), JsonConstants.COMPACT_CHANGE_TYPE_REMOVE);
+        super.populateCompactJson(json, constantPool);
+        json.set(json.length(), key);
+    }
 }
@@ -23,6 +23,7 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -72,6 +73,27 @@ public abstract class NodeChange implements Serializable {
         return json;
     }
 
+    /**
+     * Serializes this change to a compact JSON array without any keys. The
+     * array starts with the node id and a compact change type constant from
+     * {@link JsonConstants}, followed by the change specific values.
+     *
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     *
+     * @return a compact json representation of this change
+     */
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        JsonArray json = Json.createArray();
+
+        json.set(0, node.getId());
+
+        populateCompactJson(json, constantPool);
+
+        return json;
+    }
+
     /**
      * Overridden by subclasses to populate a JSON object when serializing.
      *
@@ -83,4 +105,17 @@ public abstract class NodeChange implements Serializable {
      */
     protected abstract void populateJson(JsonObject json,
             ConstantPool constantPool);
+
+    /**
+     * Overridden by subclasses to append the compact change type and the
+     * change specific values to a JSON array when serializing.
+     *
+     * @param json
+     *            the json array to populate, containing the node id
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     */
+    protected abstract void populateCompactJson(JsonArray json,
+            ConstantPool constantPool);
 }
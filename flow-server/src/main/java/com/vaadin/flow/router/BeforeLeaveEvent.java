@@ -58,8 +58,7 @@ public class BeforeLeaveEvent extends BeforeEvent {
             if (event != null) {
                 event.getUI().getSession().hasLock();
             } else {
-                assert UI.getCurrent() != null
-                        && UI.getCurrent().getSession().hasLock();
+                assert UI.getCurrent() != null && hasLock(UI.getCurrent());
             }
             this.handler = handler;
             this.event = event;
@@ -71,7 +70,7 @@ public class BeforeLeaveEvent extends BeforeEvent {
         public void proceed() {
             BeforeLeaveEvent.this.continueNavigationAction = null;
             if (handler != null && event != null) {
-                if (!event.getUI().getSession().hasLock()) {
+                if (!hasLock(event.getUI())) {
                     throw new IllegalStateException(
                             "The method 'proceed' may not be called without the session lock. "
                                     + "Use UI.access() to execute any UI related code from a separate thread properly");
@@ -83,6 +82,14 @@ public class BeforeLeaveEvent extends BeforeEvent {
         }
     }
 
+    private static boolean hasLock(UI ui) {
+        // The UI lock protects the navigation when UI locking is enabled
+        if (ui.getInternals().isUILockingEnabled()) {
+            return ui.getInternals().hasLock();
+        }
+        return ui.getSession().hasLock();
+    }
+
     /**
      * Constructs event from a NavigationEvent.
      *
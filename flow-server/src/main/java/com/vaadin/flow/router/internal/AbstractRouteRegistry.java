@@ -51,6 +51,8 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
 
     private static final String TARGET_MUST_NOT_BE_NULL = "Target must not be null.";
 
+    private static final String REGISTERED_ROUTES = "registeredRoutes";
+
     /**
      * Configuration interface to use for updating the configuration entity.
      */
@@ -81,6 +83,8 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
 
     private CopyOnWriteArrayList<RoutesChangedListener> routesChangedListeners = new CopyOnWriteArrayList<>();
 
+    private final RouteResultCache resultCache = new RouteResultCache();
+
     /**
      * Thread-safe update of the RouteConfiguration.
      *
@@ -187,7 +191,13 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
 
     @Override
     public List<RouteData> getRegisteredRoutes() {
-        return getRegisteredRoutes(getConfiguration());
+        ConfiguredRoutes configuration = getConfiguration();
+        if (configuration instanceof ConfigureRoutes) {
+            // Being edited, so the result can't be reused
+            return getRegisteredRoutes(configuration);
+        }
+        return resultCache.get(configuration, REGISTERED_ROUTES,
+                () -> getRegisteredRoutes(configuration));
     }
 
     private List<RouteData> getRegisteredRoutes(
@@ -277,10 +287,21 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
             Class<? extends Component> navigationTarget) {
         Objects.requireNonNull(navigationTarget, TARGET_MUST_NOT_BE_NULL);
 
+        ConfiguredRoutes configuration = getConfiguration();
+        if (configuration instanceof ConfigureRoutes) {
+            return getTargetUrl(configuration, navigationTarget);
+        }
+        return resultCache.get(configuration, navigationTarget,
+                () -> getTargetUrl(configuration, navigationTarget));
+    }
+
+    private static Optional<String> getTargetUrl(
+            ConfiguredRoutes configuration,
+            Class<? extends Component> navigationTarget) {
         HasUrlParameterFormat.checkMandatoryParameter(navigationTarget, null);
 
-        return Optional.ofNullable(
-                getConfiguration().getTargetUrl(navigationTarget));
+        return Optional
+                .ofNullable(configuration.getTargetUrl(navigationTarget));
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.vaadin.flow.router.internal;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,10 +37,19 @@ import com.vaadin.flow.server.InvalidRouteConfigurationException;
  */
 class RouteModel implements Serializable {
 
+    /**
+     * Maximum number of navigation urls whose search results are cached by an
+     * immutable model.
+     */
+    static final int NAVIGATION_CACHE_SIZE = 500;
+
     private boolean mutable;
 
     private RouteSegment root;
 
+    // Most recently searched navigation urls, only used by immutable models
+    private transient Map<String, NavigationRouteTarget> navigationCache;
+
     private RouteModel(boolean mutable) {
         this(RouteSegment.createRoot(), mutable);
     }
@@ -67,7 +77,11 @@ class RouteModel implements Serializable {
      * @return a copy of the original model.
      */
     static RouteModel copy(RouteModel original, boolean mutable) {
-        return new RouteModel(new RouteSegment(original.root), mutable);
+        RouteSegment root = new RouteSegment(original.root);
+        if (!mutable) {
+            root.freeze();
+        }
+        return new RouteModel(root, mutable);
     }
 
     /**
@@ -134,6 +148,10 @@ class RouteModel implements Serializable {
     /**
      * Search for a route target using given navigation <code>url</code>
      * argument.
+     * <p>
+     * An immutable model caches the results of the most recently searched
+     * urls. The routes of such a model never change, since a new model is
+     * created whenever the route configuration is updated.
      *
      * @param url
      *            the navigation url used to search a route target.
@@ -142,7 +160,23 @@ class RouteModel implements Serializable {
      *         <code>url</code> argument according with the route configuration.
      */
     NavigationRouteTarget getNavigationRouteTarget(String url) {
-        return root.getNavigationRouteTarget(url);
+        if (mutable || url == null) {
+            return root.getNavigationRouteTarget(url);
+        }
+        Map<String, NavigationRouteTarget> cache = getCache();
+        NavigationRouteTarget result;
+        synchronized (cache) {
+            result = cache.get(url);
+        }
+        if (result == null) {
+            // The search is done without holding the lock, so the same url
+            // may be searched concurrently, with equal results
+            result = root.getNavigationRouteTarget(url);
+            synchronized (cache) {
+                cache.put(url, result);
+            }
+        }
+        return result;
     }
 
     /**
@@ -253,6 +287,20 @@ class RouteModel implements Serializable {
         return result;
     }
 
+    private synchronized Map<String, NavigationRouteTarget> getCache() {
+        if (navigationCache == null) {
+            navigationCache = new LinkedHashMap<String, NavigationRouteTarget>(
+                    16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<String, NavigationRouteTarget> eldest) {
+                    return size() > NAVIGATION_CACHE_SIZE;
+                }
+            };
+        }
+        return navigationCache;
+    }
+
     private void throwIfImmutable() {
         if (!mutable) {
             throw new IllegalStateException(
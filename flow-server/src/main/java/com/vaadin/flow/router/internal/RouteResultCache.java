@@ -0,0 +1,88 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Results computed from the routes of a route registry, reused as long as the
+ * routes stay the same.
+ * <p>
+ * The results are stored for a single version of the routes. Since
+ * {@link ConfiguredRoutes} is immutable and replaced whenever the routes
+ * change, the configured routes instances, or a list of them for a registry
+ * combining several layers of routes, serve as the version.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+public final class RouteResultCache implements Serializable {
+
+    private static final class Snapshot implements Serializable {
+        private final Object version;
+        private final Map<Object, Object> results = new ConcurrentHashMap<>();
+
+        private Snapshot(Object version) {
+            this.version = version;
+        }
+    }
+
+    private transient volatile Snapshot snapshot;
+
+    /**
+     * Gets the result for the given key, computing it if there is no result
+     * for the given version of the routes yet. Results of other versions are
+     * dropped. Exceptions thrown by the computation are passed on and nothing
+     * is stored.
+     *
+     * @param version
+     *            the version of the routes the result is computed from, not
+     *            {@code null}
+     * @param key
+     *            the key identifying the result, not {@code null}
+     * @param computation
+     *            computes the result, which must not be {@code null}
+     * @param <T>
+     *            the result type
+     * @return the result for the key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object version, Object key, Supplier<T> computation) {
+        Objects.requireNonNull(version, "Version must not be null");
+        Snapshot current = snapshot;
+        if (current == null || !current.version.equals(version)) {
+            current = new Snapshot(version);
+            snapshot = current;
+        }
+
+        // Not using computeIfAbsent, since computing the result may need
+        // other results of the same version
+        Object result = current.results.get(key);
+        if (result == null) {
+            result = computation.get();
+            Object previous = current.results.putIfAbsent(key, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return (T) result;
+    }
+}
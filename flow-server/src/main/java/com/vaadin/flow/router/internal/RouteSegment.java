@@ -728,6 +728,29 @@ final class RouteSegment implements Serializable {
         return target == null && getAllSegments().isEmpty();
     }
 
+    /**
+     * Makes the child mappings of this segment and all its descendants
+     * unmodifiable. Segments which have no children of some type get a shared
+     * empty mapping, so a frozen tree can be searched concurrently without
+     * any lazy initialization.
+     */
+    void freeze() {
+        if (allSegments != null) {
+            allSegments.values().forEach(RouteSegment::freeze);
+        }
+        staticSegments = unmodifiable(staticSegments);
+        parameterSegments = unmodifiable(parameterSegments);
+        optionalSegments = unmodifiable(optionalSegments);
+        varargsSegments = unmodifiable(varargsSegments);
+        allSegments = unmodifiable(allSegments);
+    }
+
+    private static Map<String, RouteSegment> unmodifiable(
+            Map<String, RouteSegment> segments) {
+        return segments == null || segments.isEmpty() ? Collections.emptyMap()
+                : Collections.unmodifiableMap(segments);
+    }
+
     private RouteSegment addSegment(String segmentTemplate,
             Map<String, RouteSegment> children) {
         RouteSegment routeSegment = new RouteSegment(segmentTemplate);
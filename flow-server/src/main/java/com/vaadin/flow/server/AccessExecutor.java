@@ -0,0 +1,171 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+
+/**
+ * Runs the pending access tasks of sessions and UIs on a dedicated executor
+ * instead of on the thread that happens to release the lock.
+ * <p>
+ * Purging a queue is scheduled at most once at a time for each session or UI.
+ * The purging task acquires the lock, runs all queued tasks and releases the
+ * lock, which also pushes UIs with automatic push. Until the lock has been
+ * acquired, tasks enqueued in the meantime are left to the already scheduled
+ * purge, so threads waiting for a lock held for a long time do not pile up.
+ * <p>
+ * This class is an internal API, only meant to be used by the framework.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see VaadinService#getAccessExecutor()
+ */
+public class AccessExecutor {
+
+    private final Executor executor;
+
+    private final Set<Object> scheduled = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates an access executor that runs tasks using the given executor.
+     *
+     * @param executor
+     *            the executor to run tasks with, not <code>null</code>
+     */
+    public AccessExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task if
+     * the JVM supports virtual threads. Otherwise, an executor using a cached
+     * pool of daemon threads is created.
+     *
+     * @return a new executor service, not <code>null</code>
+     */
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            getLogger().debug("Virtual threads are not available, "
+                    + "using a thread pool for access tasks");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable,
+                    "vaadin-access-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules running the pending access tasks of the given session unless
+     * running them is already scheduled.
+     *
+     * @param session
+     *            the session to purge the access queue for, not
+     *            <code>null</code>
+     */
+    public void schedule(VaadinSession session) {
+        schedule(session, session::lock,
+                () -> session.getService().runPendingAccessTasks(session),
+                session::unlock);
+    }
+
+    /**
+     * Schedules running the pending access tasks of the given UI unless
+     * running them is already scheduled. Used when each UI has its own lock.
+     *
+     * @param ui
+     *            the UI to purge the access queue for, not <code>null</code>
+     * @see UIInternals#isUILockingEnabled()
+     */
+    public void schedule(UI ui) {
+        UIInternals internals = ui.getInternals();
+        schedule(ui, internals::lock, internals::runPendingAccessTasks,
+                internals::unlock);
+    }
+
+    private void schedule(Object owner, Runnable lock, Runnable purge,
+            Runnable unlock) {
+        if (!scheduled.add(owner)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                lock.run();
+                try {
+                    /*
+                     * Tasks enqueued after this point schedule a new purge,
+                     * the ones enqueued before are run by this one. Clearing
+                     * the flag only once the lock is held keeps a single purge
+                     * waiting for the lock at a time.
+                     */
+                    scheduled.remove(owner);
+                    purge.run();
+                } finally {
+                    unlock.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down along with the service
+            scheduled.remove(owner);
+        }
+    }
+
+    /**
+     * Checks whether running the pending access tasks of the given session or
+     * UI has been scheduled but the lock has not yet been acquired for it.
+     *
+     * @param owner
+     *            the session or UI to check
+     * @return <code>true</code> if purging the queue is scheduled, otherwise
+     *         <code>false</code>
+     */
+    public boolean isScheduled(Object owner) {
+        return scheduled.contains(owner);
+    }
+
+    /**
+     * Stops running access tasks if the executor is an
+     * {@link ExecutorService}. Tasks which have not yet been started are not
+     * run.
+     */
+    public void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+        scheduled.clear();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(AccessExecutor.class);
+    }
+}
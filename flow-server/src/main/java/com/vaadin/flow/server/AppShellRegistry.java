@@ -219,6 +219,28 @@ public class AppShellRegistry implements Serializable {
         return settings;
     }
 
+    /**
+     * Returns whether {@link #modifyIndexHtml(Document, VaadinRequest)} makes
+     * the same modifications for every request, which is the case unless the
+     * {@link AppShellConfigurator} overrides
+     * {@link AppShellConfigurator#configurePage(AppShellSettings)}.
+     *
+     * @return {@code true} if the modifications do not depend on the request,
+     *         {@code false} otherwise
+     */
+    public boolean isIndexHtmlModificationStatic() {
+        if (appShellClass == null) {
+            return true;
+        }
+        try {
+            return appShellClass
+                    .getMethod("configurePage", AppShellSettings.class)
+                    .getDeclaringClass() == AppShellConfigurator.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     /**
      * Modifies the `index.html` document based on the
      * {@link AppShellConfigurator} annotations or
@@ -422,6 +422,20 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        try {
+            return super.handleRequest(session, request, response);
+        } finally {
+            // Release the lock taken for a new UI in createAndInitUI
+            UI ui = UI.getCurrent();
+            if (ui != null && ui.getInternals().hasLock()) {
+                ui.getInternals().unlock();
+            }
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -1214,6 +1228,11 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
         PushConfiguration pushConfiguration = ui.getPushConfiguration();
 
         ui.getInternals().setSession(session);
+        if (ui.getInternals().isUILockingEnabled()) {
+            // With UI locking, the tree of the new UI is only built holding
+            // its lock, which is released when the request has been handled
+            ui.getInternals().lock();
+        }
         ui.setLocale(session.getLocale());
 
         BootstrapContext context = createBootstrapContext(request, response, ui,
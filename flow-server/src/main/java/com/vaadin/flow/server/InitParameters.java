@@ -71,6 +71,53 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses and push messages should be serialized change by change
+     * instead of through an intermediate JSON object tree.
+     */
+    public static final String SERVLET_PARAMETER_STREAMING_UIDL = "streamingUidl";
+
+    /**
+     * Configuration name for the parameter that determines whether state
+     * changes should be sent to the client in the compact array format
+     * instead of as JSON objects.
+     */
+    public static final String SERVLET_PARAMETER_COMPACT_CHANGES = "compactChanges";
+
+    /**
+     * Configuration name for the parameter that determines whether each UI is
+     * protected by its own lock instead of the session lock, so that UIs in
+     * the same session can handle requests in parallel.
+     */
+    public static final String SERVLET_PARAMETER_UI_LOCKING = "uiLocking";
+
+    /**
+     * Configuration name for the parameter that sets the minimum time in
+     * milliseconds between two automatic pushes of a UI. Changes made within
+     * the interval are pushed together.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_COALESCING_INTERVAL = "pushCoalescingInterval";
+
+    /**
+     * Configuration name for the parameter that determines whether pending
+     * access tasks are run and pushed on a dedicated executor instead of on
+     * the request thread that next releases the lock.
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_EXECUTOR = "accessExecutor";
+
+    /**
+     * Configuration name for the parameter that sets the maximum total size in
+     * bytes of static resources cached in memory in production mode.
+     */
+    public static final String SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_MAX_SIZE = "staticResourceCache.maxSize";
+
+    /**
+     * Configuration name for the parameter that sets the maximum number of
+     * static resources cached in memory in production mode.
+     */
+    public static final String SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_MAX_ENTRIES = "staticResourceCache.maxEntries";
+
     /**
      * Configuration name for the WebPack profile statistics json file to use to
      * determine template contents.
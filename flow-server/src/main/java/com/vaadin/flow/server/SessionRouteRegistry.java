@@ -16,10 +16,13 @@
 package com.vaadin.flow.server;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.vaadin.flow.component.Component;
@@ -30,9 +33,11 @@ import com.vaadin.flow.router.RoutesChangedEvent;
 import com.vaadin.flow.router.RoutesChangedListener;
 import com.vaadin.flow.router.RouteParameters;
 import com.vaadin.flow.router.internal.AbstractRouteRegistry;
+import com.vaadin.flow.router.internal.ConfigureRoutes;
 import com.vaadin.flow.router.internal.ConfiguredRoutes;
 import com.vaadin.flow.router.internal.NavigationRouteTarget;
 import com.vaadin.flow.router.internal.PathUtil;
+import com.vaadin.flow.router.internal.RouteResultCache;
 import com.vaadin.flow.router.internal.RouteTarget;
 import com.vaadin.flow.shared.Registration;
 
@@ -41,13 +46,23 @@ import com.vaadin.flow.shared.Registration;
  * of VaadinSession. Routes can be added and removed from this registry and any
  * overlap with the registered routes between session and global scope will be
  * handled so that session scope paths overrides global paths.
+ * <p>
+ * The merged results of {@link #getRegisteredRoutes()} and
+ * {@link #getTargetUrl(Class)} are reused until the routes of either the
+ * session or the application registry change.
  *
  * @since 1.3
  */
 public class SessionRouteRegistry extends AbstractRouteRegistry {
 
+    private static final String REGISTERED_ROUTES = "registeredRoutes";
+
+    private static final String TARGET_MUST_NOT_BE_NULL = "Target must not be null.";
+
     private final VaadinSession session;
 
+    private final RouteResultCache mergedResultCache = new RouteResultCache();
+
     /**
      * Package protected constructor for the session route registry.
      * <p>
@@ -87,6 +102,11 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
 
     @Override
     public List<RouteData> getRegisteredRoutes() {
+        return new ArrayList<>(
+                getMerged(REGISTERED_ROUTES, this::mergeRegisteredRoutes));
+    }
+
+    private List<RouteData> mergeRegisteredRoutes() {
         List<RouteData> routes = new ArrayList<>(super.getRegisteredRoutes());
 
         List<RouteData> registeredRoutes = getParentRegistry()
@@ -99,7 +119,7 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
                     .forEach(routes::add);
         }
 
-        return routes;
+        return Collections.unmodifiableList(routes);
     }
 
     /**
@@ -195,11 +215,14 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
     @Override
     public Optional<String> getTargetUrl(
             Class<? extends Component> navigationTarget) {
-        Optional<String> targetUrl = super.getTargetUrl(navigationTarget);
-        if (targetUrl.isPresent()) {
-            return targetUrl;
-        }
-        return getParentRegistry().getTargetUrl(navigationTarget);
+        Objects.requireNonNull(navigationTarget, TARGET_MUST_NOT_BE_NULL);
+        return getMerged(navigationTarget, () -> {
+            Optional<String> targetUrl = super.getTargetUrl(navigationTarget);
+            if (targetUrl.isPresent()) {
+                return targetUrl;
+            }
+            return getParentRegistry().getTargetUrl(navigationTarget);
+        });
     }
 
     @Override
@@ -245,6 +268,27 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         return getParentRegistry().getRouteLayouts(path, navigationTarget);
     }
 
+    /**
+     * Gets a result merged from the session and application routes, reusing
+     * the result computed for the same versions of both if possible.
+     */
+    private <T> T getMerged(Object key, Supplier<T> merge) {
+        ConfiguredRoutes configuration = getConfiguration();
+        RouteRegistry parentRegistry = getParentRegistry();
+        if (configuration instanceof ConfigureRoutes
+                || !(parentRegistry instanceof AbstractRouteRegistry)) {
+            return merge.get();
+        }
+        ConfiguredRoutes parentConfiguration = ((AbstractRouteRegistry) parentRegistry)
+                .getConfiguration();
+        if (parentConfiguration instanceof ConfigureRoutes) {
+            return merge.get();
+        }
+        return mergedResultCache.get(
+                Arrays.asList(configuration, parentConfiguration), key,
+                merge);
+    }
+
     private RouteRegistry getParentRegistry() {
         return session.getService().getRouteRegistry();
     }
@@ -31,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.StaticResourceCache.CachedResource;
 import com.vaadin.flow.internal.ResponseWriter;
 
 import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
@@ -60,6 +61,7 @@ public class StaticFileServer implements StaticFileHandler {
 
     private final ResponseWriter responseWriter;
     private final VaadinServletService servletService;
+    private final StaticResourceCache resourceCache;
     private DeploymentConfiguration deploymentConfiguration;
 
     /**
@@ -72,6 +74,14 @@ public class StaticFileServer implements StaticFileHandler {
         this.servletService = servletService;
         deploymentConfiguration = servletService.getDeploymentConfiguration();
         responseWriter = new ResponseWriter(deploymentConfiguration);
+        int cacheSize = deploymentConfiguration.getStaticResourceCacheMaxSize();
+        if (deploymentConfiguration.isProductionMode() && cacheSize > 0) {
+            resourceCache = new StaticResourceCache(cacheSize,
+                    deploymentConfiguration
+                            .getStaticResourceCacheMaxEntries());
+        } else {
+            resourceCache = null;
+        }
     }
 
     @Override
@@ -115,21 +125,15 @@ public class StaticFileServer implements StaticFileHandler {
             return true;
         }
 
-        URL resourceUrl = null;
-        if (isAllowedVAADINBuildUrl(filenameWithPath)) {
-            resourceUrl = servletService.getClassLoader()
-                    .getResource("META-INF" + filenameWithPath);
-        }
-        if (resourceUrl == null) {
-            resourceUrl = servletService.getStaticResource(filenameWithPath);
-        }
-        if (resourceUrl == null && shouldFixIncorrectWebjarPaths()
-                && isIncorrectWebjarPath(filenameWithPath)) {
-            // Flow issue #4601
-            resourceUrl = servletService.getStaticResource(
-                    fixIncorrectWebjarPath(filenameWithPath));
+        CachedResource cachedResource = resourceCache == null ? null
+                : resourceCache.get(filenameWithPath);
+        if (cachedResource != null) {
+            return serveCachedResource(filenameWithPath, cachedResource,
+                    request, response);
         }
 
+        URL resourceUrl = findResourceUrl(filenameWithPath);
+
         if (resourceUrl == null) {
             // Not found in webcontent or in META-INF/resources in some JAR
             response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -138,6 +142,15 @@ public class StaticFileServer implements StaticFileHandler {
 
         // There is a resource!
 
+        if (resourceCache != null) {
+            cachedResource = resourceCache.load(filenameWithPath, resourceUrl,
+                    this::findResourceUrl);
+            if (cachedResource != null) {
+                return serveCachedResource(filenameWithPath, cachedResource,
+                        request, response);
+            }
+        }
+
         // Intentionally writing cache headers also for 304 responses
         writeCacheHeaders(filenameWithPath, response);
 
@@ -154,6 +167,55 @@ public class StaticFileServer implements StaticFileHandler {
         return true;
     }
 
+    private URL findResourceUrl(String filenameWithPath) {
+        URL resourceUrl = null;
+        if (isAllowedVAADINBuildUrl(filenameWithPath)) {
+            resourceUrl = servletService.getClassLoader()
+                    .getResource("META-INF" + filenameWithPath);
+        }
+        if (resourceUrl == null) {
+            resourceUrl = servletService.getStaticResource(filenameWithPath);
+        }
+        if (resourceUrl == null && shouldFixIncorrectWebjarPaths()
+                && isIncorrectWebjarPath(filenameWithPath)) {
+            // Flow issue #4601
+            resourceUrl = servletService.getStaticResource(
+                    fixIncorrectWebjarPath(filenameWithPath));
+        }
+        return resourceUrl;
+    }
+
+    private boolean serveCachedResource(String filenameWithPath,
+            CachedResource resource, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // Intentionally writing cache headers also for 304 responses
+        writeCacheHeaders(filenameWithPath, response);
+
+        long timestamp = resource.getLastModified();
+        if (timestamp != -1L) {
+            response.setDateHeader("Last-Modified", timestamp);
+        }
+        // Each encoding has its own tag, so compare against the
+        // representation that would be served
+        String contentEncoding = responseWriter.getContentEncoding(resource,
+                request);
+        // If-None-Match takes precedence over If-Modified-Since
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null
+                ? resource.matches(ifNoneMatch, contentEncoding)
+                : browserHasNewestVersion(request, timestamp)) {
+            response.setHeader("ETag", resource.getETag(contentEncoding));
+            if (contentEncoding != null) {
+                response.setHeader("Vary", "Accept-Encoding");
+            }
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        responseWriter.writeResponseContents(filenameWithPath, resource,
+                request, response);
+        return true;
+    }
+
     // When referring to webjar resources from application stylesheets (loaded
     // using @StyleSheet) using relative paths, the paths will be different in
     // development mode and in production mode. The reason is that in production
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A size and entry count bound cache of static resources kept in memory. The
+ * least recently used resources are evicted first.
+ * <p>
+ * Each cached resource holds its contents, the contents of its precompressed
+ * Brotli and gzip variants if available, the last modification time and a
+ * strong ETag so that requests can be answered without resolving the
+ * resource again.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class StaticResourceCache implements Serializable {
+
+    /**
+     * A static resource loaded into memory.
+     */
+    public static class CachedResource implements Serializable {
+        private final URL url;
+        private final byte[] contents;
+        private final byte[] brotliContents;
+        private final byte[] gzipContents;
+        private final long lastModified;
+        private final String eTag;
+
+        private CachedResource(URL url, byte[] contents, byte[] brotliContents,
+                byte[] gzipContents, long lastModified) {
+            this.url = url;
+            this.contents = contents;
+            this.brotliContents = brotliContents;
+            this.gzipContents = gzipContents;
+            this.lastModified = lastModified;
+            eTag = createETag(contents);
+        }
+
+        /**
+         * Gets the URL the resource was loaded from.
+         *
+         * @return the resource URL
+         */
+        public URL getUrl() {
+            return url;
+        }
+
+        /**
+         * Gets the uncompressed contents of the resource. The returned array
+         * must not be modified.
+         *
+         * @return the resource contents
+         */
+        public byte[] getContents() {
+            return contents;
+        }
+
+        /**
+         * Gets the contents of the precompressed Brotli variant of the
+         * resource. The returned array must not be modified.
+         *
+         * @return the Brotli compressed contents, or <code>null</code> if
+         *         there is no Brotli variant
+         */
+        public byte[] getBrotliContents() {
+            return brotliContents;
+        }
+
+        /**
+         * Gets the contents of the precompressed gzip variant of the resource.
+         * The returned array must not be modified.
+         *
+         * @return the gzip compressed contents, or <code>null</code> if there
+         *         is no gzip variant
+         */
+        public byte[] getGzipContents() {
+            return gzipContents;
+        }
+
+        /**
+         * Gets the last modification time of the resource, rounded down to
+         * whole seconds.
+         *
+         * @return the last modification timestamp, or -1 if unknown
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Gets the strong ETag of the uncompressed resource, including the
+         * surrounding quotes.
+         *
+         * @return the ETag of the resource
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Gets the strong ETag of the resource with the given content
+         * encoding. Compressed variants get their own tag since they are
+         * different representations of the resource.
+         *
+         * @param contentEncoding
+         *            the content encoding, or <code>null</code> for the
+         *            uncompressed resource
+         * @return the ETag of the representation
+         */
+        public String getETag(String contentEncoding) {
+            if (contentEncoding == null) {
+                return eTag;
+            }
+            return eTag.substring(0, eTag.length() - 1) + '-'
+                    + contentEncoding + '"';
+        }
+
+        /**
+         * Checks whether the value of an <code>If-None-Match</code> header
+         * matches the representation of this resource with the given content
+         * encoding, i.e. the one that would be served to the browser.
+         *
+         * @param ifNoneMatch
+         *            the header value, may be <code>null</code>
+         * @param contentEncoding
+         *            the content encoding of the representation, or
+         *            <code>null</code> for the uncompressed resource
+         * @return <code>true</code> if the browser has a current version of
+         *         the representation, otherwise <code>false</code>
+         */
+        public boolean matches(String ifNoneMatch, String contentEncoding) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String representationTag = getETag(contentEncoding);
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || representationTag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int getSize() {
+            return contents.length
+                    + (brotliContents == null ? 0 : brotliContents.length)
+                    + (gzipContents == null ? 0 : gzipContents.length);
+        }
+
+        private static String createETag(byte[] contents) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(contents);
+                StringBuilder tag = new StringBuilder(34).append('"');
+                // 128 bits are plenty for telling versions apart
+                for (int i = 0; i < 16; i++) {
+                    tag.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                            .append(Character.forDigit(digest[i] & 0xF, 16));
+                }
+                return tag.append('"').toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(
+                        "SHA-256 is not supported by the JVM", e);
+            }
+        }
+    }
+
+    // Marks a variant which does not fit in the cache
+    private static final byte[] TOO_BIG = new byte[0];
+
+    private final int maxSize;
+
+    private final int maxEntries;
+
+    private final LinkedHashMap<String, CachedResource> resources = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    private long size;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize
+     *            the maximum total size in bytes of the cached resources
+     *            including their compressed variants
+     * @param maxEntries
+     *            the maximum number of cached resources
+     */
+    public StaticResourceCache(int maxSize, int maxEntries) {
+        this.maxSize = maxSize;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Gets a cached resource.
+     *
+     * @param filenameWithPath
+     *            the requested file name
+     * @return the cached resource, or <code>null</code> if the resource is
+     *         not in the cache
+     */
+    public synchronized CachedResource get(String filenameWithPath) {
+        return resources.get(filenameWithPath);
+    }
+
+    /**
+     * Loads a resource and its compressed variants into the cache. The
+     * resource is not cached if it is too big for the cache.
+     *
+     * @param filenameWithPath
+     *            the requested file name
+     * @param url
+     *            the URL of the resource, not <code>null</code>
+     * @param resolver
+     *            a function that finds the URL of a sibling resource by file
+     *            name, used for finding the <code>.br</code> and
+     *            <code>.gz</code> variants
+     * @return the cached resource, or <code>null</code> if the resource
+     *         could not be cached
+     * @throws IOException
+     *             if reading the resource fails
+     */
+    public CachedResource load(String filenameWithPath, URL url,
+            Function<String, URL> resolver) throws IOException {
+        URLConnection connection = url.openConnection();
+        long length = connection.getContentLengthLong();
+        if (length > maxSize) {
+            connection.getInputStream().close();
+            return null;
+        }
+        long lastModified = connection.getLastModified();
+        byte[] contents;
+        try (InputStream stream = connection.getInputStream()) {
+            // The length is not always known beforehand
+            contents = read(stream, maxSize);
+        }
+        if (contents == null) {
+            return null;
+        }
+        // Milliseconds are not part of the If-Modified-Since header
+        lastModified = lastModified <= 0 ? -1
+                : lastModified - lastModified % 1000;
+
+        // The variants may use the space left by the uncompressed contents
+        byte[] brotliContents = readVariant(
+                resolver.apply(filenameWithPath + ".br"),
+                maxSize - contents.length);
+        if (brotliContents == TOO_BIG) {
+            return null;
+        }
+        byte[] gzipContents = readVariant(
+                resolver.apply(filenameWithPath + ".gz"),
+                maxSize - contents.length
+                        - (brotliContents == null ? 0 : brotliContents.length));
+        if (gzipContents == TOO_BIG) {
+            return null;
+        }
+
+        CachedResource resource = new CachedResource(url, contents,
+                brotliContents, gzipContents, lastModified);
+        put(filenameWithPath, resource);
+        return resource;
+    }
+
+    private synchronized void put(String filenameWithPath,
+            CachedResource resource) {
+        CachedResource old = resources.put(filenameWithPath, resource);
+        if (old != null) {
+            size -= old.getSize();
+        }
+        size += resource.getSize();
+
+        Iterator<Map.Entry<String, CachedResource>> eldest = resources
+                .entrySet().iterator();
+        while ((size > maxSize || resources.size() > maxEntries)
+                && eldest.hasNext()) {
+            size -= eldest.next().getValue().getSize();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Gets the total size of the cached resources in bytes.
+     *
+     * @return the size of the cache
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of cached resources.
+     *
+     * @return the number of cached resources
+     */
+    public synchronized int getEntryCount() {
+        return resources.size();
+    }
+
+    /**
+     * Removes all resources from the cache.
+     */
+    public synchronized void clear() {
+        resources.clear();
+        size = 0;
+    }
+
+    private static byte[] readVariant(URL url, int limit) throws IOException {
+        if (url == null) {
+            return null;
+        }
+        try (InputStream stream = url.openStream()) {
+            byte[] contents = read(stream, limit);
+            return contents == null ? TOO_BIG : contents;
+        }
+    }
+
+    /**
+     * Reads the stream until its end or until more than the given number of
+     * bytes have been read.
+     *
+     * @return the bytes read, or <code>null</code> if there are more than
+     *         <code>limit</code> bytes
+     */
+    private static byte[] read(InputStream stream, int limit)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = stream.read(buffer)) != -1) {
+            if (out.size() + count > limit) {
+                return null;
+            }
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+}
@@ -17,11 +17,16 @@ package com.vaadin.flow.server;
 
 import java.io.IOException;
 
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.shared.ApplicationConstants;
+
 /**
  * RequestHandler which takes care of locking and unlocking of the VaadinSession
  * automatically. The session is locked before
  * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
- * is called and unlocked after it has completed.
+ * is called and unlocked after it has completed. When UI locking is enabled,
+ * the UI that the request is for is also locked.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -36,11 +41,45 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
         }
 
         session.lock();
+        UIInternals lockedUI = null;
         try {
+            lockedUI = lockRequestUI(session, request);
             return synchronizedHandleRequest(session, request, response);
         } finally {
-            session.unlock();
+            try {
+                if (lockedUI != null) {
+                    lockedUI.unlock();
+                }
+            } finally {
+                session.unlock();
+            }
+        }
+    }
+
+    /*
+     * With UI locking, the session lock does not protect the UIs, so the UI
+     * that the request is for is locked as well.
+     */
+    private static UIInternals lockRequestUI(VaadinSession session,
+            VaadinRequest request) {
+        String uiId = request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER);
+        if (uiId == null) {
+            return null;
+        }
+        UI ui;
+        try {
+            ui = session.getUIById(Integer.parseInt(uiId));
+        } catch (NumberFormatException e) {
+            // Left for the handler to report
+            return null;
+        }
+        if (ui == null || !ui.getInternals().isUILockingEnabled()) {
+            return null;
         }
+        UIInternals internals = ui.getInternals();
+        internals.lock();
+        return internals;
     }
 
     /**
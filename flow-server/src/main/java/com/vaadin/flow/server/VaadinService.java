@@ -42,6 +42,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -70,6 +71,7 @@ import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.IndexHtmlRequestListener;
 import com.vaadin.flow.server.communication.IndexHtmlResponse;
 import com.vaadin.flow.server.communication.JavaScriptBootstrapHandler;
+import com.vaadin.flow.server.communication.PushCoalescer;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
@@ -192,6 +194,10 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinContext vaadinContext;
 
+    private transient PushCoalescer pushCoalescer;
+
+    private transient AccessExecutor accessExecutor;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -293,6 +299,13 @@ public abstract class VaadinService implements Serializable {
         if (getDeploymentConfiguration().isPnpmEnabled()) {
             UsageStatistics.markAsUsed("flow/pnpm", null);
         }
+        int pushCoalescingInterval = configuration.getPushCoalescingInterval();
+        if (pushCoalescingInterval > 0) {
+            pushCoalescer = new PushCoalescer(pushCoalescingInterval);
+        }
+        if (configuration.isAccessExecutorEnabled()) {
+            accessExecutor = new AccessExecutor(createAccessExecutor());
+        }
 
         initialized = true;
     }
@@ -652,6 +665,19 @@ public abstract class VaadinService implements Serializable {
                 listener -> listener.modifyIndexHtmlResponse(response));
     }
 
+    /**
+     * Returns whether any {@link IndexHtmlRequestListener} has been
+     * registered. Without listeners, the Index HTML response does not need to
+     * be available as a document that the listeners can modify.
+     *
+     * @return {@code true} if there are Index HTML request listeners,
+     *         {@code false} otherwise
+     */
+    public boolean hasIndexHtmlRequestListeners() {
+        return indexHtmlRequestListeners != null
+                && indexHtmlRequestListeners.iterator().hasNext();
+    }
+
     /**
      * Handles destruction of the given session. Internally ensures proper
      * locking is done.
@@ -1989,12 +2015,17 @@ public abstract class VaadinService implements Serializable {
      * If the session is currently locked by the current thread or some other
      * thread, the queue will be purged when the session is unlocked. If the
      * lock is not held by any thread, it is acquired and the queue is purged
-     * right away.
+     * right away. If an {@link #getAccessExecutor() access executor} is used,
+     * purging the queue is scheduled on it instead.
      *
      * @param session
      *            the session for which the access queue should be purged
      */
     public void ensureAccessQueuePurged(VaadinSession session) {
+        if (accessExecutor != null) {
+            accessExecutor.schedule(session);
+            return;
+        }
         /*
          * If no thread is currently holding the lock, pending changes for UIs
          * with automatic push would not be processed and pushed until the next
@@ -2093,6 +2124,51 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        if (pushCoalescer != null) {
+            pushCoalescer.shutdown();
+        }
+        if (accessExecutor != null) {
+            accessExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Gets the push coalescer that schedules automatic pushes when push
+     * coalescing is enabled.
+     *
+     * @return the push coalescer, or <code>null</code> if automatic pushes are
+     *         done right away
+     * @see DeploymentConfiguration#getPushCoalescingInterval()
+     */
+    public PushCoalescer getPushCoalescer() {
+        return pushCoalescer;
+    }
+
+    /**
+     * Gets the access executor that runs pending access tasks when a
+     * dedicated access executor is enabled.
+     *
+     * @return the access executor, or <code>null</code> if access tasks are
+     *         run by the thread that releases the lock
+     * @see DeploymentConfiguration#isAccessExecutorEnabled()
+     */
+    public AccessExecutor getAccessExecutor() {
+        return accessExecutor;
+    }
+
+    /**
+     * Creates the executor that runs pending access tasks and the resulting
+     * automatic pushes when a dedicated access executor is enabled. The
+     * default implementation starts a virtual thread for each task if the JVM
+     * supports virtual threads and uses a thread pool otherwise. The executor
+     * is shut down when the service is destroyed if it is an
+     * {@link java.util.concurrent.ExecutorService}.
+     *
+     * @return the executor to use, not <code>null</code>
+     * @see DeploymentConfiguration#isAccessExecutorEnabled()
+     */
+    protected Executor createAccessExecutor() {
+        return AccessExecutor.createDefaultExecutor();
     }
 
     /**
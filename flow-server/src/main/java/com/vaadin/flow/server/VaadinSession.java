@@ -22,7 +22,6 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Locale;
@@ -31,6 +30,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
@@ -44,6 +44,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
@@ -94,7 +95,11 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
 
     private int nextUIId = 0;
-    private Map<Integer, UI> uIs = new HashMap<>();
+    /*
+     * Concurrent since UIs can be looked up while holding only a UI lock when
+     * UI locking is enabled.
+     */
+    private Map<Integer, UI> uIs = new ConcurrentHashMap<>();
 
     protected WebBrowser browser = new WebBrowser();
 
@@ -213,8 +218,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @param browser the web browser object
      */
     public void setBrowser(WebBrowser browser) {
-        checkHasLock();
-        this.browser = browser;
+        Lock updateLock = lockForUpdate();
+        try {
+            this.browser = browser;
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -234,9 +243,13 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *            The time spent in the last request, in milliseconds.
      */
     public void setLastRequestDuration(long time) {
-        checkHasLock();
-        lastRequestDuration = time;
-        cumulativeRequestDuration += time;
+        Lock updateLock = lockForUpdate();
+        try {
+            lastRequestDuration = time;
+            cumulativeRequestDuration += time;
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -256,8 +269,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *            since the epoch.
      */
     public void setLastRequestTimestamp(long timestamp) {
-        checkHasLock();
-        lastRequestTimestamp = timestamp;
+        Lock updateLock = lockForUpdate();
+        try {
+            lastRequestTimestamp = timestamp;
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -376,10 +393,22 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     public void setLocale(Locale locale) {
         assert locale != null : "Null locale is not supported!";
 
-        checkHasLock();
-        this.locale = locale;
+        Lock updateLock = lockForUpdate();
+        try {
+            this.locale = locale;
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
 
-        getUIs().forEach(ui -> ui.setLocale(locale));
+        getUIs().forEach(ui -> {
+            if (ui.getInternals().isUILockingEnabled()
+                    && !ui.getInternals().hasLock()) {
+                // Other UIs are only changed holding their own lock
+                ui.access(() -> ui.setLocale(locale));
+            } else {
+                ui.setLocale(locale);
+            }
+        });
     }
 
     /**
@@ -401,8 +430,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     public void setErrorHandler(ErrorHandler errorHandler) {
         Objects.requireNonNull(errorHandler, "errorHandler can not be null!");
 
-        checkHasLock();
-        this.errorHandler = errorHandler;
+        Lock updateLock = lockForUpdate();
+        try {
+            this.errorHandler = errorHandler;
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -418,8 +451,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #removeRequestHandler(RequestHandler)
      */
     public void addRequestHandler(RequestHandler handler) {
-        checkHasLock();
-        requestHandlers.addFirst(handler);
+        Lock updateLock = lockForUpdate();
+        try {
+            requestHandlers.addFirst(handler);
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -429,8 +466,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *            the request handler to remove
      */
     public void removeRequestHandler(RequestHandler handler) {
-        checkHasLock();
-        requestHandlers.remove(handler);
+        Lock updateLock = lockForUpdate();
+        try {
+            requestHandlers.remove(handler);
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -524,6 +565,38 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return l.isHeldByCurrentThread();
     }
 
+    /*
+     * With UI locking, the thread handling a UI holds only the lock of its
+     * current UI. Such a thread may read the session, but takes the session
+     * lock for changing it, see lockForUpdate().
+     */
+    private boolean hasCurrentUILock() {
+        UI ui = UI.getCurrent();
+        return ui != null && ui.getInternals().getSession() == this
+                && ui.getInternals().hasLock();
+    }
+
+    /*
+     * Checks the lock and acquires the session lock if the current thread
+     * only holds the lock of its UI. Returns the lock to release after the
+     * update, or null if the session lock was already held.
+     */
+    private Lock lockForUpdate() {
+        checkHasLock();
+        if (hasLock()) {
+            return null;
+        }
+        Lock sessionLock = getLockInstance();
+        sessionLock.lock();
+        return sessionLock;
+    }
+
+    private static void unlockAfterUpdate(Lock updateLock) {
+        if (updateLock != null) {
+            updateLock.unlock();
+        }
+    }
+
     /**
      * Potentially checks whether this session is currently locked by the
      * current thread, and fails with the given message if not.
@@ -532,15 +605,20 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * also enabled. This is done to avoid the small performance impact of
      * continuously checking the lock status. The check is always done when
      * production mode is not enabled.
+     * <p>
+     * When UI locking is enabled, holding the lock of the current UI of this
+     * session is also accepted. Session wide state changed by such a thread is
+     * still updated holding the session lock.
      *
      * @param message
      *            the error message to include when failing if the check is done
      *            and the session is not locked
+     * @see DeploymentConfiguration#isUILockingEnabled()
      */
     public void checkHasLock(String message) {
         if (configuration == null || configuration.isProductionMode()) {
-            assert hasLock() : message;
-        } else if (!hasLock()) {
+            assert hasLock() || hasCurrentUILock() : message;
+        } else if (!hasLock() && !hasCurrentUILock()) {
             throw new IllegalStateException(message);
         }
     }
@@ -582,12 +660,17 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *            the UI to remove
      */
     public void removeUI(UI ui) {
-        checkHasLock();
-        assert UI.getCurrent() != null : "Current UI cannot be null";
-        assert ui != null : "Removed UI cannot be null";
-        assert UI.getCurrent().getUIId() == ui.getUIId() : "UIs don't match";
-        ui.getInternals().setSession(null);
-        uIs.remove(ui.getUIId());
+        Lock updateLock = lockForUpdate();
+        try {
+            assert UI.getCurrent() != null : "Current UI cannot be null";
+            assert ui != null : "Removed UI cannot be null";
+            assert UI.getCurrent().getUIId() == ui.getUIId()
+                    : "UIs don't match";
+            ui.getInternals().setSession(null);
+            uIs.remove(ui.getUIId());
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -659,7 +742,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * <p>
      * For UIs in this session that have its push mode set to
      * {@link PushMode#AUTOMATIC automatic}, pending changes will be pushed to
-     * their respective clients.
+     * their respective clients. If push coalescing is enabled, the push is
+     * scheduled to be done later instead.
      *
      * @see #lock()
      * @see UI#push()
@@ -674,19 +758,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
              */
             if (((ReentrantLock) getLockInstance()).getHoldCount() == 1) {
                 ultimateRelease = true;
-                getService().runPendingAccessTasks(this);
+                if (getService().getAccessExecutor() == null) {
+                    getService().runPendingAccessTasks(this);
+                }
 
                 for (UI ui : getUIs()) {
-                    if (ui.getPushConfiguration()
-                            .getPushMode() == PushMode.AUTOMATIC) {
-                        Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
-                                .setCurrent(ui);
-                        try {
-                            ui.push();
-                        } finally {
-                            CurrentInstance.restoreInstances(oldCurrent);
-                        }
-                    }
+                    pushAutomatically(ui);
                 }
             }
         } finally {
@@ -706,6 +783,20 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         }
     }
 
+    private static void pushAutomatically(UI ui) {
+        UIInternals internals = ui.getInternals();
+        if (!internals.isUILockingEnabled()) {
+            internals.pushAutomatically();
+        } else if (internals.getLockInstance().tryLock()) {
+            /*
+             * Releasing the UI lock pushes the UI. There is no need to wait for
+             * a busy UI since the thread holding the UI lock pushes the
+             * changes when releasing it.
+             */
+            internals.unlock();
+        }
+    }
+
     /**
      * Stores a value in this service session. This can be used to associate
      * data with the current user so that it can be retrieved at a later point
@@ -721,8 +812,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #getAttribute(String)
      */
     public void setAttribute(String name, Object value) {
-        checkHasLock();
-        attributes.setAttribute(name, value);
+        Lock updateLock = lockForUpdate();
+        try {
+            attributes.setAttribute(name, value);
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -747,8 +842,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #setAttribute(String, Object)
      */
     public <T> void setAttribute(Class<T> type, T value) {
-        checkHasLock();
-        attributes.setAttribute(type, value);
+        Lock updateLock = lockForUpdate();
+        try {
+            attributes.setAttribute(type, value);
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -798,8 +897,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return a unique UI id
      */
     public int getNextUIid() {
-        checkHasLock();
-        return nextUIId++;
+        Lock updateLock = lockForUpdate();
+        try {
+            return nextUIId++;
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     /**
@@ -809,17 +912,21 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *            the initialized UI to add.
      */
     public void addUI(UI ui) {
-        checkHasLock();
-        if (ui.getUIId() == -1) {
-            throw new IllegalArgumentException(
-                    "Can not add an UI that has not been initialized.");
-        }
-        if (ui.getSession() != this) {
-            throw new IllegalArgumentException(
-                    "The UI belongs to a different session");
-        }
+        Lock updateLock = lockForUpdate();
+        try {
+            if (ui.getUIId() == -1) {
+                throw new IllegalArgumentException(
+                        "Can not add an UI that has not been initialized.");
+            }
+            if (ui.getSession() != this) {
+                throw new IllegalArgumentException(
+                        "The UI belongs to a different session");
+            }
 
-        uIs.put(ui.getUIId(), ui);
+            uIs.put(ui.getUIId(), ui);
+        } finally {
+            unlockAfterUpdate(updateLock);
+        }
     }
 
     public VaadinService getService() {
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -191,9 +192,19 @@ public class AtmospherePushConnection implements PushConnection {
             }
         } else {
             try {
-                JsonObject response = new UidlWriter().createUidl(getUI(),
-                        async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                if (getUI().getSession().getService()
+                        .getDeploymentConfiguration()
+                        .isUidlStreamingEnabled()) {
+                    StringWriter writer = new StringWriter();
+                    writer.write("for(;;);[");
+                    new UidlWriter().writeUidl(getUI(), async, false, writer);
+                    writer.write(']');
+                    sendMessage(writer.toString());
+                } else {
+                    JsonObject response = new UidlWriter().createUidl(getUI(),
+                            async);
+                    sendMessage("for(;;);[" + response.toJson() + "]");
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
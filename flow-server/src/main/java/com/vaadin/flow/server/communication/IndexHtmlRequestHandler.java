@@ -17,10 +17,12 @@ package com.vaadin.flow.server.communication;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
 
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
 import org.jsoup.nodes.DataNode;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -66,28 +68,23 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
             VaadinRequest request, VaadinResponse response) throws IOException {
         DeploymentConfiguration config = session.getConfiguration();
 
+        if (config.isProductionMode()) {
+            IndexHtmlTemplate template = getIndexHtmlTemplate(request);
+            if (template != null) {
+                return writeIndexHtml(template, session, request, response);
+            }
+        }
+
         Document indexDocument = config.isProductionMode()
                 ? getCachedIndexHtmlDocument(request.getService())
                 : getIndexHtmlDocument(request.getService());
 
         prependBaseHref(request, indexDocument);
 
-        JsonObject initialJson = Json.createObject();
-
-        if (request.getService().getBootstrapInitialPredicate()
-                .includeInitialUidl(request)) {
-            includeInitialUidl(initialJson, session, request, response);
-
-            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument, UI.getCurrent());
-
-            // App might be using classic server-routing, which is true
-            // unless we detect a call to JavaScriptBootstrapUI.connectClient
-            session.setAttribute(SERVER_ROUTING, Boolean.TRUE);
-        } else {
-            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument);
-        }
+        JsonObject initialJson = createInitialJson(session, request, response,
+                indexDocument);
 
-        addInitialFlow(initialJson, indexDocument, session);
+        addInitialFlow(JsonUtil.stringify(initialJson), indexDocument);
 
         configureErrorDialogStyles(indexDocument);
 
@@ -111,7 +108,7 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
         // the bootstrap page title could be used as a fallback title to
         // a server-side route that doesn't have a title
-        storeAppShellTitleToUI(indexDocument);
+        storeAppShellTitleToUI(getAppShellTitle(indexDocument));
 
         // modify the page based on registered IndexHtmlRequestListener:s
         request.getService().modifyIndexHtmlResponse(indexHtmlResponse);
@@ -129,13 +126,66 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         return true;
     }
 
-    private void storeAppShellTitleToUI(Document indexDocument) {
-        if (UI.getCurrent() != null) {
-            Element elm = indexDocument.head().selectFirst("title");
-            if (elm != null) {
-                String appShellTitle = elm.text().isEmpty() ? elm.data() : elm.text();
-                UI.getCurrent().getInternals().setAppShellTitle(appShellTitle);
-            }
+    /**
+     * Writes the index.html response by filling in the dynamic parts of the
+     * given precompiled template.
+     */
+    private boolean writeIndexHtml(IndexHtmlTemplate template,
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response) {
+        JsonObject initialJson = createInitialJson(session, request, response,
+                null);
+
+        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
+
+        storeAppShellTitleToUI(template.appShellTitle);
+
+        try {
+            template.write(response.getOutputStream(),
+                    getServiceUrl(request), JsonUtil.stringify(initialJson));
+        } catch (IOException e) {
+            getLogger().error("Error writing 'index.html' to response", e);
+            return false;
+        }
+        return true;
+    }
+
+    private JsonObject createInitialJson(VaadinSession session,
+            VaadinRequest request, VaadinResponse response,
+            Document indexDocument) {
+        JsonObject initialJson = Json.createObject();
+
+        if (request.getService().getBootstrapInitialPredicate()
+                .includeInitialUidl(request)) {
+            includeInitialUidl(initialJson, session, request, response);
+
+            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument, UI.getCurrent());
+
+            // App might be using classic server-routing, which is true
+            // unless we detect a call to JavaScriptBootstrapUI.connectClient
+            session.setAttribute(SERVER_ROUTING, Boolean.TRUE);
+        } else {
+            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument);
+        }
+
+        String csrfToken = session.getCsrfToken();
+        if (csrfToken != null) {
+            initialJson.put(CSRF_TOKEN, csrfToken);
+        }
+        return initialJson;
+    }
+
+    private static String getAppShellTitle(Document indexDocument) {
+        Element elm = indexDocument.head().selectFirst("title");
+        if (elm == null) {
+            return null;
+        }
+        return elm.text().isEmpty() ? elm.data() : elm.text();
+    }
+
+    private static void storeAppShellTitleToUI(String appShellTitle) {
+        if (UI.getCurrent() != null && appShellTitle != null) {
+            UI.getCurrent().getInternals().setAppShellTitle(appShellTitle);
         }
     }
 
@@ -162,17 +212,12 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void addInitialFlow(JsonObject initialJson, Document indexDocument,
-                                VaadinSession session) {
-        String csrfToken = session.getCsrfToken();
-        if (csrfToken != null) {
-            initialJson.put(CSRF_TOKEN, csrfToken);
-        }
-
+    private static void addInitialFlow(String initialJson,
+            Document indexDocument) {
         Element elm = new Element("script");
         elm.attr("initial", "");
         elm.appendChild(new DataNode(
-                "window.Vaadin = {TypeScript: " + JsonUtil.stringify(initialJson) + "};"
+                "window.Vaadin = {TypeScript: " + initialJson + "};"
         ));
         indexDocument.head().insertChildren(0, elm);
     }
@@ -198,7 +243,7 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void configureErrorDialogStyles(Document document) {
+    private static void configureErrorDialogStyles(Document document) {
         Element styles = document.createElement("style");
         document.head().appendChild(styles);
         setupErrorDialogs(styles);
@@ -206,8 +251,12 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
     private static void prependBaseHref(VaadinRequest request,
             Document indexDocument) {
+        prependBaseHref(getServiceUrl(request), indexDocument);
+    }
+
+    private static void prependBaseHref(String baseHref,
+            Document indexDocument) {
         Elements base = indexDocument.head().getElementsByTag("base");
-        String baseHref = getServiceUrl(request);
         if (base.isEmpty()) {
             indexDocument.head().prependElement("base").attr("href", baseHref);
         } else {
@@ -267,10 +316,118 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
+    /**
+     * Gets the precompiled index.html template, or {@code null} if the page
+     * must be modified as a document for each request.
+     */
+    private static IndexHtmlTemplate getIndexHtmlTemplate(
+            VaadinRequest request) {
+        VaadinService service = request.getService();
+        if (service.hasIndexHtmlRequestListeners()
+                || service.getDeploymentConfiguration()
+                        .isDevModeLiveReloadEnabled()
+                || !AppShellRegistry.getInstance(service.getContext())
+                        .isIndexHtmlModificationStatic()) {
+            return null;
+        }
+        IndexHtmlTemplate template = service.getContext().getAttribute(
+                IndexHtmlTemplate.class,
+                () -> new IndexHtmlTemplate(service, request));
+        return template.isCompiled() ? template : null;
+    }
+
+    // The page produced by the document based path in production mode with
+    // the request specific parts left as slots, pre-serialized to bytes.
+    //
+    // This holder is supposed to be stored as a VaadinContext attribute, see
+    // IndexHtmlHolder on serialization.
+    private static final class IndexHtmlTemplate implements Serializable {
+        private static final String BASE_HREF_SLOT = "__vaadin-base-href__";
+        private static final String INITIAL_JSON_SLOT = "__vaadin-initial-json__";
+
+        private final String appShellTitle;
+
+        // Static fragments around the slots, the slots in document order
+        private final transient byte[][] fragments;
+        private final transient String[] slots;
+
+        private IndexHtmlTemplate(VaadinService service,
+                VaadinRequest request) {
+            Document document;
+            try {
+                document = getIndexHtmlDocument(service);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // Same modifications as for each request in production mode
+            prependBaseHref(BASE_HREF_SLOT, document);
+            addInitialFlow(INITIAL_JSON_SLOT, document);
+            configureErrorDialogStyles(document);
+            setupPwa(document, service);
+            AppShellRegistry.getInstance(service.getContext())
+                    .modifyIndexHtml(document, request);
+            appShellTitle = getAppShellTitle(document);
+
+            String html = document.html();
+            int baseHref = html.indexOf(BASE_HREF_SLOT);
+            int initialJson = html.indexOf(INITIAL_JSON_SLOT);
+            if (baseHref < 0 || initialJson < 0
+                    || html.indexOf(BASE_HREF_SLOT, baseHref + 1) >= 0
+                    || html.indexOf(INITIAL_JSON_SLOT, initialJson + 1) >= 0) {
+                // The page content itself contains a slot marker
+                fragments = null;
+                slots = null;
+                return;
+            }
+            slots = baseHref < initialJson
+                    ? new String[] { BASE_HREF_SLOT, INITIAL_JSON_SLOT }
+                    : new String[] { INITIAL_JSON_SLOT, BASE_HREF_SLOT };
+            int first = html.indexOf(slots[0]);
+            int second = html.indexOf(slots[1]);
+            fragments = new byte[][] {
+                    html.substring(0, first).getBytes(UTF_8),
+                    html.substring(first + slots[0].length(), second)
+                            .getBytes(UTF_8),
+                    html.substring(second + slots[1].length())
+                            .getBytes(UTF_8) };
+        }
+
+        private boolean isCompiled() {
+            return fragments != null;
+        }
+
+        private void write(OutputStream out, String baseHref,
+                String initialJson) throws IOException {
+            out.write(fragments[0]);
+            for (int i = 0; i < slots.length; i++) {
+                String value = slots[i] == BASE_HREF_SLOT // NOSONAR
+                        ? escapeAttributeValue(baseHref)
+                        : initialJson;
+                out.write(value.getBytes(UTF_8));
+                out.write(fragments[i + 1]);
+            }
+        }
+
+        private static String escapeAttributeValue(String value) {
+            // Escape like the attribute is escaped when serializing documents
+            String html = new Attribute("href", value).html();
+            return html.substring("href=\"".length(), html.length() - 1);
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(IndexHtmlRequestHandler.class);
     }
 
+    /**
+     * Gets the Index HTML response of the latest request. The document of the
+     * response is {@code null} when the page has been written from a
+     * precompiled template, which is done in production mode when there are
+     * no {@link com.vaadin.flow.server.communication.IndexHtmlRequestListener}s.
+     *
+     * @return the Index HTML response
+     */
     protected IndexHtmlResponse getIndexHtmlResponse() {
         return this.indexHtmlResponse;
     }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.communication.PushMode;
+
+/**
+ * Coalesces automatic pushes so that each UI is pushed at most once per
+ * configured interval.
+ * <p>
+ * Instead of pushing every time the lock of a UI with
+ * {@link PushMode#AUTOMATIC automatic} push is released, a push is scheduled
+ * to run after the interval. Changes made to the UI before the scheduled push
+ * runs are collected and sent in the same message.
+ * <p>
+ * This class is an internal API, only meant to be used by the framework.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see com.vaadin.flow.function.DeploymentConfiguration#getPushCoalescingInterval()
+ */
+public class PushCoalescer {
+
+    private final long interval;
+
+    private final ScheduledExecutorService executor;
+
+    private final Set<UI> pendingUIs = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder scheduledPushes = new LongAdder();
+
+    private final LongAdder coalescedPushes = new LongAdder();
+
+    /**
+     * Creates a new push coalescer which flushes pushes on its own scheduler
+     * thread.
+     *
+     * @param interval
+     *            the minimum time between two pushes of a UI in milliseconds,
+     *            must be positive
+     */
+    public PushCoalescer(long interval) {
+        this(interval, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vaadin-push-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates a new push coalescer which flushes pushes using the given
+     * executor.
+     *
+     * @param interval
+     *            the minimum time between two pushes of a UI in milliseconds,
+     *            must be positive
+     * @param executor
+     *            the executor to schedule pushes with, not <code>null</code>
+     */
+    public PushCoalescer(long interval, ScheduledExecutorService executor) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException(
+                    "Push coalescing interval must be positive, was "
+                            + interval);
+        }
+        this.interval = interval;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules a push for the given UI unless one is already pending. The
+     * push is done with the UI locked once the interval has passed.
+     *
+     * @param ui
+     *            the UI to push, not <code>null</code>
+     */
+    public void schedulePush(UI ui) {
+        if (!pendingUIs.add(ui)) {
+            coalescedPushes.increment();
+            return;
+        }
+        scheduledPushes.increment();
+        try {
+            executor.schedule(() -> flush(ui), interval,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down along with the service
+            pendingUIs.remove(ui);
+        }
+    }
+
+    private void flush(UI ui) {
+        ui.accessLater(() -> {
+            /*
+             * Changes made after this point are pushed by a new scheduled
+             * push. The UI is no longer dirty after the push so releasing the
+             * lock will not schedule another one.
+             */
+            pendingUIs.remove(ui);
+            if (ui.getPushConfiguration().getPushMode().isEnabled()) {
+                ui.push();
+            }
+        }, () -> pendingUIs.remove(ui)).run();
+    }
+
+    /**
+     * Checks whether a push is pending for the given UI.
+     *
+     * @param ui
+     *            the UI to check
+     * @return <code>true</code> if a push has been scheduled but not yet done,
+     *         otherwise <code>false</code>
+     */
+    public boolean isPushPending(UI ui) {
+        return pendingUIs.contains(ui);
+    }
+
+    /**
+     * Gets the number of pushes that have been scheduled.
+     *
+     * @return the number of scheduled pushes
+     */
+    public long getScheduledPushCount() {
+        return scheduledPushes.sum();
+    }
+
+    /**
+     * Gets the number of pushes that were merged into an already scheduled
+     * push instead of being sent as separate messages.
+     *
+     * @return the number of merged pushes
+     */
+    public long getCoalescedPushCount() {
+        return coalescedPushes.sum();
+    }
+
+    /**
+     * Stops scheduling pushes. Pending pushes are not done.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        pendingUIs.clear();
+    }
+}
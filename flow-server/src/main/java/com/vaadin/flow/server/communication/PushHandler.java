@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.internal.BrowserLiveReload;
 import com.vaadin.flow.internal.BrowserLiveReloadAccess;
 import com.vaadin.flow.internal.CurrentInstance;
@@ -204,6 +205,8 @@ public class PushHandler {
             }
 
             UI ui = null;
+            UIInternals lockedUI = null;
+            boolean sessionLocked = true;
             session.lock();
             try {
                 ui = service.findUI(vaadinRequest);
@@ -213,7 +216,20 @@ public class PushHandler {
                     sendNotificationAndDisconnect(resource,
                             VaadinService.createUINotFoundJSON(true));
                 } else {
-                    callback.run(resource, ui);
+                    if (ui.getInternals().isUILockingEnabled()) {
+                        // Hand over to the UI lock to not block other UIs
+                        sessionLocked = false;
+                        session.unlock();
+                        lockedUI = ui.getInternals();
+                        lockedUI.lock();
+                    }
+                    if (ui.getSession() != session) {
+                        // UI was closed before its lock was acquired
+                        sendNotificationAndDisconnect(resource,
+                                VaadinService.createUINotFoundJSON(true));
+                    } else {
+                        callback.run(resource, ui);
+                    }
                 }
             } catch (final IOException e) {
                 callErrorHandler(session, e);
@@ -241,7 +257,12 @@ public class PushHandler {
                 callErrorHandler(session, e);
             } finally {
                 try {
-                    session.unlock();
+                    if (lockedUI != null) {
+                        lockedUI.unlock();
+                    }
+                    if (sessionLocked) {
+                        session.unlock();
+                    }
                 } catch (Exception e) {
                     getLogger().warn("Error while unlocking session", e);
                     // can't call ErrorHandler, we (hopefully) don't have a lock
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +29,8 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.SessionExpiredHandler;
@@ -96,6 +99,46 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new ServerRpcHandler();
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request) || !session.getService()
+                .getDeploymentConfiguration().isUILockingEnabled()) {
+            return super.handleRequest(session, request, response);
+        }
+
+        // The session is only locked for finding the UI
+        UI uI;
+        session.lock();
+        try {
+            uI = session.getService().findUI(request);
+        } finally {
+            session.unlock();
+        }
+        if (uI == null) {
+            commitJsonResponse(response,
+                    VaadinService.createUINotFoundJSON(false));
+            return true;
+        }
+
+        UIInternals internals = uI.getInternals();
+        internals.lock();
+        Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                .setCurrent(uI);
+        try {
+            if (uI.getSession() != session) {
+                // UI was closed before the lock was acquired
+                commitJsonResponse(response,
+                        VaadinService.createUINotFoundJSON(false));
+                return true;
+            }
+            return handleRequest(session, uI, request, response);
+        } finally {
+            internals.unlock();
+            CurrentInstance.restoreInstances(oldCurrent);
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -107,7 +150,12 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
                     VaadinService.createUINotFoundJSON(false));
             return true;
         }
+        return handleRequest(session, uI, request, response);
+    }
 
+    private boolean handleRequest(VaadinSession session, UI uI,
+            VaadinRequest request, VaadinResponse response)
+            throws IOException {
         StringWriter stringWriter = new StringWriter();
 
         try {
@@ -143,6 +191,14 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
 
     void writeUidl(UI ui, Writer writer, boolean resync)
             throws IOException {
+        if (isUidlStreamingEnabled(ui)) {
+            // some dirt to prevent cross site scripting
+            writer.write("for(;;);[");
+            new UidlWriter().writeUidl(ui, false, resync, writer);
+            writer.write(']');
+            return;
+        }
+
         JsonObject uidl = createUidl(ui, resync);
 
         if (ui instanceof JavaScriptBootstrapUI) {
@@ -158,6 +214,13 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new UidlWriter().createUidl(ui, false, resync);
     }
 
+    private static boolean isUidlStreamingEnabled(UI ui) {
+        // The MPR hash fragment fix needs to rewrite the UIDL as JSON
+        return ui != null && !(ui instanceof JavaScriptBootstrapUI)
+                && ui.getSession().getService().getDeploymentConfiguration()
+                        .isUidlStreamingEnabled();
+    }
+
     private static final Logger getLogger() {
         return LoggerFactory.getLogger(UidlRequestHandler.class.getName());
     }
@@ -19,6 +19,8 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -42,7 +45,9 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
@@ -77,6 +82,7 @@ import elemental.json.JsonValue;
  */
 public class UidlWriter implements Serializable {
     private static final String COULD_NOT_READ_URL_CONTENTS_ERROR_MESSAGE = "Could not read url %s contents";
+    private static final String CHANGES = "changes";
 
     /**
      * Provides context information for the resolve operations.
@@ -132,7 +138,99 @@ public class UidlWriter implements Serializable {
      */
     public JsonObject createUidl(UI ui, boolean async, boolean resync) {
         JsonObject response = Json.createObject();
+        JsonArray stateChanges = Json.createArray();
+        JsonObject trailer = Json.createObject();
+
+        encodeUidl(ui, async, resync, response,
+                change -> stateChanges.set(stateChanges.length(), change),
+                trailer);
+
+        if (stateChanges.length() != 0) {
+            response.put(CHANGES, stateChanges);
+        }
+        for (String key : trailer.keys()) {
+            response.put(key, trailer.<JsonValue> get(key));
+        }
+        return response;
+    }
+
+    /**
+     * Writes all pending changes to the given UI as a JSON string to the given
+     * writer.
+     * <p>
+     * The written output is identical to the JSON representation of the object
+     * returned by {@link #createUidl(UI, boolean, boolean)}, but each state
+     * change is written to the writer as soon as it has been encoded instead
+     * of being gathered into an intermediate JSON array first.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param writer
+     *            the writer to write the UIDL response to
+     * @throws IOException
+     *             if the writer fails
+     * @see DeploymentConfiguration#isUidlStreamingEnabled()
+     */
+    public void writeUidl(UI ui, boolean async, boolean resync, Writer writer)
+            throws IOException {
+        JsonObject response = Json.createObject();
+        JsonObject trailer = Json.createObject();
+        boolean[] hasChanges = new boolean[1];
+
+        try {
+            encodeUidl(ui, async, resync, response, change -> {
+                try {
+                    if (hasChanges[0]) {
+                        writer.write(',');
+                    } else {
+                        // The head is complete before any change is encoded
+                        writeHead(response, writer);
+                        writer.write(",\"" + CHANGES + "\":[");
+                        hasChanges[0] = true;
+                    }
+                    writer.write(change.toJson());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, trailer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
 
+        if (hasChanges[0]) {
+            writer.write(']');
+        } else {
+            writeHead(response, writer);
+        }
+        if (trailer.keys().length > 0) {
+            String tail = trailer.toJson();
+            writer.write(',');
+            writer.write(tail, 1, tail.length() - 1);
+        } else {
+            writer.write('}');
+        }
+    }
+
+    private static void writeHead(JsonObject response, Writer writer)
+            throws IOException {
+        // The response object always has keys so it can be reopened by
+        // dropping its closing brace
+        String head = response.toJson();
+        writer.write(head, 0, head.length() - 1);
+    }
+
+    /**
+     * Encodes the UIDL response. The members of {@code response} precede the
+     * state changes and the members of {@code trailer} follow them.
+     */
+    private void encodeUidl(UI ui, boolean async, boolean resync,
+            JsonObject response, Consumer<JsonValue> stateChanges,
+            JsonObject trailer) {
         UIInternals uiInternals = ui.getInternals();
 
         VaadinSession session = ui.getSession();
@@ -167,33 +265,28 @@ public class UidlWriter implements Serializable {
             response.put("meta", meta);
         }
 
-        JsonArray stateChanges = Json.createArray();
-
-        encodeChanges(ui, stateChanges);
+        encodeChanges(ui, stateChanges, service.getDeploymentConfiguration()
+                .isCompactChangesEnabled());
 
-        populateDependencies(response, uiInternals.getDependencyList(),
+        populateDependencies(trailer, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser()));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
-            response.put("constants",
+            trailer.put("constants",
                     uiInternals.getConstantPool().dumpConstants());
         }
-        if (stateChanges.length() != 0) {
-            response.put("changes", stateChanges);
-        }
 
         List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
                 .dumpPendingJavaScriptInvocations();
         if (!executeJavaScriptList.isEmpty()) {
-            response.put(JsonConstants.UIDL_KEY_EXECUTE,
+            trailer.put(JsonConstants.UIDL_KEY_EXECUTE,
                     encodeExecuteJavaScriptList(executeJavaScriptList));
         }
         if (ui.getSession().getService().getDeploymentConfiguration()
                 .isRequestTiming()) {
-            response.put("timings", createPerformanceData(ui));
+            trailer.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
-        return response;
     }
 
     /**
@@ -379,10 +472,14 @@ public class UidlWriter implements Serializable {
      * @param ui
      *            the UI
      * @param stateChanges
-     *            a JSON array to put state changes into
+     *            a consumer to pass encoded state changes to
+     * @param compact
+     *            whether to encode the changes as compact JSON arrays instead
+     *            of JSON objects
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, Consumer<JsonValue> stateChanges,
+            boolean compact) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
@@ -397,8 +494,9 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            ConstantPool constantPool = uiInternals.getConstantPool();
+            stateChanges.accept(compact ? change.toCompactJson(constantPool)
+                    : change.toJson(constantPool));
         });
 
         componentsWithDependencies
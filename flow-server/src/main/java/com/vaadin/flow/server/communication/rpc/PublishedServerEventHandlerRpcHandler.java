@@ -16,12 +16,16 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,6 +40,7 @@ import com.vaadin.flow.component.template.internal.DeprecatedPolymerPublishedEve
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ClientCallableHandlers;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
@@ -62,6 +67,51 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static final Collection<RpcDecoder> DECODERS = loadDecoders();
 
+    private static final ReflectionCache<Component, Map<String, HandlerMethod>> HANDLER_METHODS = new ReflectionCache<>(
+            PublishedServerEventHandlerRpcHandler::collectHandlerMethods);
+
+    /**
+     * An event handler method with a method handle for invoking it, resolved
+     * once per class.
+     */
+    private static final class HandlerMethod {
+        // null if the class declares several methods with the same name
+        private final Method method;
+
+        private final Class<?>[] parameterTypes;
+
+        // Takes the instance and an argument array, null if not accessible
+        private final MethodHandle handle;
+
+        private HandlerMethod(Method method) {
+            this.method = method;
+            if (method == null) {
+                parameterTypes = null;
+                handle = null;
+                return;
+            }
+            parameterTypes = method.getParameterTypes();
+            handle = createHandle(method);
+        }
+
+        private static MethodHandle createHandle(Method method) {
+            try {
+                method.setAccessible(true);
+                MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                        .asFixedArity();
+                return handle.asType(handle.type().generic())
+                        .asSpreader(Object[].class,
+                                method.getParameterCount());
+            } catch (IllegalAccessException | RuntimeException e) {
+                LoggerFactory.getLogger(
+                        PublishedServerEventHandlerRpcHandler.class.getName())
+                        .debug("Cannot create a method handle for {}", method,
+                                e);
+                return null;
+            }
+        }
+    }
+
     @Override
     public String getRpcType() {
         return JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER;
@@ -130,7 +180,8 @@ public class PublishedServerEventHandlerRpcHandler
     static void invokeMethod(Component instance, Class<?> clazz,
             String methodName, JsonArray args, int promiseId) {
         assert instance != null;
-        Optional<Method> method = findMethod(instance, clazz, methodName);
+        Optional<HandlerMethod> method = findMethod(instance, clazz,
+                methodName);
         if (method.isPresent()) {
             invokeMethod(instance, method.get(), args, promiseId);
         } else if (instance instanceof Composite) {
@@ -145,24 +196,39 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Optional<Method> findMethod(Component instance,
+    @SuppressWarnings("unchecked")
+    private static Optional<HandlerMethod> findMethod(Component instance,
             Class<?> clazz, String methodName) {
-        List<Method> methods = Stream.of(clazz.getDeclaredMethods())
-                .filter(method -> methodName.equals(method.getName()))
-                .filter(method -> hasMethodAnnotation(method))
-                .collect(Collectors.toList());
-        if (methods.size() > 1) {
+        HandlerMethod method = HANDLER_METHODS
+                .get((Class<? extends Component>) clazz).get(methodName);
+        if (method != null && method.method == null) {
             String msg = String.format("Class '%s' contains "
                     + "several event handler method with the same name '%s'",
                     instance.getClass().getName(), methodName);
             throw new IllegalStateException(msg);
-        } else if (methods.size() == 1) {
-            return Optional.of(methods.get(0));
-        } else if (!Component.class.equals(clazz)) {
-            return findMethod(instance, clazz.getSuperclass(), methodName);
-        } else {
-            return Optional.empty();
         }
+        return Optional.ofNullable(method);
+    }
+
+    /**
+     * Collects the event handler methods of the given class and its super
+     * classes up to {@link Component} by name. Methods of sub classes
+     * override methods with the same name in super classes.
+     */
+    private static Map<String, HandlerMethod> collectHandlerMethods(
+            Class<?> clazz) {
+        Map<String, HandlerMethod> methods = new HashMap<>();
+        if (!Component.class.equals(clazz)) {
+            methods.putAll(collectHandlerMethods(clazz.getSuperclass()));
+        }
+        Map<String, List<Method>> declared = Stream
+                .of(clazz.getDeclaredMethods())
+                .filter(method -> hasMethodAnnotation(method))
+                .collect(Collectors.groupingBy(Method::getName));
+        declared.forEach((name, candidates) -> methods.put(name,
+                new HandlerMethod(
+                        candidates.size() == 1 ? candidates.get(0) : null)));
+        return methods;
     }
 
     private static boolean hasMethodAnnotation(Method method) {
@@ -173,7 +239,7 @@ public class PublishedServerEventHandlerRpcHandler
                 || method.isAnnotationPresent(ClientCallable.class);
     }
 
-    private static void invokeMethod(Component instance, Method method,
+    private static void invokeMethod(Component instance, HandlerMethod method,
             JsonArray args, int promiseId) {
         if (promiseId == -1) {
             invokeMethod(instance, method, args);
@@ -198,11 +264,28 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Object invokeMethod(Component instance, Method method,
-            JsonArray args) {
+    private static Object invokeMethod(Component instance,
+            HandlerMethod method, JsonArray args) {
+        Object[] decodedArgs = decodeArgs(instance, method, args);
+        if (method.handle == null) {
+            return invokeReflectively(instance, method.method, decodedArgs);
+        }
+        try {
+            return method.handle.invokeExact((Object) instance, decodedArgs);
+        } catch (Throwable e) {
+            // Same as for exceptions from reflective calls
+            LoggerFactory.getLogger(
+                    PublishedServerEventHandlerRpcHandler.class.getName())
+                    .debug(null, e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Object invokeReflectively(Component instance,
+            Method method, Object[] args) {
         try {
             method.setAccessible(true);
-            return method.invoke(instance, decodeArgs(instance, method, args));
+            return method.invoke(instance, args);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         } catch (InvocationTargetException e) {
@@ -213,9 +296,10 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Object[] decodeArgs(Component instance, Method method,
-            JsonArray argsFromClient) {
-        int methodArgs = method.getParameterCount();
+    private static Object[] decodeArgs(Component instance,
+            HandlerMethod handlerMethod, JsonArray argsFromClient) {
+        Method method = handlerMethod.method;
+        int methodArgs = handlerMethod.parameterTypes.length;
         int clientValuesCount = argsFromClient.length();
         JsonArray argValues;
         if (method.isVarArgs()) {
@@ -244,13 +328,14 @@ public class PublishedServerEventHandlerRpcHandler
                 throw new IllegalArgumentException(msg);
             }
         }
-        List<Object> decoded = new ArrayList<>(method.getParameterCount());
-        Class<?>[] methodParameterTypes = method.getParameterTypes();
+        Object[] decoded = new Object[methodArgs];
+        Class<?>[] methodParameterTypes = handlerMethod.parameterTypes;
         for (int i = 0; i < argValues.length(); i++) {
             Class<?> type = methodParameterTypes[i];
-            decoded.add(decodeArg(instance, method, type, i, argValues.get(i)));
+            decoded[i] = decodeArg(instance, method, type, i,
+                    argValues.get(i));
         }
-        return decoded.toArray(new Object[method.getParameterCount()]);
+        return decoded;
     }
 
     private static JsonArray unwrapVarArgs(JsonArray argsFromClient,
@@ -335,9 +420,12 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static Optional<RpcDecoder> getDecoder(JsonValue value,
             Class<?> type) {
-        return DECODERS.stream()
-                .filter(decoder -> decoder.isApplicable(value, type))
-                .findFirst();
+        for (RpcDecoder decoder : DECODERS) {
+            if (decoder.isApplicable(value, type)) {
+                return Optional.of(decoder);
+            }
+        }
+        return Optional.empty();
     }
 
     private static Object decodeArray(Method method, Class<?> type, int index,
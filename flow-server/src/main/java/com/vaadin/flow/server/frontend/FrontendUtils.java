@@ -160,6 +160,27 @@ public class FrontendUtils {
      */
     public static final String IMPORTS_NAME = "generated-flow-imports.js";
 
+    /**
+     * Name of the file that contains the byte code scan results of the
+     * previous frontend dependency scan. It is generated in the
+     * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
+     */
+    public static final String SCAN_INDEX_NAME = "flow-scan-index.json";
+
+    /**
+     * Name of the file that contains the input fingerprints of the frontend
+     * tasks run by {@link NodeTasks}. It is generated in the
+     * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
+     */
+    public static final String TASK_STATE_NAME = "flow-task-state.json";
+
+    /**
+     * Name of the file that lists the frontend files extracted from jar files
+     * in the previous run. It is generated in the
+     * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
+     */
+    public static final String COPIED_FILES_NAME = "flow-copied-files.json";
+
     /**
      * The TypeScript definitions for the {@link FrontendUtils#IMPORTS_NAME}
      * file.
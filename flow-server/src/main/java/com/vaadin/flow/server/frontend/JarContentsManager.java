@@ -20,8 +20,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -276,6 +278,71 @@ public class JarContentsManager {
         }
     }
 
+    /**
+     * Finds the files matching the inclusion filters in the jar file, mapped
+     * by their paths relative to the given directory, in the same way as
+     * {@link #copyIncludedFilesFromJarTrimmingBasePath} copies them.
+     *
+     * @param jarFile
+     *            the opened jar file to look for files in, not {@code null}
+     * @param jarDirectoryToCopyFrom
+     *            a path relative to jar root, only files from this path are
+     *            included, can be {@code null}, which is treated as a root of
+     *            the jar
+     * @param wildcardPathInclusions
+     *            wildcard inclusions that are used to check each path against
+     * @return the matching jar entries by their relative paths
+     */
+    Map<String, ZipEntry> findIncludedEntriesTrimmingBasePath(JarFile jarFile,
+            String jarDirectoryToCopyFrom, String... wildcardPathInclusions) {
+        String basePath = normalizeJarBasePath(jarDirectoryToCopyFrom);
+        Map<String, ZipEntry> entries = new LinkedHashMap<>();
+        jarFile.stream().filter(file -> !file.isDirectory())
+                .filter(file -> file.getName().toLowerCase(Locale.ENGLISH)
+                        .startsWith(basePath.toLowerCase(Locale.ENGLISH)))
+                .filter(file -> includeFile(file, wildcardPathInclusions))
+                .forEach(jarEntry -> entries.put(
+                        trimBasePath(jarEntry.getName(), basePath), jarEntry));
+        return entries;
+    }
+
+    /**
+     * Copies a jar entry to the target file. The target file is not modified
+     * if it already has the same content.
+     *
+     * @param jarFile
+     *            the opened jar file containing the entry, not {@code null}
+     * @param jarEntry
+     *            the entry to copy, not {@code null}
+     * @param target
+     *            the file to copy the entry to, not {@code null}
+     * @throws UncheckedIOException
+     *             if {@link IOException} occurs during the operation
+     */
+    void copyJarEntry(JarFile jarFile, ZipEntry jarEntry, File target) {
+        String fullPath = jarEntry.getName();
+        try {
+            if (target.exists()) {
+                File tempFile = File.createTempFile(fullPath, null);
+                FileUtils.copyInputStreamToFile(
+                        jarFile.getInputStream(jarEntry), tempFile);
+                if (!FileUtils.contentEquals(tempFile, target)) {
+                    FileUtils.forceDelete(target);
+                    FileUtils.moveFile(tempFile, target);
+                } else {
+                    tempFile.delete();
+                }
+            } else {
+                FileUtils.copyInputStreamToFile(
+                        jarFile.getInputStream(jarEntry), target);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format(
+                    "Failed to extract jar entry '%s' from jarFile '%s'",
+                    jarEntry, jarFile.getName()), e);
+        }
+    }
+
     private String normalizeJarBasePath(String rawPath) {
         if (rawPath == null || rawPath.isEmpty()) {
             return "";
@@ -299,32 +366,15 @@ public class JarContentsManager {
 
     private void copyJarEntryTrimmingBasePath(JarFile jarFile,
             ZipEntry jarEntry, String basePath, File outputDirectory) {
-        String fullPath = jarEntry.getName();
-        String relativePath = fullPath
-                .substring(fullPath.toLowerCase(Locale.ENGLISH)
-                        .indexOf(basePath.toLowerCase(Locale.ENGLISH))
-                        + basePath.length());
-        File target = new File(outputDirectory, relativePath);
-        try {
-            if (target.exists()) {
-                File tempFile = File.createTempFile(fullPath, null);
-                FileUtils.copyInputStreamToFile(
-                        jarFile.getInputStream(jarEntry), tempFile);
-                if (!FileUtils.contentEquals(tempFile, target)) {
-                    FileUtils.forceDelete(target);
-                    FileUtils.moveFile(tempFile, target);
-                } else {
-                    tempFile.delete();
-                }
-            } else {
-                FileUtils.copyInputStreamToFile(
-                        jarFile.getInputStream(jarEntry), target);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(String.format(
-                    "Failed to extract jar entry '%s' from jarFile '%s'",
-                    jarEntry, outputDirectory), e);
-        }
+        String relativePath = trimBasePath(jarEntry.getName(), basePath);
+        copyJarEntry(jarFile, jarEntry,
+                new File(outputDirectory, relativePath));
+    }
+
+    private String trimBasePath(String fullPath, String basePath) {
+        return fullPath.substring(fullPath.toLowerCase(Locale.ENGLISH)
+                .indexOf(basePath.toLowerCase(Locale.ENGLISH))
+                + basePath.length());
     }
 
 }
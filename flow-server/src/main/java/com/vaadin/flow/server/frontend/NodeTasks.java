@@ -19,8 +19,6 @@ package com.vaadin.flow.server.frontend;
 import java.io.File;
 import java.io.Serializable;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
 
@@ -30,12 +28,17 @@ import com.vaadin.flow.server.frontend.scanner.ClassFinder;
 import com.vaadin.flow.server.frontend.scanner.FrontendDependenciesScanner;
 
 import elemental.json.JsonObject;
+import static com.vaadin.flow.server.connect.generator.VaadinConnectClientGenerator.CONNECT_CLIENT_NAME;
+import static com.vaadin.flow.server.connect.generator.VaadinConnectClientGenerator.CUSTOM_CONNECT_CLIENT_NAME;
+import static com.vaadin.flow.server.frontend.FrontendUtils.COPIED_FILES_NAME;
 import static com.vaadin.flow.server.frontend.FrontendUtils.DEFAULT_FRONTEND_DIR;
 import static com.vaadin.flow.server.frontend.FrontendUtils.DEFAULT_GENERATED_DIR;
 import static com.vaadin.flow.server.frontend.FrontendUtils.IMPORTS_NAME;
 import static com.vaadin.flow.server.frontend.FrontendUtils.NODE_MODULES;
 import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_FRONTEND_DIR;
 import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_GENERATED_DIR;
+import static com.vaadin.flow.server.frontend.FrontendUtils.SCAN_INDEX_NAME;
+import static com.vaadin.flow.server.frontend.FrontendUtils.TASK_STATE_NAME;
 
 /**
  * An executor that it's run when the servlet context is initialised in dev-mode
@@ -495,9 +498,11 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
-    private final Collection<FallibleCommand> commands = new ArrayList<>();
+    private final TaskGraph tasks;
 
     private NodeTasks(Builder builder) {
+        tasks = new TaskGraph(
+                new File(builder.generatedFolder, TASK_STATE_NAME));
 
         ClassFinder classFinder = new ClassFinder.CachedClassFinder(
                 builder.classFinder);
@@ -506,7 +511,9 @@ public class NodeTasks implements FallibleCommand {
         if (builder.enablePackagesUpdate || builder.enableImportsUpdate) {
             frontendDependencies = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!builder.useByteCodeScanner, classFinder,
-                            builder.generateEmbeddableWebComponents);
+                            builder.generateEmbeddableWebComponents,
+                            new File(builder.generatedFolder,
+                                    SCAN_INDEX_NAME));
 
             if (builder.generateEmbeddableWebComponents) {
                 FrontendWebComponentGenerator generator = new FrontendWebComponentGenerator(
@@ -515,11 +522,14 @@ public class NodeTasks implements FallibleCommand {
             }
         }
 
+        // Tasks which modify package.json, node_modules or the flow
+        // resources folder, in the order they must run
+        TaskGraph.Task packagesTask = null;
         if (builder.createMissingPackageJson) {
             TaskGeneratePackageJson packageCreator = new TaskGeneratePackageJson(
                     builder.npmFolder, builder.generatedFolder,
                     builder.flowResourcesFolder);
-            commands.add(packageCreator);
+            packagesTask = tasks.add(packageCreator);
         }
 
         if (!builder.useDeprecatedV14Bootstrapping) {
@@ -537,33 +547,37 @@ public class NodeTasks implements FallibleCommand {
                     classFinder, frontendDependencies, builder.npmFolder,
                     builder.generatedFolder, builder.flowResourcesFolder,
                     builder.cleanNpmFiles, builder.enablePnpm);
-            commands.add(packageUpdater);
+            packagesTask = tasks.add(packageUpdater, packagesTask);
 
             if (builder.runNpmInstall) {
-                commands.add(new TaskRunNpmInstall(
+                packagesTask = tasks.add(new TaskRunNpmInstall(
                         classFinder, packageUpdater,
                         builder.enablePnpm, builder.requireHomeNodeExec,
-                        builder.nodeVersion, builder.nodeDownloadRoot));
+                        builder.nodeVersion, builder.nodeDownloadRoot),
+                        packagesTask);
 
-                commands.add(new TaskInstallWebpackPlugins(
-                    new File(builder.npmFolder, NODE_MODULES)));
+                tasks.add(new TaskInstallWebpackPlugins(
+                    new File(builder.npmFolder, NODE_MODULES)), packagesTask);
             }
         }
 
         if (builder.jarFiles != null) {
-            commands.add(new TaskCopyFrontendFiles(builder.flowResourcesFolder,
-                    builder.jarFiles));
+            packagesTask = tasks.add(
+                    new TaskCopyFrontendFiles(builder.flowResourcesFolder,
+                            builder.jarFiles, new File(builder.generatedFolder,
+                                    COPIED_FILES_NAME)),
+                    packagesTask);
 
             if (builder.localResourcesFolder != null) {
-                commands.add(new TaskCopyLocalFrontendFiles(
+                packagesTask = tasks.add(new TaskCopyLocalFrontendFiles(
                         builder.flowResourcesFolder,
-                        builder.localResourcesFolder));
+                        builder.localResourcesFolder), packagesTask);
             }
         }
 
         if (builder.webpackTemplate != null
                 && !builder.webpackTemplate.isEmpty()) {
-            commands.add(new TaskUpdateWebpack(builder.frontendDirectory,
+            tasks.add(new TaskUpdateWebpack(builder.frontendDirectory,
                     builder.npmFolder, builder.webpackOutputDirectory,
                     builder.webpackTemplate, builder.webpackGeneratedTemplate,
                     new File(builder.generatedFolder, IMPORTS_NAME),
@@ -572,15 +586,17 @@ public class NodeTasks implements FallibleCommand {
         }
 
         if (builder.enableImportsUpdate) {
-            commands.add(
+            // Imports are checked against the installed and copied files
+            TaskGraph.Task importsTask = tasks.add(
                     new TaskUpdateImports(classFinder, frontendDependencies,
                             finder -> getFallbackScanner(builder, finder),
                             builder.npmFolder, builder.generatedFolder,
                             builder.frontendDirectory, builder.tokenFile,
-                            builder.tokenFileData, builder.enablePnpm));
+                            builder.tokenFileData, builder.enablePnpm),
+                    packagesTask);
 
-            commands.add(new TaskUpdateThemeImport(builder.npmFolder,
-                frontendDependencies.getThemeDefinition()));
+            tasks.add(new TaskUpdateThemeImport(builder.npmFolder,
+                frontendDependencies.getThemeDefinition()), importsTask);
         }
     }
 
@@ -589,20 +605,20 @@ public class NodeTasks implements FallibleCommand {
                 FrontendUtils.TARGET);
         TaskGenerateIndexHtml taskGenerateIndexHtml = new TaskGenerateIndexHtml(
                 builder.frontendDirectory, outputDirectory);
-        commands.add(taskGenerateIndexHtml);
+        tasks.add(taskGenerateIndexHtml);
         TaskGenerateIndexTs taskGenerateIndexTs = new TaskGenerateIndexTs(
                 builder.frontendDirectory,
                 new File(builder.generatedFolder, IMPORTS_NAME),
                 outputDirectory);
-        commands.add(taskGenerateIndexTs);
+        tasks.add(taskGenerateIndexTs);
 
         TaskGenerateTsConfig taskGenerateTsConfig = new TaskGenerateTsConfig(
                 builder.npmFolder);
-        commands.add(taskGenerateTsConfig);
+        tasks.add(taskGenerateTsConfig);
 
         TaskGenerateTsDefinitions taskGenerateTsDefinitions = new TaskGenerateTsDefinitions(
                 builder.npmFolder);
-        commands.add(taskGenerateTsDefinitions);
+        tasks.add(taskGenerateTsDefinitions);
     }
 
     private void addConnectServicesTasks(Builder builder) {
@@ -611,7 +627,7 @@ public class NodeTasks implements FallibleCommand {
                 builder.connectJavaSourceFolder,
                 builder.classFinder.getClassLoader(),
                 builder.connectGeneratedOpenApiFile);
-        commands.add(taskGenerateOpenApi);
+        TaskGraph.Task openApiTask = tasks.add(taskGenerateOpenApi);
 
         if (builder.connectClientTsApiFolder != null) {
             TaskGenerateConnect taskGenerateConnectTs = new TaskGenerateConnect(
@@ -619,7 +635,14 @@ public class NodeTasks implements FallibleCommand {
                     builder.connectGeneratedOpenApiFile,
                     builder.connectClientTsApiFolder,
                     builder.frontendDirectory);
-            commands.add(taskGenerateConnectTs);
+            // Generated only from the OpenAPI file and the configuration
+            tasks.add(taskGenerateConnectTs, openApiTask)
+                    .withInputs(builder.connectGeneratedOpenApiFile,
+                            builder.connectApplicationProperties,
+                            new File(builder.frontendDirectory,
+                                    CUSTOM_CONNECT_CLIENT_NAME))
+                    .withOutputs(new File(builder.connectClientTsApiFolder,
+                            CONNECT_CLIENT_NAME));
         }
     }
 
@@ -634,11 +657,14 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
+    /**
+     * Runs the tasks. Tasks which don't depend on each other are run
+     * concurrently, and tasks whose inputs have not changed since the
+     * previous run are skipped.
+     */
     @Override
     public void execute() throws ExecutionFailedException {
-        for (FallibleCommand command : commands) {
-            command.execute();
-        }
+        tasks.execute();
     }
 
 }
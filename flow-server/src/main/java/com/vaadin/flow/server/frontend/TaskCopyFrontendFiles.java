@@ -16,19 +16,40 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import elemental.json.Json;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
 import static com.vaadin.flow.server.Constants.COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
-
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Copies JavaScript and CSS files from JAR files into a given folder.
+ * <p>
+ * The files extracted from jar files may be listed in a manifest file together
+ * with the CRC and size of their jar entries and the size and modification
+ * time of the target files. On the next run only the entries which have
+ * changed, or whose target files have changed, are extracted again, and files
+ * whose entries have disappeared are removed.
  *
  * @since 2.0
  */
@@ -36,8 +57,55 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
     private static final String[] WILDCARD_INCLUSIONS = new String[] {
             "**/*.js", "**/*.css", "**/*.ts" };
 
+    private static final String JAR = "jar";
+    private static final String ENTRY = "entry";
+    private static final String CRC = "crc";
+    private static final String SIZE = "size";
+    private static final String TARGET_SIZE = "targetSize";
+    private static final String TARGET_LAST_MODIFIED = "targetLastModified";
+
+    /**
+     * A jar entry copied to the target directory.
+     */
+    private static final class CopiedEntry {
+        private final String jar;
+        private final String entry;
+        private final long crc;
+        private final long size;
+        // Only known for the entries read from the manifest
+        private final long targetSize;
+        private final long targetLastModified;
+
+        private CopiedEntry(String jar, String entry, long crc, long size) {
+            this(jar, entry, crc, size, -1, -1);
+        }
+
+        private CopiedEntry(String jar, String entry, long crc, long size,
+                long targetSize, long targetLastModified) {
+            this.jar = jar;
+            this.entry = entry;
+            this.crc = crc;
+            this.size = size;
+            this.targetSize = targetSize;
+            this.targetLastModified = targetLastModified;
+        }
+
+        private boolean isSameAs(CopiedEntry other) {
+            // CRC and size are unknown (-1) only for malformed jars
+            return other != null && crc != -1 && size != -1
+                    && jar.equals(other.jar) && entry.equals(other.entry)
+                    && crc == other.crc && size == other.size;
+        }
+
+        private boolean isTargetUnchanged(File target) {
+            return target.isFile() && target.length() == targetSize
+                    && target.lastModified() == targetLastModified;
+        }
+    }
+
     private File targetDirectory;
     private Set<File> resourceLocations = null;
+    private File manifestFile;
 
     /**
      * Scans the jar files given defined by {@code resourcesToScan}.
@@ -48,6 +116,23 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
      *            folders and jar files to scan.
      */
     TaskCopyFrontendFiles(File targetDirectory, Set<File> resourcesToScan) {
+        this(targetDirectory, resourcesToScan, null);
+    }
+
+    /**
+     * Scans the jar files given defined by {@code resourcesToScan}, extracting
+     * only the files which have changed since the previous run.
+     *
+     * @param targetDirectory
+     *            target directory for the discovered files
+     * @param resourcesToScan
+     *            folders and jar files to scan.
+     * @param manifestFile
+     *            the file listing the files extracted in the previous run, or
+     *            {@code null} to extract all files
+     */
+    TaskCopyFrontendFiles(File targetDirectory, Set<File> resourcesToScan,
+            File manifestFile) {
         Objects.requireNonNull(targetDirectory,
                 "Parameter 'targetDirectory' must not be " + "null");
         Objects.requireNonNull(resourcesToScan,
@@ -55,6 +140,7 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
         this.targetDirectory = targetDirectory;
         resourceLocations = resourcesToScan.stream().filter(File::exists)
                 .collect(Collectors.toSet());
+        this.manifestFile = manifestFile;
     }
 
     @Override
@@ -63,8 +149,28 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
         log().info("Copying frontend resources from jar files ...");
         TaskCopyLocalFrontendFiles.createTargetFolder(targetDirectory);
         JarContentsManager jarContentsManager = new JarContentsManager();
+        Map<String, CopiedEntry> previous = readManifest();
+
+        Map<File, Map<String, CopiedEntry>> entriesByJar = resourceLocations
+                .parallelStream().filter(location -> !location.isDirectory())
+                .collect(Collectors.toMap(jar -> jar,
+                        jar -> listEntries(jarContentsManager, jar)));
+        Map<String, CopiedEntry> copied = new LinkedHashMap<>();
+        resourceLocations.stream().filter(entriesByJar::containsKey)
+                .map(entriesByJar::get).forEach(copied::putAll);
+        previous.keySet().stream().filter(path -> !copied.containsKey(path))
+                .map(path -> new File(targetDirectory, path))
+                .forEach(FileUtils::deleteQuietly);
+
+        // The locations are copied in their iteration order, so that a file
+        // in several locations is always taken from the same one. Consecutive
+        // jars are extracted together, the later jar providing each file.
+        Map<String, CopiedEntry> jarEntries = new LinkedHashMap<>();
+        int extracted = 0;
         for (File location : resourceLocations) {
             if (location.isDirectory()) {
+                extracted += extractChanged(jarContentsManager, jarEntries,
+                        previous);
                 TaskCopyLocalFrontendFiles.copyLocalResources(
                         new File(location, RESOURCES_FRONTEND_DEFAULT),
                         targetDirectory);
@@ -73,17 +179,128 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
                                 COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT),
                         targetDirectory);
             } else {
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_FRONTEND_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
-                        targetDirectory, WILDCARD_INCLUSIONS);
+                jarEntries.putAll(entriesByJar.get(location));
             }
         }
+        extracted += extractChanged(jarContentsManager, jarEntries, previous);
+        writeManifest(copied);
+
         long ms = (System.nanoTime() - start) / 1000000;
-        log().info("Visited {} resources. Took {} ms.",
-                resourceLocations.size(), ms);
+        log().info("Visited {} resources, extracted {} of {} files. "
+                + "Took {} ms.", resourceLocations.size(), extracted,
+                copied.size(), ms);
+    }
+
+    /**
+     * Extracts the given entries which have changed since the previous run,
+     * or whose target files have changed, and clears the given entries.
+     *
+     * @return the number of extracted files
+     */
+    private int extractChanged(JarContentsManager jarContentsManager,
+            Map<String, CopiedEntry> entries,
+            Map<String, CopiedEntry> previous) {
+        Map<String, Map<String, String>> changedByJar = new HashMap<>();
+        entries.forEach((path, entry) -> {
+            CopiedEntry previousEntry = previous.get(path);
+            if (!entry.isSameAs(previousEntry) || !previousEntry
+                    .isTargetUnchanged(new File(targetDirectory, path))) {
+                changedByJar.computeIfAbsent(entry.jar,
+                        jar -> new LinkedHashMap<>()).put(path, entry.entry);
+            }
+        });
+        changedByJar.entrySet().parallelStream()
+                .forEach(changed -> extract(jarContentsManager,
+                        changed.getKey(), changed.getValue()));
+        entries.clear();
+        return changedByJar.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static Map<String, CopiedEntry> listEntries(
+            JarContentsManager jarContentsManager, File jar) {
+        Map<String, CopiedEntry> entries = new LinkedHashMap<>();
+        String jarPath = jar.getAbsolutePath();
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            for (String basePath : new String[] { RESOURCES_FRONTEND_DEFAULT,
+                    COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT }) {
+                jarContentsManager
+                        .findIncludedEntriesTrimmingBasePath(jarFile, basePath,
+                                WILDCARD_INCLUSIONS)
+                        .forEach((path, entry) -> entries.put(path,
+                                new CopiedEntry(jarPath, entry.getName(),
+                                        entry.getCrc(), entry.getSize())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    String.format("Failed to retrieve file '%s'", jar), e);
+        }
+        return entries;
+    }
+
+    private void extract(JarContentsManager jarContentsManager, String jar,
+            Map<String, String> entriesByPath) {
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            entriesByPath.forEach((path, name) -> {
+                ZipEntry entry = jarFile.getEntry(name);
+                jarContentsManager.copyJarEntry(jarFile, entry,
+                        new File(targetDirectory, path));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    String.format("Failed to retrieve file '%s'", jar), e);
+        }
+    }
+
+    private Map<String, CopiedEntry> readManifest() {
+        if (manifestFile == null || !manifestFile.exists()) {
+            return Collections.emptyMap();
+        }
+        try {
+            JsonObject json = Json
+                    .parse(FileUtils.readFileToString(manifestFile, UTF_8));
+            Map<String, CopiedEntry> entries = new HashMap<>();
+            for (String path : json.keys()) {
+                JsonObject entry = json.getObject(path);
+                entries.put(path,
+                        new CopiedEntry(entry.getString(JAR),
+                                entry.getString(ENTRY),
+                                (long) entry.getNumber(CRC),
+                                (long) entry.getNumber(SIZE),
+                                (long) entry.getNumber(TARGET_SIZE),
+                                (long) entry.getNumber(TARGET_LAST_MODIFIED)));
+            }
+            return entries;
+        } catch (IOException | JsonException | NullPointerException e) {
+            // All files are extracted again if the manifest is unreadable
+            log().debug("Ignoring unreadable manifest '{}'", manifestFile, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private void writeManifest(Map<String, CopiedEntry> copied) {
+        if (manifestFile == null) {
+            return;
+        }
+        // Sorted, so that the file is the same for the same entries
+        JsonObject json = Json.createObject();
+        new TreeMap<>(copied).forEach((path, copiedEntry) -> {
+            JsonObject entry = Json.createObject();
+            entry.put(JAR, copiedEntry.jar);
+            entry.put(ENTRY, copiedEntry.entry);
+            entry.put(CRC, copiedEntry.crc);
+            entry.put(SIZE, copiedEntry.size);
+            // The target file may also come from a later location
+            File target = new File(targetDirectory, path);
+            entry.put(TARGET_SIZE, target.length());
+            entry.put(TARGET_LAST_MODIFIED, target.lastModified());
+            json.put(path, entry);
+        });
+        try {
+            FileUtils.writeStringToFile(manifestFile,
+                    JsonUtil.stringify(json), UTF_8);
+        } catch (IOException e) {
+            log().warn("Unable to write the manifest '{}'", manifestFile, e);
+        }
     }
 
     private Logger log() {
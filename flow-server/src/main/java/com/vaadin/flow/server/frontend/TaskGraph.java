@@ -0,0 +1,316 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.server.ExecutionFailedException;
+
+import elemental.json.Json;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Runs a set of commands as a graph of tasks. Each task is started as soon as
+ * the tasks it depends on have completed, so that independent tasks run
+ * concurrently.
+ * <p>
+ * Tasks may declare their input and output files. Such a task is skipped when
+ * its outputs exist and the fingerprint of the contents of its inputs matches
+ * the one stored in the state file after its previous successful run. The
+ * contents are used rather than timestamps since some inputs are generated
+ * again by each run, with the same contents when nothing has changed.
+ *
+ * @since
+ */
+final class TaskGraph implements FallibleCommand {
+
+    /**
+     * A command in the task graph.
+     */
+    static final class Task {
+        private final FallibleCommand command;
+        private final List<Task> dependencies;
+        private final List<File> inputs = new ArrayList<>();
+        private final List<File> outputs = new ArrayList<>();
+
+        private Task(FallibleCommand command, List<Task> dependencies) {
+            this.command = command;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * Declares the files the result of the task depends on. Directories
+         * are included recursively, and files which don't exist are taken
+         * into account too.
+         *
+         * @param files
+         *            the input files, {@code null} values are ignored
+         * @return this task, for chaining
+         */
+        Task withInputs(File... files) {
+            Arrays.stream(files).filter(Objects::nonNull)
+                    .forEach(inputs::add);
+            return this;
+        }
+
+        /**
+         * Declares the files the task produces. The task is not skipped if
+         * any of them is missing.
+         *
+         * @param files
+         *            the output files, {@code null} values are ignored
+         * @return this task, for chaining
+         */
+        Task withOutputs(File... files) {
+            Arrays.stream(files).filter(Objects::nonNull)
+                    .forEach(outputs::add);
+            return this;
+        }
+
+        private String getName() {
+            return command.getClass().getSimpleName();
+        }
+    }
+
+    private final File stateFile;
+    private final List<Task> tasks = new ArrayList<>();
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<Task, String> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty task graph.
+     *
+     * @param stateFile
+     *            the file to store the input fingerprints of the tasks in, or
+     *            {@code null} to always run all tasks
+     */
+    TaskGraph(File stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * Adds a task to the graph. The dependencies must have been added before.
+     *
+     * @param command
+     *            the command to run
+     * @param dependencies
+     *            the tasks which must complete before the command is run,
+     *            {@code null} values are ignored
+     * @return the added task
+     */
+    Task add(FallibleCommand command, Task... dependencies) {
+        Task task = new Task(command, Arrays.stream(dependencies)
+                .filter(Objects::nonNull).collect(Collectors.toList()));
+        tasks.add(task);
+        return task;
+    }
+
+    @Override
+    public void execute() throws ExecutionFailedException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        loadState();
+
+        // Most tasks wait for I/O or external processes, so each task that is
+        // ready may get its own thread
+        ExecutorService executor = Executors.newCachedThreadPool();
+        Map<Task, CompletableFuture<Void>> futures = new ConcurrentHashMap<>();
+        try {
+            for (Task task : tasks) {
+                CompletableFuture<?>[] dependencies = task.dependencies
+                        .stream().map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(task, CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> run(task), executor));
+            }
+            // Wait for all tasks, failures are reported below
+            CompletableFuture
+                    .allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .exceptionally(error -> null).join();
+        } finally {
+            executor.shutdown();
+            saveState();
+        }
+
+        getLogger().info("Frontend tasks took {} ms: {}",
+                (System.nanoTime() - start) / 1_000_000,
+                tasks.stream().filter(timings::containsKey)
+                        .map(task -> task.getName() + " "
+                                + timings.get(task))
+                        .collect(Collectors.joining(", ")));
+
+        // The dependents of a failed task fail with the same exception, so
+        // the first failure is the original one
+        for (Task task : tasks) {
+            CompletableFuture<Void> future = futures.get(task);
+            if (future.isCompletedExceptionally()) {
+                rethrow(future);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        String fingerprint = null;
+        if (!task.inputs.isEmpty()) {
+            fingerprint = fingerprint(task.inputs);
+            if (fingerprint != null
+                    && fingerprint.equals(fingerprints.get(task.getName()))
+                    && task.outputs.stream().allMatch(File::exists)) {
+                timings.put(task, "up to date");
+                return;
+            }
+            // Not up to date if the task fails
+            fingerprints.remove(task.getName());
+        }
+
+        long start = System.nanoTime();
+        try {
+            task.command.execute();
+        } catch (ExecutionFailedException e) {
+            throw new CompletionException(e);
+        } finally {
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            timings.put(task, ms + " ms");
+            getLogger().debug("{} took {} ms", task.getName(), ms);
+        }
+
+        if (fingerprint != null) {
+            fingerprints.put(task.getName(), fingerprint);
+        }
+    }
+
+    private static void rethrow(CompletableFuture<Void> future)
+            throws ExecutionFailedException {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ExecutionFailedException) {
+                throw (ExecutionFailedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String fingerprint(List<File> inputs) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            for (File input : inputs) {
+                if (input.isDirectory()) {
+                    FileUtils.listFiles(input, null, true).stream().sorted()
+                            .forEach(file -> appendFile(builder, file));
+                } else {
+                    appendFile(builder, input);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // The task is run and not marked up to date
+            getLogger().debug("Unable to read the inputs of a task", e);
+            return null;
+        }
+        return Base64.getEncoder()
+                .encodeToString(MessageDigestUtil.sha256(builder.toString()));
+    }
+
+    private static void appendFile(StringBuilder builder, File file) {
+        builder.append(file.getAbsolutePath());
+        if (file.exists()) {
+            try {
+                byte[] hash = MessageDigestUtil
+                        .sha256(Files.readAllBytes(file.toPath()));
+                builder.append(':')
+                        .append(Base64.getEncoder().encodeToString(hash));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        builder.append('\n');
+    }
+
+    private boolean hasUpToDateChecks() {
+        return stateFile != null
+                && tasks.stream().anyMatch(task -> !task.inputs.isEmpty());
+    }
+
+    private void loadState() {
+        if (!hasUpToDateChecks() || !stateFile.exists()) {
+            return;
+        }
+        try {
+            JsonObject json = Json
+                    .parse(FileUtils.readFileToString(stateFile, UTF_8));
+            for (String name : json.keys()) {
+                fingerprints.put(name, json.getString(name));
+            }
+        } catch (IOException | JsonException e) {
+            // All tasks are run if the state is unreadable
+            getLogger().debug("Ignoring unreadable task state file '{}'",
+                    stateFile, e);
+        }
+    }
+
+    private void saveState() {
+        if (!hasUpToDateChecks()) {
+            return;
+        }
+        JsonObject json = Json.createObject();
+        fingerprints.forEach(json::put);
+        try {
+            FileUtils.writeStringToFile(stateFile, JsonUtil.stringify(json),
+                    UTF_8);
+        } catch (IOException e) {
+            getLogger().warn("Unable to write the task state file '{}'",
+                    stateFile, e);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(TaskGraph.class);
+    }
+}
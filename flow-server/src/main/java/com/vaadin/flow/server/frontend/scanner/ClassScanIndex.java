@@ -0,0 +1,367 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import net.bytebuddy.jar.asm.ClassReader;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Byte code scan results of classes, optionally persisted to a file between
+ * runs.
+ * <p>
+ * The scan result of a class without frontend annotations does not depend on
+ * the end-point it is visited from, so only its referenced classes are
+ * stored. Stored results are reused as long as the hash of the class file is
+ * unchanged, so only changed classes are parsed again. Classes with frontend
+ * annotations are still visited for each end-point, but their class files are
+ * read only once.
+ * <p>
+ * Classes can be scanned in advance in parallel with
+ * {@link #prefetch(Collection, Predicate)}. The results do not depend on the
+ * order of scanning, so the dependencies collected from them are the same as
+ * when scanning on a single thread.
+ *
+ * @since
+ */
+final class ClassScanIndex {
+
+    private static final int VERSION = 1;
+
+    private static final String VERSION_KEY = "version";
+    private static final String CLASSES = "classes";
+    private static final String HASH = "hash";
+    private static final String ANNOTATED = "annotated";
+    private static final String CHILDREN = "children";
+
+    // Marks classes which are not found by the class finder
+    private static final ScannedClass MISSING = new ScannedClass(null, false,
+            Collections.emptyList());
+
+    /**
+     * The scan result of a class.
+     */
+    static final class ScannedClass {
+        private final String hash;
+        private final boolean frontendAnnotated;
+        private final List<String> children;
+        private final byte[] bytes;
+
+        private ScannedClass(String hash, boolean frontendAnnotated,
+                List<String> children) {
+            this(hash, frontendAnnotated, children, null);
+        }
+
+        private ScannedClass(String hash, boolean frontendAnnotated,
+                List<String> children, byte[] bytes) {
+            this.hash = hash;
+            this.frontendAnnotated = frontendAnnotated;
+            this.children = children;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Gets whether the class has annotations which update the end-point
+         * data, in which case it needs to be visited for each end-point.
+         *
+         * @return {@code true} if the class has frontend annotations
+         */
+        boolean isFrontendAnnotated() {
+            return frontendAnnotated;
+        }
+
+        /**
+         * Gets the classes referenced by the class, in the order they are
+         * visited.
+         *
+         * @return the referenced class names
+         */
+        List<String> getChildren() {
+            return children;
+        }
+
+        /**
+         * Gets the class file content of a class with frontend annotations.
+         *
+         * @return the class file content, or {@code null} for classes without
+         *         frontend annotations
+         */
+        byte[] getBytes() {
+            return bytes;
+        }
+    }
+
+    private final ClassFinder finder;
+    private final File indexFile;
+
+    private final Map<String, ScannedClass> stored;
+    private final Map<String, ScannedClass> scanned = new ConcurrentHashMap<>();
+    private final Set<String> prefetched = ConcurrentHashMap.newKeySet();
+
+    private int reused;
+
+    /**
+     * Creates a scan index, loading previous results from the given file.
+     *
+     * @param finder
+     *            the class finder used to locate class files
+     * @param indexFile
+     *            the file to load and save the results, or {@code null} to
+     *            keep the results only in memory
+     */
+    ClassScanIndex(ClassFinder finder, File indexFile) {
+        this.finder = finder;
+        this.indexFile = indexFile;
+        this.stored = load(indexFile);
+    }
+
+    /**
+     * Scans the given classes and all visitable classes referenced by them in
+     * parallel using the common fork-join pool. Classes which fail to be
+     * scanned are skipped, so that the error is reported when the class is
+     * visited.
+     *
+     * @param classNames
+     *            the names of the classes to start from
+     * @param visitable
+     *            predicate telling whether a referenced class should be
+     *            scanned
+     */
+    void prefetch(Collection<String> classNames,
+            Predicate<String> visitable) {
+        ForkJoinPool.commonPool()
+                .invoke(new PrefetchTask(new ArrayList<>(classNames),
+                        visitable));
+    }
+
+    /**
+     * Gets the scan result of a class, scanning it if not done yet.
+     *
+     * @param className
+     *            the name of the class
+     * @return the scan result, or {@code null} if the class is not found
+     * @throws IOException
+     *             if the class file cannot be read
+     */
+    ScannedClass scan(String className) throws IOException {
+        ScannedClass result = scanned.get(className);
+        if (result == null) {
+            result = doScan(className);
+            ScannedClass previous = scanned.putIfAbsent(className, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result == MISSING ? null : result;
+    }
+
+    /**
+     * Gets the number of scanned classes which did not need to be parsed as
+     * the stored result was up to date.
+     *
+     * @return the number of reused results
+     */
+    synchronized int getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * Saves the results of the classes scanned in this run to the index file.
+     * Results of classes which were not scanned are dropped.
+     */
+    void save() {
+        if (indexFile == null) {
+            return;
+        }
+        // Sorted, so that the file is the same for the same classes
+        Map<String, ScannedClass> results = new TreeMap<>(scanned);
+        JsonObject classes = Json.createObject();
+        results.forEach((className, result) -> {
+            if (result == MISSING) {
+                return;
+            }
+            JsonObject entry = Json.createObject();
+            entry.put(HASH, result.hash);
+            entry.put(ANNOTATED, result.frontendAnnotated);
+            JsonArray children = Json.createArray();
+            for (String child : result.children) {
+                children.set(children.length(), child);
+            }
+            entry.put(CHILDREN, children);
+            classes.put(className, entry);
+        });
+        JsonObject json = Json.createObject();
+        json.put(VERSION_KEY, VERSION);
+        json.put(CLASSES, classes);
+        try {
+            FileUtils.writeStringToFile(indexFile, JsonUtil.stringify(json),
+                    UTF_8);
+        } catch (IOException e) {
+            log().warn("Unable to write the class scan index '{}'", indexFile,
+                    e);
+        }
+    }
+
+    private ScannedClass doScan(String className) throws IOException {
+        URL url = finder.getResource(className.replace(".", "/") + ".class");
+        if (url == null) {
+            return MISSING;
+        }
+        byte[] bytes;
+        try (InputStream is = url.openStream()) {
+            bytes = IOUtils.toByteArray(is);
+        }
+        String hash = hash(bytes);
+
+        ScannedClass previous = stored.get(className);
+        if (previous != null && previous.hash.equals(hash)) {
+            synchronized (this) {
+                reused++;
+            }
+            return new ScannedClass(hash, previous.frontendAnnotated,
+                    previous.children,
+                    previous.frontendAnnotated ? bytes : null);
+        }
+
+        // Not matching any visitable class, so only the end-point independent
+        // results are collected
+        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
+                new EndPointData(Object.class), false);
+        new ClassReader(bytes).accept(visitor, ClassReader.EXPAND_FRAMES);
+        boolean annotated = visitor.isFrontendAnnotated();
+        return new ScannedClass(hash, annotated,
+                Collections.unmodifiableList(
+                        new ArrayList<>(visitor.getChildren())),
+                annotated ? bytes : null);
+    }
+
+    private final class PrefetchTask extends RecursiveAction {
+        private final List<String> classNames;
+        private final Predicate<String> visitable;
+
+        private PrefetchTask(List<String> classNames,
+                Predicate<String> visitable) {
+            this.classNames = classNames;
+            this.visitable = visitable;
+        }
+
+        @Override
+        protected void compute() {
+            List<PrefetchTask> tasks = new ArrayList<>();
+            for (String className : classNames) {
+                if (!visitable.test(className)
+                        || !prefetched.add(className)) {
+                    continue;
+                }
+                try {
+                    ScannedClass result = scan(className);
+                    if (result != null && !result.children.isEmpty()) {
+                        tasks.add(new PrefetchTask(result.children,
+                                visitable));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log().debug("Unable to scan '{}' in advance", className,
+                            e);
+                }
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    private static Map<String, ScannedClass> load(File indexFile) {
+        if (indexFile == null || !indexFile.exists()) {
+            return Collections.emptyMap();
+        }
+        try {
+            JsonObject json = Json.parse(
+                    FileUtils.readFileToString(indexFile, UTF_8));
+            if (!json.hasKey(VERSION_KEY)
+                    || (int) json.getNumber(VERSION_KEY) != VERSION) {
+                return Collections.emptyMap();
+            }
+            JsonObject classes = json.getObject(CLASSES);
+            Map<String, ScannedClass> results = new HashMap<>();
+            for (String className : classes.keys()) {
+                JsonObject entry = classes.getObject(className);
+                JsonArray array = entry.getArray(CHILDREN);
+                List<String> children = new ArrayList<>(array.length());
+                for (int i = 0; i < array.length(); i++) {
+                    children.add(array.getString(i));
+                }
+                results.put(className,
+                        new ScannedClass(entry.getString(HASH),
+                                entry.getBoolean(ANNOTATED),
+                                Collections.unmodifiableList(children)));
+            }
+            return results;
+        } catch (IOException | JsonException | NullPointerException e) {
+            // Any problem with the index only means that all classes are
+            // scanned again
+            log().debug("Ignoring unreadable class scan index '{}'",
+                    indexFile, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(bytes);
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(
+                    "SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    private static Logger log() {
+        return LoggerFactory.getLogger(ClassScanIndex.class);
+    }
+}
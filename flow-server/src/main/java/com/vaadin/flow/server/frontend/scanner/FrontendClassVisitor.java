@@ -60,6 +60,7 @@ final class FrontendClassVisitor extends ClassVisitor {
     private final AnnotationVisitor jsModuleVisitor;
     private final AnnotationVisitor jScriptVisitor;
     private final Set<String> children = new HashSet<>();
+    private boolean frontendAnnotated;
 
     private final class FrontendMethodVisitor extends MethodVisitor {
         public FrontendMethodVisitor() {
@@ -243,6 +244,7 @@ final class FrontendClassVisitor extends ClassVisitor {
         // We return different visitor implementations depending on the
         // annotation
         String cname = descriptor.replace("/", ".");
+        frontendAnnotated |= isFrontendAnnotation(cname);
         if (className.equals(endPoint.name)
                 && cname.contains(Route.class.getName())) {
             return routeVisitor;
@@ -291,6 +293,26 @@ final class FrontendClassVisitor extends ClassVisitor {
         return children;
     }
 
+    /**
+     * Return whether the visited class has annotations which update the
+     * end-point data. The result of visiting a class without such annotations
+     * does not depend on the end-point or the theme scope.
+     *
+     * @return {@code true} if the class has frontend annotations
+     */
+    public boolean isFrontendAnnotated() {
+        return frontendAnnotated;
+    }
+
+    private static boolean isFrontendAnnotation(String cname) {
+        return cname.contains(Route.class.getName())
+                || cname.contains(JsModule.class.getName())
+                || cname.contains(JavaScript.class.getName())
+                || cname.contains(NoTheme.class.getName())
+                || cname.contains(Theme.class.getName())
+                || cname.contains(CssImport.class.getName());
+    }
+
     /**
      * Inspects the type description of a java field or a method type visited by
      * the class visitor. It extracts all class names referenced in the
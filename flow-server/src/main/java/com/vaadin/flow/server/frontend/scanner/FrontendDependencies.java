@@ -15,11 +15,10 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -29,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import net.bytebuddy.jar.asm.ClassReader;
@@ -59,11 +59,25 @@ import static com.vaadin.flow.server.frontend.scanner.FrontendClassVisitor.VERSI
  */
 public class FrontendDependencies extends AbstractDependenciesScanner {
 
+    // We should visit only those classes that might have NpmPackage,
+    // JsImport, JavaScript and HtmlImport annotations, basically
+    // HasElement, and AbstractTheme classes, but that prevents the usage of
+    // factories. This is the reason of having just a blacklist of some
+    // common name-spaces that would not have components.
+    private static final Pattern NOT_VISITABLE = Pattern.compile( // @formatter:off
+                    "(^$|"
+                    + ".*(slf4j).*|"
+                    // #5803
+                    + "^(java|sun|elemental|javax|org.(apache|atmosphere|jsoup|jboss|w3c|spring|joda|hibernate|glassfish|hsqldb)|com.(helger|spring|gwt|lowagie|fasterxml)|net.(sf|bytebuddy)).*|"
+                    + ".*(Exception)$"
+                    + ")"); // @formatter:on
+
     private final HashMap<String, EndPointData> endPoints = new HashMap<>();
     private ThemeDefinition themeDefinition;
     private AbstractTheme themeInstance;
     private final HashMap<String, String> packages = new HashMap<>();
     private final Set<String> visited = new HashSet<>();
+    private transient ClassScanIndex scanIndex;
 
     /**
      * Default Constructor.
@@ -89,10 +103,32 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
      */
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents) {
+        this(finder, generateEmbeddableWebComponents, null);
+    }
+
+    /**
+     * Creates a scanner which reuses the byte code scan results of unchanged
+     * classes from previous scans. The results are stored in the given index
+     * file, and the classes whose class files have changed since the previous
+     * scan are scanned again.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies
+     * @param scanIndexFile
+     *            the file to store the scan results in, or {@code null} to
+     *            scan all classes
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, File scanIndexFile) {
         super(finder);
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
         long start = System.nanoTime();
+        scanIndex = new ClassScanIndex(finder, scanIndexFile);
         try {
             computeEndpoints();
             if (generateEmbeddableWebComponents) {
@@ -101,12 +137,18 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             }
             computeApplicationTheme();
             computePackages();
+            scanIndex.save();
             long ms = (System.nanoTime() - start) / 1000000;
             log().info("Visited {} classes. Took {} ms.", visited.size(), ms);
+            log().debug("Reused the scan results of {} unchanged classes.",
+                    scanIndex.getReusedCount());
         } catch (ClassNotFoundException | InstantiationException
                 | IllegalAccessException | IOException e) {
             throw new IllegalStateException(
                     "Unable to compute frontend dependencies", e);
+        } finally {
+            // Holds class file contents, only needed while scanning
+            scanIndex = null;
         }
     }
 
@@ -223,28 +265,28 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         // references loaded by the specific class finder loader
         Class<? extends Annotation> routeClass = getFinder()
                 .loadClass(Route.class.getName());
-        for (Class<?> route : getFinder().getAnnotatedClasses(routeClass)) {
-            collectEndpoints(route);
-        }
+        List<Class<?>> entries = new ArrayList<>(
+                getFinder().getAnnotatedClasses(routeClass));
 
-        for (Class<?> initListener : getFinder().getSubTypesOf(
-                getFinder().loadClass(UIInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(UIInitListener.class.getName())));
 
-        for (Class<?> initListener : getFinder().getSubTypesOf(getFinder()
-                .loadClass(VaadinServiceInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
+        entries.addAll(getFinder().getSubTypesOf(getFinder()
+                .loadClass(VaadinServiceInitListener.class.getName())));
 
-        for (Class<?> appShell : getFinder().getSubTypesOf(
-                getFinder().loadClass(AppShellConfigurator.class.getName()))) {
-            collectEndpoints(appShell);
-        }
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(AppShellConfigurator.class.getName())));
+
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(HasErrorParameter.class.getName())));
 
-        for (Class<?> errorParameters : getFinder().getSubTypesOf(
-                getFinder().loadClass(HasErrorParameter.class.getName()))) {
-            collectEndpoints(errorParameters);
+        // Scan the class files in parallel, the end-points are then visited
+        // in the same order as before using the scan results
+        scanIndex.prefetch(entries.stream().map(Class::getName)
+                .collect(Collectors.toList()), this::isVisitable);
+
+        for (Class<?> entry : entries) {
+            collectEndpoints(entry);
         }
     }
 
@@ -435,6 +477,9 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             return;
         }
 
+        scanIndex.prefetch(exporterClasses.stream().map(Class::getName)
+                .collect(Collectors.toList()), this::isVisitable);
+
         HashMap<String, EndPointData> exportedPoints = new HashMap<>();
 
         for (Class<?> exporter : exporterClasses) {
@@ -480,22 +525,25 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         }
         endPoint.getClasses().add(className);
 
-        URL url = getUrl(className);
-        if (url == null) {
+        ClassScanIndex.ScannedClass scanned = scanIndex.scan(className);
+        if (scanned == null) {
             return endPoint;
         }
 
-        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
-                endPoint, themeScope);
-        try (InputStream is = url.openStream()) {
-            ClassReader cr = new ClassReader(is);
+        Collection<String> children = scanned.getChildren();
+        if (scanned.isFrontendAnnotated()) {
+            // The annotations update the end-point, so the visit depends on it
+            FrontendClassVisitor visitor = new FrontendClassVisitor(className,
+                    endPoint, themeScope);
+            ClassReader cr = new ClassReader(scanned.getBytes());
             cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+            children = visitor.getChildren();
         }
 
         // all classes visited by the scanner, used for performance (#5933)
         visited.add(className);
 
-        for (String clazz : visitor.getChildren()) {
+        for (String clazz : children) {
             // Since we only have an entry point for the app, it is all right to
             // skip the visit to the the same class in other end-points, because
             // we output all dependencies at once. When we implement
@@ -509,23 +557,8 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     }
 
     private boolean isVisitable(String className) {
-        // We should visit only those classes that might have NpmPackage,
-        // JsImport, JavaScript and HtmlImport annotations, basically
-        // HasElement, and AbstractTheme classes, but that prevents the usage of
-        // factories. This is the reason of having just a blacklist of some
-        // common name-spaces that would not have components.
-        return className != null && // @formatter:off
-                !className.matches(
-                    "(^$|"
-                    + ".*(slf4j).*|"
-                    // #5803
-                    + "^(java|sun|elemental|javax|org.(apache|atmosphere|jsoup|jboss|w3c|spring|joda|hibernate|glassfish|hsqldb)|com.(helger|spring|gwt|lowagie|fasterxml)|net.(sf|bytebuddy)).*|"
-                    + ".*(Exception)$"
-                    + ")"); // @formatter:on
-    }
-
-    private URL getUrl(String className) {
-        return getFinder().getResource(className.replace(".", "/") + ".class");
+        return className != null
+                && !NOT_VISITABLE.matcher(className).matches();
     }
 
     @Override
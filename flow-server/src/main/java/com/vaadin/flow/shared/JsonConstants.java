@@ -124,6 +124,78 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Compact change type for attaching nodes. A compact change is a JSON
+     * array starting with the node id and the compact change type, followed
+     * by the values of the corresponding JSON object change in a fixed order.
+     * <p>
+     * Format: {@code [node, type]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_ATTACH = 0;
+
+    /**
+     * Compact change type for detaching nodes.
+     * <p>
+     * Format: {@code [node, type]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_DETACH = 1;
+
+    /**
+     * Compact change type for empty changes.
+     * <p>
+     * Format: {@code [node, type, feat, featType]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_NOOP = 2;
+
+    /**
+     * Compact change type for map put changes with a value.
+     * <p>
+     * Format: {@code [node, type, feat, key, value]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_PUT = 3;
+
+    /**
+     * Compact change type for map put changes with a node value.
+     * <p>
+     * Format: {@code [node, type, feat, key, nodeValue]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_PUT_NODE = 4;
+
+    /**
+     * Compact change type for map remove changes.
+     * <p>
+     * Format: {@code [node, type, feat, key]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_REMOVE = 5;
+
+    /**
+     * Compact change type for list splice changes removing items.
+     * <p>
+     * Format: {@code [node, type, feat, index, remove]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE_REMOVE = 6;
+
+    /**
+     * Compact change type for list splice changes adding values.
+     * <p>
+     * Format: {@code [node, type, feat, index, add]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE_ADD = 7;
+
+    /**
+     * Compact change type for list splice changes adding nodes.
+     * <p>
+     * Format: {@code [node, type, feat, index, addNodes]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE_ADD_NODES = 8;
+
+    /**
+     * Compact change type for list clear changes.
+     * <p>
+     * Format: {@code [node, type, feat]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_CLEAR = 9;
+
     /**
      * Key holding the type in of messages sent from the client.
      */
@@ -5,8 +5,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.After;
@@ -53,6 +59,7 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.InvalidRouteConfigurationException;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
@@ -61,6 +68,7 @@ import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 import com.vaadin.tests.util.MockUI;
 
 import static org.junit.Assert.assertEquals;
@@ -897,6 +905,216 @@ public class UITest {
         assertEquals("Handler should have run once", 1, runCount.get());
     }
 
+    @Test
+    public void accessSynchronously_uiLockingEnabled_uiLockedInsteadOfSession() {
+        MockVaadinSession session = createUILockingSession();
+        UI ui = new MockUI(session);
+        CurrentInstance.clearAll();
+
+        AtomicInteger runCount = new AtomicInteger();
+        ui.accessSynchronously(() -> {
+            assertTrue("UI should be locked", ui.getInternals().hasLock());
+            Assert.assertFalse("Session should not be locked",
+                    ((ReentrantLock) session.getLockInstance())
+                            .isHeldByCurrentThread());
+            runCount.incrementAndGet();
+        });
+
+        assertEquals("Task should have run once", 1, runCount.get());
+        Assert.assertFalse(ui.getInternals().hasLock());
+    }
+
+    @Test
+    public void access_uiLockingEnabled_otherUILocked_taskRunsRightAway()
+            throws Exception {
+        MockVaadinSession session = createUILockingSession();
+        UI busyUI = new MockUI(session);
+        UI ui = new MockUI(session);
+        CurrentInstance.clearAll();
+
+        CountDownLatch busyUILocked = new CountDownLatch(1);
+        CountDownLatch releaseBusyUI = new CountDownLatch(1);
+        Thread busyThread = new Thread(() -> busyUI.accessSynchronously(() -> {
+            busyUILocked.countDown();
+            try {
+                releaseBusyUI.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        busyThread.start();
+        busyUILocked.await();
+
+        AtomicInteger busyUIRunCount = new AtomicInteger();
+        Future<Void> busyUIFuture = busyUI
+                .access(busyUIRunCount::incrementAndGet);
+        AtomicInteger runCount = new AtomicInteger();
+        Future<Void> future = ui.access(runCount::incrementAndGet);
+
+        assertTrue("Task of an idle UI should run right away",
+                future.isDone());
+        assertEquals(1, runCount.get());
+        Assert.assertFalse("Task of a busy UI should wait for its lock",
+                busyUIFuture.isDone());
+
+        releaseBusyUI.countDown();
+        busyThread.join();
+
+        assertTrue("Task should run when the busy UI is unlocked",
+                busyUIFuture.isDone());
+        assertEquals(1, busyUIRunCount.get());
+    }
+
+    @Test
+    public void uiLockingEnabled_twoUIsChangeSession_noUpdatesLost()
+            throws Exception {
+        MockVaadinSession session = createUILockingSession();
+        UI ui1 = new MockUI(session);
+        UI ui2 = new MockUI(session);
+        CurrentInstance.clearAll();
+
+        int updates = 1000;
+        Set<Integer> uiIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (UI ui : Arrays.asList(ui1, ui2)) {
+            threads.add(startDaemon(() -> ui.accessSynchronously(() -> {
+                Assert.assertFalse("Session should not be locked",
+                        session.hasLock());
+                await(start);
+                for (int i = 0; i < updates; i++) {
+                    uiIds.add(session.getNextUIid());
+                    session.addRequestHandler(
+                            (vaadinSession, request, response) -> false);
+                }
+            })));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(10000);
+            Assert.assertFalse("UI thread should be done", thread.isAlive());
+        }
+
+        assertEquals("Each UI id should be unique", 2 * updates,
+                uiIds.size());
+        session.lock();
+        try {
+            assertEquals("No request handler should be lost", 2 * updates,
+                    session.getRequestHandlers().size());
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void uiLockingEnabled_uiLockHolderChangesSession_waitsForSessionLock()
+            throws Exception {
+        MockVaadinSession session = createUILockingSession();
+        UI ui = new MockUI(session);
+        CurrentInstance.clearAll();
+        ReentrantLock sessionLock = (ReentrantLock) session.getLockInstance();
+
+        session.lock();
+        Thread uiThread;
+        try {
+            uiThread = startDaemon(() -> ui.accessSynchronously(
+                    () -> session.setAttribute("foo", "bar")));
+            while (!sessionLock.hasQueuedThread(uiThread)) {
+                Assert.assertTrue("UI thread should wait for the session",
+                        uiThread.isAlive());
+                Thread.sleep(1);
+            }
+            Assert.assertNull(session.getAttribute("foo"));
+        } finally {
+            session.unlock();
+        }
+        uiThread.join(10000);
+
+        session.lock();
+        try {
+            assertEquals("bar", session.getAttribute("foo"));
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void uiLockingEnabled_sessionLockHolderAccessesBusyUI_noDeadlock()
+            throws Exception {
+        MockVaadinSession session = createUILockingSession();
+        UI ui = new MockUI(session);
+        CurrentInstance.clearAll();
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch uiLocked = new CountDownLatch(1);
+        CountDownLatch sessionLocked = new CountDownLatch(1);
+        Thread uiThread = startDaemon(() -> ui.accessSynchronously(() -> {
+            uiLocked.countDown();
+            await(sessionLocked);
+            // Needs the session lock held by the other thread
+            session.setAttribute("foo", "bar");
+            events.add("ui");
+        }));
+        Thread sessionThread = startDaemon(() -> {
+            session.lock();
+            try {
+                sessionLocked.countDown();
+                await(uiLocked);
+                ui.accessSynchronously(() -> {
+                    assertTrue(ui.getInternals().hasLock());
+                    assertTrue(session.hasLock());
+                    events.add("session");
+                });
+            } finally {
+                session.unlock();
+            }
+        });
+
+        uiThread.join(10000);
+        sessionThread.join(10000);
+        Assert.assertFalse("Deadlock between the session and UI locks",
+                uiThread.isAlive() || sessionThread.isAlive());
+        assertEquals("Session lock holder should wait for the UI lock",
+                Arrays.asList("ui", "session"), events);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void uiLockingEnabled_onlySessionLocked_changingUIThrows() {
+        MockVaadinSession session = createUILockingSession();
+        UI ui = new MockUI(session);
+        CurrentInstance.clearAll();
+
+        session.lock();
+        try {
+            ui.getElement().setProperty("foo", "bar");
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private static Thread startDaemon(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockVaadinSession createUILockingSession() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING, "true");
+        return new MockVaadinSession(
+                new MockVaadinServletService(configuration));
+    }
+
     @Test
     public void navigate_useParameterizedTarget_noOptionalAnnotation_navigationSucceded() {
         AtomicReference<String> loc = new AtomicReference<>();
@@ -74,4 +74,29 @@ public class ConstantPoolTest {
         Assert.assertNotEquals(constantId, otherId);
         Assert.assertTrue(constantPool.hasNewConstants());
     }
+
+    @Test
+    public void intern_sameValue_sameInstance() {
+        ConstantPoolKey key = ConstantPoolKey
+                .intern(Json.parse("{\"interned\":true}"));
+
+        Assert.assertSame(key, ConstantPoolKey
+                .intern(Json.parse("{\"interned\":true}")));
+        Assert.assertEquals(key.getId(),
+                new ConstantPoolKey(Json.parse("{\"interned\":true}"))
+                        .getId());
+    }
+
+    @Test
+    public void manyValues_allRegisteredOnce() {
+        for (int i = 0; i < 1000; i++) {
+            constantPool.getConstantId(new ConstantPoolKey(Json.create(i)));
+        }
+        Assert.assertEquals(1000, constantPool.dumpConstants().keys().length);
+
+        for (int i = 0; i < 1000; i++) {
+            constantPool.getConstantId(new ConstantPoolKey(Json.create(i)));
+        }
+        Assert.assertFalse(constantPool.hasNewConstants());
+    }
 }
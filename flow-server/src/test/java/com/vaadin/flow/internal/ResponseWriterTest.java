@@ -18,13 +18,17 @@ package com.vaadin.flow.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,7 +49,9 @@ import org.apache.commons.fileupload.MultipartStream;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 
@@ -91,6 +97,9 @@ public class ResponseWriterTest {
                 createFileURLWithDataAndLength(FAULTY_CLASS_PATH_GZ, fileJsGzippedContents));
     }
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ServletContext servletContext;
     private HttpServletRequest request;
     private HttpServletResponse response;
@@ -146,6 +155,27 @@ public class ResponseWriterTest {
         }
     };
 
+    public static class CapturingChannelServletOutputStream
+            extends CapturingServletOutputStream
+            implements WritableByteChannel {
+        private int channelWrites;
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            channelWrites++;
+            int count = src.remaining();
+            while (src.hasRemaining()) {
+                baos.write(src.get());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+    }
+
     @Before
     public void setUp() {
         MockDeploymentConfiguration deploymentConfiguration = new MockDeploymentConfiguration();
@@ -486,6 +516,61 @@ public class ResponseWriterTest {
         assertStatus(206);
     }
 
+    @Test
+    public void writeFileOnDisk_outputStreamIsChannel_writtenToChannel()
+            throws IOException {
+        URL url = createFileOnDisk(fileJsContents);
+        CapturingChannelServletOutputStream out = new CapturingChannelServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        responseWriter.writeResponseContents(PATH_JS, url, request, response);
+
+        Assert.assertArrayEquals(fileJsContents, out.getOutput());
+        Assert.assertEquals(fileJsContents.length,
+                responseContentLength.get());
+        Assert.assertTrue(out.channelWrites > 0);
+    }
+
+    @Test
+    public void writeFileOnDisk_byteRange() throws IOException {
+        URL url = createFileOnDisk(fileJsContents);
+        mockRequestHeaders(new Pair<>("Range", "bytes=10-"));
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        responseWriter.writeResponseContents(PATH_JS, url, request, response);
+
+        Assert.assertArrayEquals("ntents".getBytes(), out.getOutput());
+        Assert.assertEquals(6, responseContentLength.get());
+        assertResponseHeaders(new Pair<>("Content-Range", "bytes 10-15/16"));
+        assertStatus(206);
+    }
+
+    @Test
+    public void writeFileOnDisk_byteRangeMultiPartNonSequential()
+            throws IOException {
+        pathToUrl.put("/disk/file.js", createFileOnDisk(fileJsContents));
+        try {
+            mockRequestHeaders(new Pair<>("Range", "bytes=10-12, 1-4, 5-6"));
+            assertMultipartResponse("/disk/file.js", Arrays.asList(
+                    new Pair<>(new String[] { "Content-Range: bytes 10-12/16" },
+                            "nte".getBytes()),
+                    new Pair<>(new String[] { "Content-Range: bytes 1-4/16" },
+                            "ile.".getBytes()),
+                    new Pair<>(new String[] { "Content-Range: bytes 5-6/16" },
+                            "js".getBytes())));
+            assertStatus(206);
+        } finally {
+            pathToUrl.remove("/disk/file.js");
+        }
+    }
+
+    private URL createFileOnDisk(byte[] contents) throws IOException {
+        File file = temporaryFolder.newFile("file.js");
+        Files.write(file.toPath(), contents);
+        return file.toURI().toURL();
+    }
+
     private void assertResponse(byte[] expectedResponse) throws IOException {
         assertResponse(PATH_JS, expectedResponse);
     }
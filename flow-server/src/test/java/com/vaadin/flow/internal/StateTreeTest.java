@@ -49,6 +49,7 @@ import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.tests.util.TestUtil;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 public class StateTreeTest {
@@ -89,6 +90,11 @@ public class StateTreeTest {
                 protected void populateJson(JsonObject json,
                         ConstantPool constantPool) {
                 }
+
+                @Override
+                protected void populateCompactJson(JsonArray json,
+                        ConstantPool constantPool) {
+                }
             });
         }
     }
@@ -231,6 +237,26 @@ public class StateTreeTest {
                 tree.collectDirtyNodes().toArray());
     }
 
+    @Test
+    public void markAsDirty_markedRepeatedly_keepsFirstMarkingOrder() {
+        StateNode rootNode = tree.getRootNode();
+        StateNode node1 = StateNodeTest.createEmptyNode("node1");
+        StateNode node2 = StateNodeTest.createEmptyNode("node2");
+        StateNodeTest.setParent(node1, rootNode);
+        StateNodeTest.setParent(node2, rootNode);
+
+        tree.collectChanges(change -> {
+        });
+
+        node2.markAsDirty();
+        node1.markAsDirty();
+        node2.markAsDirty();
+        node1.markAsDirty();
+
+        Assert.assertArrayEquals(new Object[] { node2, node1 },
+                tree.collectDirtyNodes().toArray());
+    }
+
     @Test
     public void testDetachInChanges() {
         StateNode node1 = tree.getRootNode();
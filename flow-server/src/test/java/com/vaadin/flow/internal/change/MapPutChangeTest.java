@@ -29,6 +29,7 @@ import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
@@ -88,6 +89,36 @@ public class MapPutChangeTest {
         Assert.assertEquals(value.getId(), (int) nodeValue.asNumber());
     }
 
+    @Test
+    public void testCompactJson() {
+        MapPutChange change = new MapPutChange(feature, "some", "string");
+
+        JsonArray json = change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.length());
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(0));
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals("some", json.getString(3));
+        Assert.assertEquals("string", json.getString(4));
+    }
+
+    @Test
+    public void testCompactJsonNodeValue() {
+        StateNode value = StateNodeTest.createEmptyNode("value");
+        MapPutChange change = new MapPutChange(feature, "myKey", value);
+
+        JsonArray json = change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE,
+                (int) json.getNumber(1));
+        Assert.assertEquals("myKey", json.getString(3));
+        Assert.assertEquals(value.getId(), (int) json.getNumber(4));
+    }
+
     private JsonValue getValue(Object input) {
         MapPutChange change = new MapPutChange(feature, "myKey", input);
         JsonObject json = change.toJson(null);
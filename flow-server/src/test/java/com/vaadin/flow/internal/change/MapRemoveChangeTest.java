@@ -26,6 +26,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 public class MapRemoveChangeTest {
@@ -48,4 +49,19 @@ public class MapRemoveChangeTest {
                 json.getString(JsonConstants.CHANGE_MAP_KEY));
     }
 
+    @Test
+    public void testCompactJson() {
+        MapRemoveChange change = new MapRemoveChange(feature, "some");
+
+        JsonArray json = change.toCompactJson(null);
+
+        Assert.assertEquals(4, json.length());
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(0));
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_REMOVE,
+                (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals("some", json.getString(3));
+    }
+
 }
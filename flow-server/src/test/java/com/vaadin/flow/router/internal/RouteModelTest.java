@@ -275,6 +275,33 @@ public class RouteModelTest {
         }
     }
 
+    @Test
+    public void immutable_model_caches_recent_navigation_route_targets() {
+        RouteModel mutable = getRouteModel();
+        RouteModel immutable = RouteModel.copy(mutable, false);
+
+        for (String url : Arrays.asList("", "trunk/branch/12",
+                "trunk/twig/a/b/c", "trunk/foo/branch/5/edit", "trunk/x/y/z",
+                "trunk/branch/notAnInteger")) {
+            NavigationRouteTarget expected = mutable
+                    .getNavigationRouteTarget(url);
+            NavigationRouteTarget result = immutable
+                    .getNavigationRouteTarget(url);
+            Assert.assertEquals(expected.toString(), result.toString());
+            Assert.assertSame(result, immutable.getNavigationRouteTarget(url));
+        }
+        Assert.assertNotSame(mutable.getNavigationRouteTarget("trunk"),
+                mutable.getNavigationRouteTarget("trunk"));
+
+        NavigationRouteTarget evicted = immutable
+                .getNavigationRouteTarget("trunk");
+        for (int i = 0; i < RouteModel.NAVIGATION_CACHE_SIZE; i++) {
+            immutable.getNavigationRouteTarget("trunk/twig/" + i);
+        }
+        Assert.assertNotSame(evicted,
+                immutable.getNavigationRouteTarget("trunk"));
+    }
+
     private void assertUrl(RouteModel root, String expectedUrl,
             String template, RouteParameters parameters) {
         final String modelUrl = root.getUrl(template, parameters);
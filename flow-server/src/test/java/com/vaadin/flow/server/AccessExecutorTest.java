@@ -0,0 +1,183 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.MockUI;
+
+public class AccessExecutorTest {
+
+    private final List<Runnable> executedTasks = new ArrayList<>();
+
+    private MockVaadinSession session;
+
+    @Before
+    public void setUp() {
+        session = createSession(false);
+        CurrentInstance.clearAll();
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void access_sessionNotLocked_runOnExecutorOnce() {
+        AtomicInteger runCount = new AtomicInteger();
+        session.access(runCount::incrementAndGet);
+        session.access(runCount::incrementAndGet);
+
+        Assert.assertEquals("Tasks should not run on the calling thread", 0,
+                runCount.get());
+        Assert.assertEquals("Purging should be scheduled once", 1,
+                executedTasks.size());
+        Assert.assertTrue(session.getService().getAccessExecutor()
+                .isScheduled(session));
+
+        executedTasks.get(0).run();
+
+        Assert.assertEquals(2, runCount.get());
+        Assert.assertFalse(session.getService().getAccessExecutor()
+                .isScheduled(session));
+    }
+
+    @Test
+    public void access_sessionLockedByCurrentThread_notRunOnUnlock() {
+        AtomicInteger runCount = new AtomicInteger();
+        session.lock();
+        try {
+            session.access(runCount::incrementAndGet);
+        } finally {
+            session.unlock();
+        }
+
+        Assert.assertEquals("Unlocking should not run access tasks", 0,
+                runCount.get());
+        Assert.assertEquals(1, executedTasks.size());
+
+        executedTasks.get(0).run();
+
+        Assert.assertEquals(1, runCount.get());
+        Assert.assertTrue(session.getPendingAccessQueue().isEmpty());
+    }
+
+    @Test
+    public void uiAccess_uiLockingEnabled_runOnExecutorWithUILocked() {
+        session = createSession(true);
+        UI ui = new MockUI(session);
+        CurrentInstance.clearAll();
+
+        AtomicInteger runCount = new AtomicInteger();
+        ui.access(() -> {
+            Assert.assertTrue(ui.getInternals().hasLock());
+            runCount.incrementAndGet();
+        });
+        Assert.assertEquals(0, runCount.get());
+        Assert.assertEquals(1, executedTasks.size());
+
+        executedTasks.get(0).run();
+
+        Assert.assertEquals(1, runCount.get());
+        Assert.assertFalse(ui.getInternals().hasLock());
+    }
+
+    @Test
+    public void access_sessionLockedForLongTime_singlePurgeWaitsForLock()
+            throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AtomicInteger executions = new AtomicInteger();
+        session = createSession(false, task -> {
+            executions.incrementAndGet();
+            executor.execute(task);
+        });
+        try {
+            AtomicInteger runCount = new AtomicInteger();
+            session.lock();
+            try {
+                for (int i = 0; i < 100; i++) {
+                    session.access(runCount::incrementAndGet);
+                    // Give the purge a chance to start waiting for the lock
+                    Thread.sleep(1);
+                }
+                Assert.assertEquals(
+                        "Only one purge should wait for the lock at a time", 1,
+                        executions.get());
+            } finally {
+                session.unlock();
+            }
+
+            long timeout = System.currentTimeMillis() + 5000;
+            while (runCount.get() < 100
+                    && System.currentTimeMillis() < timeout) {
+                Thread.sleep(1);
+            }
+            Assert.assertEquals(100, runCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void createDefaultExecutor_runsTasks() throws Exception {
+        ExecutorService executor = AccessExecutor.createDefaultExecutor();
+        try {
+            CompletableFuture<Boolean> daemon = new CompletableFuture<>();
+            executor.execute(
+                    () -> daemon.complete(Thread.currentThread().isDaemon()));
+            Assert.assertTrue(daemon.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MockVaadinSession createSession(boolean uiLocking) {
+        return createSession(uiLocking, executedTasks::add);
+    }
+
+    private MockVaadinSession createSession(boolean uiLocking,
+            Executor executor) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_EXECUTOR, "true");
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UI_LOCKING,
+                String.valueOf(uiLocking));
+        return new MockVaadinSession(
+                new MockVaadinServletService(configuration) {
+                    @Override
+                    protected Executor createAccessExecutor() {
+                        return executor;
+                    }
+                });
+    }
+}
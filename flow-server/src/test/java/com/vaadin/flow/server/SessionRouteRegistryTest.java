@@ -196,6 +196,48 @@ public class SessionRouteRegistryTest {
                 sessionRegistry.getNavigationTarget("MyRoute").get());
     }
 
+    @Test
+    public void mergedResults_reusedUntilEitherRegistryChanges() {
+        registry.setRoute("MyRoute", MyRoute.class, Collections.emptyList());
+        SessionRouteRegistry sessionRegistry = getRegistry(session);
+        sessionRegistry.setRoute("secondary", Secondary.class,
+                Collections.emptyList());
+
+        List<RouteData> routes = sessionRegistry.getRegisteredRoutes();
+        Assert.assertEquals(2, routes.size());
+        Assert.assertEquals(routes, sessionRegistry.getRegisteredRoutes());
+        Assert.assertEquals("MyRoute",
+                sessionRegistry.getTargetUrl(MyRoute.class).get());
+
+        sessionRegistry.setRoute("alternate", MyRoute.class,
+                Collections.emptyList());
+        Assert.assertEquals(3, sessionRegistry.getRegisteredRoutes().size());
+        Assert.assertEquals("alternate",
+                sessionRegistry.getTargetUrl(MyRoute.class).get());
+
+        registry.setRoute("other", MyRouteWithAliases.class,
+                Collections.emptyList());
+        routes = sessionRegistry.getRegisteredRoutes();
+        Assert.assertEquals(4, routes.size());
+        Assert.assertEquals(routes, sessionRegistry.getRegisteredRoutes());
+        Assert.assertEquals("other", sessionRegistry
+                .getTargetUrl(MyRouteWithAliases.class).get());
+    }
+
+    @Test
+    public void getRegisteredRoutes_returnedListModified_registryNotChanged() {
+        registry.setRoute("MyRoute", MyRoute.class, Collections.emptyList());
+        SessionRouteRegistry sessionRegistry = getRegistry(session);
+        sessionRegistry.setRoute("secondary", Secondary.class,
+                Collections.emptyList());
+
+        List<RouteData> routes = sessionRegistry.getRegisteredRoutes();
+        Assert.assertNotSame(routes, sessionRegistry.getRegisteredRoutes());
+        routes.clear();
+
+        Assert.assertEquals(2, sessionRegistry.getRegisteredRoutes().size());
+    }
+
     @Test
     public void registerRouteWithAliases_routeAliasesRegisteredAsExpected() {
 
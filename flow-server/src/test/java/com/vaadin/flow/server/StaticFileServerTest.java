@@ -717,6 +717,87 @@ public class StaticFileServerTest implements Serializable {
                 responseCode.get());
     }
 
+    @Test
+    public void serveStaticResource_cacheEnabled_servedFromMemoryWithETag()
+            throws IOException {
+        Mockito.when(configuration.getStaticResourceCacheMaxSize())
+                .thenReturn(1024);
+        Mockito.when(configuration.getStaticResourceCacheMaxEntries())
+                .thenReturn(10);
+        fileServer = new OverrideableStaticFileServer(servletService);
+
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        setupRequestURI("", "/some", "/file.js");
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        String eTag = headers.get("ETag");
+        Assert.assertNotNull(eTag);
+
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+
+        Mockito.verify(servletService, Mockito.times(1))
+                .getStaticResource("/some/file.js");
+    }
+
+    @Test
+    public void serveStaticResource_cacheEnabled_eTagOfOtherEncodingNotMatched()
+            throws IOException {
+        Mockito.when(configuration.getStaticResourceCacheMaxSize())
+                .thenReturn(1024);
+        Mockito.when(configuration.getStaticResourceCacheMaxEntries())
+                .thenReturn(10);
+        fileServer = new OverrideableStaticFileServer(servletService);
+
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] gzipData = "gzipped".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        Mockito.when(servletService.getStaticResource("/some/file.js.gz"))
+                .thenReturn(createFileURLWithDataAndLength(
+                        "/some/file.js.gz", gzipData));
+        setupRequestURI("", "/some", "/file.js");
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(fileData, out.getOutput());
+        String eTag = headers.get("ETag");
+
+        // The same tag does not match the gzip variant
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(gzipData, out.getOutput());
+        String gzipETag = headers.get("ETag");
+        Assert.assertNotEquals(eTag, gzipETag);
+
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(gzipETag);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+        Assert.assertEquals(gzipETag, headers.get("ETag"));
+    }
+
     @Test
     public void serveStaticResourceFromWebjarWithIncorrectPath()
             throws IOException {
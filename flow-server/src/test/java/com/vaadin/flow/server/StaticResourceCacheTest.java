@@ -0,0 +1,196 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.StaticResourceCache.CachedResource;
+
+public class StaticResourceCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Map<String, URL> files = new HashMap<>();
+
+    @Test
+    public void load_resourceWithVariants_allContentsCached()
+            throws IOException {
+        URL url = createFile("/app.js", "console.log('hello')");
+        createFile("/app.js.gz", "gz");
+        createFile("/app.js.br", "br");
+
+        StaticResourceCache cache = new StaticResourceCache(1000, 10);
+        CachedResource resource = cache.load("/app.js", url, files::get);
+
+        Assert.assertSame(resource, cache.get("/app.js"));
+        Assert.assertEquals("console.log('hello')",
+                new String(resource.getContents(), StandardCharsets.UTF_8));
+        Assert.assertArrayEquals("gz".getBytes(StandardCharsets.UTF_8),
+                resource.getGzipContents());
+        Assert.assertArrayEquals("br".getBytes(StandardCharsets.UTF_8),
+                resource.getBrotliContents());
+        Assert.assertEquals(24, cache.getSize());
+        Assert.assertEquals(0, resource.getLastModified() % 1000);
+    }
+
+    @Test
+    public void eTag_sameContents_sameTagPerEncoding() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1000, 10);
+        CachedResource first = cache.load("/a.js",
+                createFile("/a.js", "foo"), files::get);
+        CachedResource second = cache.load("/b.js",
+                createFile("/b.js", "foo"), files::get);
+        CachedResource other = cache.load("/c.js",
+                createFile("/c.js", "bar"), files::get);
+
+        Assert.assertEquals(first.getETag(), second.getETag());
+        Assert.assertNotEquals(first.getETag(), other.getETag());
+        Assert.assertTrue(first.getETag().matches("\"[0-9a-f]{32}\""));
+        Assert.assertEquals(
+                first.getETag().replaceFirst("\"$", "-gzip\""),
+                first.getETag("gzip"));
+    }
+
+    @Test
+    public void matches_ifNoneMatchVariants() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1000, 10);
+        CachedResource resource = cache.load("/a.js",
+                createFile("/a.js", "foo"), files::get);
+
+        Assert.assertTrue(resource.matches(resource.getETag(), null));
+        Assert.assertTrue(resource.matches("W/" + resource.getETag(), null));
+        Assert.assertTrue(resource.matches(
+                "\"other\", " + resource.getETag("br"), "br"));
+        Assert.assertTrue(resource.matches("*", null));
+        Assert.assertFalse(resource.matches("\"other\"", null));
+        Assert.assertFalse(resource.matches(null, null));
+    }
+
+    @Test
+    public void matches_tagOfOtherEncoding_notMatched() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1000, 10);
+        CachedResource resource = cache.load("/a.js",
+                createFile("/a.js", "foo"), files::get);
+
+        Assert.assertFalse(resource.matches(resource.getETag(), "gzip"));
+        Assert.assertFalse(resource.matches(resource.getETag("gzip"), "br"));
+        Assert.assertFalse(resource.matches(resource.getETag("br"), null));
+    }
+
+    @Test
+    public void load_maxEntriesExceeded_leastRecentlyUsedEvicted()
+            throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(1000, 2);
+        cache.load("/a.js", createFile("/a.js", "a"), files::get);
+        cache.load("/b.js", createFile("/b.js", "b"), files::get);
+        cache.get("/a.js");
+        cache.load("/c.js", createFile("/c.js", "c"), files::get);
+
+        Assert.assertEquals(2, cache.getEntryCount());
+        Assert.assertNotNull(cache.get("/a.js"));
+        Assert.assertNull(cache.get("/b.js"));
+        Assert.assertNotNull(cache.get("/c.js"));
+    }
+
+    @Test
+    public void load_maxSizeExceeded_evictedUntilFits() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(10, 100);
+        cache.load("/a.js", createFile("/a.js", "aaaa"), files::get);
+        cache.load("/b.js", createFile("/b.js", "bbbb"), files::get);
+        cache.load("/c.js", createFile("/c.js", "cccc"), files::get);
+
+        Assert.assertEquals(8, cache.getSize());
+        Assert.assertNull(cache.get("/a.js"));
+        Assert.assertNotNull(cache.get("/b.js"));
+        Assert.assertNotNull(cache.get("/c.js"));
+    }
+
+    @Test
+    public void load_resourceTooBig_notCached() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(5, 100);
+        Assert.assertNull(cache.load("/a.js",
+                createFile("/a.js", "too big"), files::get));
+
+        Assert.assertNull(cache.get("/a.js"));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void load_unknownLengthTooBig_notCached() throws IOException {
+        URL file = createFile("/a.js", "too big");
+        URL url = new URL(null, file.toString(), new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) throws IOException {
+                URLConnection connection = file.openConnection();
+                return new URLConnection(u) {
+                    @Override
+                    public void connect() {
+                    }
+
+                    @Override
+                    public long getContentLengthLong() {
+                        return -1;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() throws IOException {
+                        return connection.getInputStream();
+                    }
+                };
+            }
+        });
+
+        StaticResourceCache cache = new StaticResourceCache(5, 100);
+        Assert.assertNull(cache.load("/a.js", url, files::get));
+        Assert.assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void load_variantsTooBig_notCached() throws IOException {
+        URL url = createFile("/a.js", "foo");
+        createFile("/a.js.br", "br");
+        createFile("/a.js.gz", "gz");
+
+        StaticResourceCache cache = new StaticResourceCache(6, 100);
+        Assert.assertNull(cache.load("/a.js", url, files::get));
+        Assert.assertEquals(0, cache.getEntryCount());
+    }
+
+    private URL createFile(String name, String contents)
+            throws IOException, MalformedURLException {
+        File file = new File(temporaryFolder.getRoot(), name.substring(1));
+        FileUtils.write(file, contents, StandardCharsets.UTF_8);
+        URL url = file.toURI().toURL();
+        files.put(name, url);
+        return url;
+    }
+}
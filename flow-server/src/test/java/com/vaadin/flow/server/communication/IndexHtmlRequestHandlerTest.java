@@ -361,6 +361,42 @@ public class IndexHtmlRequestHandlerTest {
                 indexHtmlRequestHandler.getIndexHtmlResponse().getUI());
     }
 
+    @Test
+    public void productionMode_requestsWithDifferentPaths_pageFilledFromSameTemplate()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        Mockito.when(session.getCsrfToken()).thenReturn("foo");
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+        Document rootPage = Jsoup.parse(
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+
+        responseOutput.reset();
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        Document pathPage = Jsoup.parse(
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+
+        Assert.assertEquals(".",
+                rootPage.head().getElementsByTag("base").attr("href"));
+        Assert.assertEquals("./..",
+                pathPage.head().getElementsByTag("base").attr("href"));
+        for (Document page : new Document[] { rootPage, pathPage }) {
+            Elements scripts = page.head().getElementsByTag("script");
+            Assert.assertEquals(1, scripts.size());
+            Assert.assertEquals("", scripts.get(0).attr("initial"));
+            Assert.assertEquals(
+                    "window.Vaadin = {TypeScript: {\"csrfToken\":\"foo\"}};",
+                    scripts.get(0).data());
+            Assert.assertTrue(page.body().text()
+                    .contains("index.html template content"));
+            Assert.assertTrue(page.head().html().contains(".v-system-error"));
+        }
+        Assert.assertNull(
+                indexHtmlRequestHandler.getIndexHtmlResponse().getDocument());
+    }
+
     @Test
     public void should_include_token_in_dom_when_return_not_null_csrfToken_in_session()
             throws IOException {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.PushConfiguration;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.tests.util.MockUI;
+
+public class PushCoalescerTest {
+
+    private ScheduledExecutorService executor = Mockito
+            .mock(ScheduledExecutorService.class);
+
+    private PushCoalescer coalescer = new PushCoalescer(50, executor);
+
+    private PushCountingUI ui;
+
+    private static class PushCountingUI extends MockUI {
+        private final PushConfiguration pushConfiguration = Mockito
+                .mock(PushConfiguration.class);
+        private int pushCount;
+
+        private PushCountingUI() {
+            super(new MockVaadinSession());
+            Mockito.when(pushConfiguration.getPushMode())
+                    .thenReturn(PushMode.AUTOMATIC);
+        }
+
+        @Override
+        public PushConfiguration getPushConfiguration() {
+            return pushConfiguration;
+        }
+
+        @Override
+        public void push() {
+            pushCount++;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        ui = new PushCountingUI();
+        CurrentInstance.clearAll();
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void schedulePush_calledRepeatedly_pushesCoalesced() {
+        coalescer.schedulePush(ui);
+        coalescer.schedulePush(ui);
+        coalescer.schedulePush(ui);
+
+        Runnable flush = captureScheduledFlush();
+        Assert.assertTrue(coalescer.isPushPending(ui));
+        Assert.assertEquals(1, coalescer.getScheduledPushCount());
+        Assert.assertEquals(2, coalescer.getCoalescedPushCount());
+        Assert.assertEquals("UI should not be pushed before the interval", 0,
+                ui.pushCount);
+
+        flush.run();
+
+        Assert.assertEquals(1, ui.pushCount);
+        Assert.assertFalse(coalescer.isPushPending(ui));
+    }
+
+    @Test
+    public void schedulePush_afterFlush_newPushScheduled() {
+        coalescer.schedulePush(ui);
+        captureScheduledFlush().run();
+
+        coalescer.schedulePush(ui);
+
+        Mockito.verify(executor, Mockito.times(2)).schedule(
+                Mockito.any(Runnable.class), Mockito.eq(50L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+        Assert.assertEquals(2, coalescer.getScheduledPushCount());
+        Assert.assertEquals(0, coalescer.getCoalescedPushCount());
+    }
+
+    @Test
+    public void flush_uiDetached_noPushAndNotPending() {
+        coalescer.schedulePush(ui);
+        Runnable flush = captureScheduledFlush();
+
+        Mockito.when(ui.pushConfiguration.getPushMode())
+                .thenReturn(PushMode.DISABLED);
+        ui.accessSynchronously(() -> ui.getInternals().setSession(null));
+
+        flush.run();
+
+        Assert.assertEquals(0, ui.pushCount);
+        Assert.assertFalse(coalescer.isPushPending(ui));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_nonPositiveInterval_throws() {
+        new PushCoalescer(0, executor);
+    }
+
+    private Runnable captureScheduledFlush() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor
+                .forClass(Runnable.class);
+        Mockito.verify(executor).schedule(captor.capture(), Mockito.eq(50L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+        return captor.getValue();
+    }
+}
@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -283,6 +284,49 @@ public class UidlWriterTest {
                 response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
     }
 
+    @Test
+    public void writeUidl_outputEqualsCreatedUidlJson() throws Exception {
+        UI treeUI = initializeUIForDependenciesTest(new TestUI());
+        UI streamUI = new TestUI();
+        streamUI.getInternals().setSession(mocks.getSession());
+        initializeUI(streamUI, 2);
+
+        for (UI ui : new UI[] { treeUI, streamUI }) {
+            ui.add(new ChildComponent());
+            ui.add(new ComponentWithAllDependencyTypes());
+            ui.getElement().setProperty("foo", "b\"a\\r");
+            ui.getPage().executeJs("console.log($0)", "baz");
+        }
+
+        UidlWriter uidlWriter = new UidlWriter();
+        String expected = uidlWriter.createUidl(treeUI, false, true).toJson();
+
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(streamUI, false, true, writer);
+
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void writeUidl_noChanges_outputEqualsCreatedUidlJson()
+            throws Exception {
+        UI treeUI = initializeUIForDependenciesTest(new TestUI());
+        UI streamUI = new TestUI();
+        streamUI.getInternals().setSession(mocks.getSession());
+        initializeUI(streamUI, 2);
+
+        UidlWriter uidlWriter = new UidlWriter();
+        uidlWriter.createUidl(treeUI, false);
+        uidlWriter.createUidl(streamUI, false);
+
+        String expected = uidlWriter.createUidl(treeUI, true).toJson();
+
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(streamUI, true, false, writer);
+
+        assertEquals(expected, writer.toString());
+    }
+
     private void assertInlineDependencies(List<JsonObject> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));
@@ -319,6 +363,10 @@ public class UidlWriterTest {
                     "inline." + type);
         }
 
+        return initializeUI(ui, 1);
+    }
+
+    private UI initializeUI(UI ui, int uiId) {
         HttpServletRequest servletRequestMock = mock(HttpServletRequest.class);
 
         VaadinServletRequest vaadinRequestMock = mock(
@@ -327,7 +375,7 @@ public class UidlWriterTest {
         when(vaadinRequestMock.getHttpServletRequest())
                 .thenReturn(servletRequestMock);
 
-        ui.doInit(vaadinRequestMock, 1);
+        ui.doInit(vaadinRequestMock, uiId);
         ui.getInternals().getRouter().initializeUI(ui, vaadinRequestMock);
 
         return ui;
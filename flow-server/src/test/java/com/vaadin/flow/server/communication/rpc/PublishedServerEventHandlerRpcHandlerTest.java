@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.communication.rpc;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.junit.After;
@@ -102,6 +103,37 @@ public class PublishedServerEventHandlerRpcHandlerTest {
         }
     }
 
+    @Tag(Tag.DIV)
+    public static class ComponentWithThrowingMethods extends Component {
+
+        @ClientCallable
+        private void throwError() {
+            throw new AssertionError("error");
+        }
+
+        @ClientCallable
+        private void throwChecked() {
+            // Handler methods cannot declare checked exceptions
+            PublishedServerEventHandlerRpcHandlerTest
+                    .<RuntimeException> sneakyThrow(new IOException("checked"));
+        }
+    }
+
+    /**
+     * Not instantiated, since components with overloaded handler methods are
+     * rejected when created.
+     */
+    public static class ComponentWithOverloadedMethods extends Component {
+
+        @ClientCallable
+        private void overloaded(String value) {
+        }
+
+        @ClientCallable
+        private void overloaded(int value) {
+        }
+    }
+
     public static class ComponentWithNoClientCallableMethod
             extends ComponentWithCompute {
 
@@ -432,6 +464,61 @@ public class PublishedServerEventHandlerRpcHandlerTest {
                 component.getClass(), "operation1", Json.createArray(), -1);
     }
 
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable throwable)
+            throws E {
+        throw (E) throwable;
+    }
+
+    @Test
+    public void methodThrowsError_errorWrapped() {
+        ComponentWithThrowingMethods component = new ComponentWithThrowingMethods();
+        try {
+            PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                    component.getClass(), "throwError", Json.createArray(), -1);
+            Assert.fail("Exception should be thrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+
+    @Test
+    public void methodThrowsCheckedException_exceptionWrapped() {
+        ComponentWithThrowingMethods component = new ComponentWithThrowingMethods();
+        try {
+            PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                    component.getClass(), "throwChecked", Json.createArray(),
+                    -1);
+            Assert.fail("Exception should be thrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void severalMethodsWithSameName_throws() {
+        ComponentWithCompute component = new ComponentWithCompute();
+        JsonArray args = Json.createArray();
+        args.set(0, 1);
+        try {
+            PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                    ComponentWithOverloadedMethods.class, "overloaded", args,
+                    -1);
+            Assert.fail("Exception should be thrown");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains(
+                    "several event handler method with the same name"));
+        }
+    }
+
+    @Test
+    public void superClassMethod_invokedOnSubClassInstance() {
+        ComponentWithNoClientCallableMethod component = new ComponentWithNoClientCallableMethod();
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "method", Json.createArray(), -1);
+        Assert.assertTrue(((ComponentWithCompute) component).isInvoked);
+    }
+
     @Test
     public void enabledElement_methodIsInvoked() {
         UI ui = new UI();
@@ -142,6 +142,34 @@ public class NodeTasksTest {
                 .forEach(name -> assertTrue(name + " not created.", new File(dir, name).exists()));
     }
 
+    @Test
+    public void should_SkipConnectGeneration_When_OpenApiUnchanged()
+            throws Exception {
+        File src = new File(getClass().getClassLoader().getResource("java").getFile());
+        File dir = new File(userDir);
+        File json = new File(dir, "api-file.json");
+        File endpoint = new File(dir, "api/MyEndpoint.ts");
+
+        for (int i = 0; i < 2; i++) {
+            new Builder(new DefaultClassFinder(
+                    Collections.singleton(ConnectEndpointsForTesting.class)), dir)
+                            .enablePackagesUpdate(false)
+                            .enableImportsUpdate(false)
+                            .withEmbeddableWebComponents(false)
+                            .withConnectJavaSourceFolder(src)
+                            .withConnectGeneratedOpenApiJson(json)
+                            .withConnectClientTsApiFolder(new File(dir, "api"))
+                            .build().execute();
+            if (i == 0) {
+                // Overwritten if the TypeScript is generated again
+                Files.write(endpoint.toPath(), "// not generated".getBytes());
+            }
+        }
+
+        Assert.assertEquals("// not generated",
+                new String(Files.readAllBytes(endpoint.toPath())));
+    }
+
     private Object getFieldValue(Object obj, String name) throws Exception {
         Field field = obj.getClass().getDeclaredField(name);
         field.setAccessible(true);
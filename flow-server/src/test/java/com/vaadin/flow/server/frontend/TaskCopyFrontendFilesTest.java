@@ -19,11 +19,13 @@ package com.vaadin.flow.server.frontend;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +36,7 @@ import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
 import static com.vaadin.flow.server.Constants.PACKAGE_JSON;
+import static com.vaadin.flow.server.frontend.FrontendUtils.COPIED_FILES_NAME;
 
 public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
     @Rule
@@ -77,6 +80,78 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
         Assert.assertFalse(deps.hasKey("@vaadin/flow-deps"));
     }
 
+    @Test
+    public void manifest_unchangedEntriesSkipped_staleFilesRemoved()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        File dir = TestUtils.getTestFolder("dir-with-modern-frontend");
+        File manifest = new File(generatedFolder, COPIED_FILES_NAME);
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir),
+                manifest).execute();
+        Assert.assertTrue(manifest.exists());
+
+        File unchanged = new File(frontendDepsFolder, "inline.css");
+        Assert.assertTrue(
+                unchanged.setLastModified(unchanged.lastModified() - 10000));
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir),
+                manifest).execute();
+        long lastModified = unchanged.lastModified();
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir),
+                manifest).execute();
+        Assert.assertEquals("Unchanged file should not have been extracted",
+                lastModified, unchanged.lastModified());
+
+        // Same size, but a different modification time
+        File extracted = new File(frontendDepsFolder, "ExampleConnector.js");
+        byte[] content = FileUtils.readFileToByteArray(extracted);
+        byte[] modified = content.clone();
+        modified[0]++;
+        FileUtils.writeByteArrayToFile(extracted, modified);
+        Assert.assertTrue(
+                extracted.setLastModified(extracted.lastModified() - 10000));
+        File deleted = new File(frontendDepsFolder, "inline.css");
+        Assert.assertTrue(deleted.delete());
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir),
+                manifest).execute();
+        Assert.assertArrayEquals("Modified file should have been extracted",
+                content, FileUtils.readFileToByteArray(extracted));
+        Assert.assertTrue("Missing file should have been extracted again",
+                deleted.exists());
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(dir), manifest)
+                .execute();
+        List<String> files = TestUtils.listFilesRecursively(frontendDepsFolder);
+        Assert.assertEquals(1, files.size());
+        Assert.assertTrue(files.contains("resourceInFolder.js"));
+    }
+
+    @Test
+    public void manifest_fileInJarAndDirectory_sameFileAsWithoutManifest()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        File dir = temporaryFolder.newFolder();
+        File frontend = new File(dir, "META-INF/resources/frontend");
+        FileUtils.writeStringToFile(new File(frontend, "ExampleConnector.js"),
+                "// from directory", StandardCharsets.UTF_8);
+        File manifest = new File(generatedFolder, COPIED_FILES_NAME);
+
+        File expectedFolder = temporaryFolder.newFolder();
+        new TaskCopyFrontendFiles(expectedFolder, jars(jar, dir)).execute();
+        String expected = FileUtils.readFileToString(
+                new File(expectedFolder, "ExampleConnector.js"),
+                StandardCharsets.UTF_8);
+
+        File copied = new File(frontendDepsFolder, "ExampleConnector.js");
+        for (int i = 0; i < 2; i++) {
+            new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir),
+                    manifest).execute();
+            Assert.assertEquals(expected, FileUtils.readFileToString(copied,
+                    StandardCharsets.UTF_8));
+        }
+    }
+
     private void should_collectJsAndCssFilesFromJars(String jarFile,
             String fsDir) throws IOException {
 
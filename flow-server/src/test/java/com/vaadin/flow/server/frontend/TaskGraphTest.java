@@ -0,0 +1,163 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.ExecutionFailedException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class TaskGraphTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    private class RecordingCommand implements FallibleCommand {
+        private final String name;
+
+        private RecordingCommand(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute() throws ExecutionFailedException {
+            executed.add(name);
+        }
+    }
+
+    private class InputCommand extends RecordingCommand {
+        private InputCommand() {
+            super("input");
+        }
+    }
+
+    @Test
+    public void dependentTasks_runAfterDependencies() throws Exception {
+        TaskGraph graph = new TaskGraph(null);
+        TaskGraph.Task first = graph.add(new RecordingCommand("first"));
+        TaskGraph.Task second = graph.add(new RecordingCommand("second"),
+                first);
+        graph.add(new RecordingCommand("third"), first, second);
+
+        graph.execute();
+
+        Assert.assertEquals(3, executed.size());
+        Assert.assertTrue(executed.indexOf("first") < executed
+                .indexOf("second"));
+        Assert.assertTrue(executed.indexOf("second") < executed
+                .indexOf("third"));
+    }
+
+    @Test
+    public void independentTasks_runConcurrently() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        FallibleCommand awaitBoth = () -> {
+            latch.countDown();
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new ExecutionFailedException("Not concurrent");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionFailedException(e);
+            }
+        };
+        TaskGraph graph = new TaskGraph(null);
+        graph.add(awaitBoth);
+        graph.add(awaitBoth);
+
+        graph.execute();
+    }
+
+    @Test
+    public void failingTask_dependentsSkippedAndFailureThrown() {
+        ExecutionFailedException failure = new ExecutionFailedException(
+                "failed");
+        TaskGraph graph = new TaskGraph(null);
+        TaskGraph.Task failing = graph.add(() -> {
+            throw failure;
+        });
+        graph.add(new RecordingCommand("dependent"), failing);
+        graph.add(new RecordingCommand("independent"));
+
+        try {
+            graph.execute();
+            Assert.fail("Failure should be thrown");
+        } catch (ExecutionFailedException e) {
+            Assert.assertSame(failure, e);
+        }
+        Assert.assertEquals(1, executed.size());
+        Assert.assertEquals("independent", executed.get(0));
+    }
+
+    @Test
+    public void unchangedInputs_taskSkipped() throws Exception {
+        File stateFile = new File(temporaryFolder.getRoot(), "state.json");
+        File input = temporaryFolder.newFile("input.txt");
+        File output = temporaryFolder.newFile("output.txt");
+
+        for (int i = 0; i < 2; i++) {
+            TaskGraph graph = new TaskGraph(stateFile);
+            graph.add(new InputCommand()).withInputs(input)
+                    .withOutputs(output);
+            graph.execute();
+        }
+        Assert.assertEquals(1, executed.size());
+
+        FileUtils.writeStringToFile(input, "changed", UTF_8);
+        TaskGraph graph = new TaskGraph(stateFile);
+        graph.add(new InputCommand()).withInputs(input).withOutputs(output);
+        graph.execute();
+        Assert.assertEquals(2, executed.size());
+
+        Assert.assertTrue(output.delete());
+        graph.execute();
+        Assert.assertEquals(3, executed.size());
+    }
+
+    @Test
+    public void inputRewrittenWithSameContent_taskSkipped() throws Exception {
+        File stateFile = new File(temporaryFolder.getRoot(), "state.json");
+        File input = temporaryFolder.newFile("input.txt");
+        File output = temporaryFolder.newFile("output.txt");
+        FileUtils.writeStringToFile(input, "content", UTF_8);
+
+        for (int i = 0; i < 2; i++) {
+            TaskGraph graph = new TaskGraph(stateFile);
+            graph.add(new InputCommand()).withInputs(input)
+                    .withOutputs(output);
+            graph.execute();
+
+            FileUtils.writeStringToFile(input, "content", UTF_8);
+            Assert.assertTrue(input.setLastModified(
+                    input.lastModified() + 10_000));
+        }
+        Assert.assertEquals(1, executed.size());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.frontend.scanner.ClassScanIndex.ScannedClass;
+import com.vaadin.flow.server.frontend.scanner.samples.RouteComponent;
+import com.vaadin.flow.server.frontend.scanner.samples.RouteComponentWithMethodReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class ClassScanIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ClassFinder classFinder = Mockito.mock(ClassFinder.class);
+
+    private File indexFile;
+
+    @Before
+    public void setUp() {
+        Mockito.doAnswer(invocation -> ClassScanIndexTest.class
+                .getClassLoader()
+                .getResource(invocation.getArgumentAt(0, String.class)))
+                .when(classFinder).getResource(Mockito.anyString());
+        indexFile = new File(temporaryFolder.getRoot(), "index.json");
+    }
+
+    @Test
+    public void savedIndex_unchangedClassesNotParsedAgain() throws IOException {
+        String className = RouteComponentWithMethodReference.class.getName();
+        ClassScanIndex index = new ClassScanIndex(classFinder, indexFile);
+        index.prefetch(Collections.singleton(className),
+                name -> name.startsWith("com.vaadin.flow.server.frontend"));
+        ScannedClass scanned = index.scan(className);
+        index.save();
+        Assert.assertEquals(0, index.getReusedCount());
+
+        ClassScanIndex loaded = new ClassScanIndex(classFinder, indexFile);
+        ScannedClass reused = loaded.scan(className);
+
+        Assert.assertEquals(1, loaded.getReusedCount());
+        Assert.assertEquals(scanned.getChildren(), reused.getChildren());
+        Assert.assertTrue(reused.isFrontendAnnotated());
+        Assert.assertNotNull(reused.getBytes());
+        Assert.assertNull(loaded.scan("com.example.Missing"));
+    }
+
+    @Test
+    public void changedClassFile_classParsedAgain() throws IOException {
+        String className = RouteComponent.class.getName();
+        ClassScanIndex index = new ClassScanIndex(classFinder, indexFile);
+        ScannedClass scanned = index.scan(className);
+        index.save();
+
+        // Same as when the class file content changes
+        String content = FileUtils.readFileToString(indexFile, UTF_8);
+        FileUtils.writeStringToFile(indexFile,
+                content.replaceFirst("\"hash\":\"[0-9a-f]+\"",
+                        "\"hash\":\"changed\""),
+                UTF_8);
+
+        ClassScanIndex loaded = new ClassScanIndex(classFinder, indexFile);
+        Assert.assertEquals(scanned.getChildren(),
+                loaded.scan(className).getChildren());
+        Assert.assertEquals(0, loaded.getReusedCount());
+    }
+}
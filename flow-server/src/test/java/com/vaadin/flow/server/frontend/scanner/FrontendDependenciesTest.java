@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,7 +27,9 @@ import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Component;
@@ -52,6 +55,9 @@ import static org.hamcrest.CoreMatchers.is;
 
 public class FrontendDependenciesTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ClassFinder classFinder = Mockito.mock(ClassFinder.class);
 
     @Before
@@ -259,6 +265,31 @@ public class FrontendDependenciesTest {
         Assert.assertTrue(modules.contains("baz.js"));
     }
 
+    @Test
+    public void scanIndexFile_repeatedScans_sameDependencies() {
+        Mockito.when(classFinder.getAnnotatedClasses(Route.class)).thenReturn(
+                Collections.singleton(RouteComponentWithMethodReference.class));
+        File indexFile = new File(temporaryFolder.getRoot(), "index.json");
+
+        FrontendDependencies expected = new FrontendDependencies(classFinder,
+                false);
+        FrontendDependencies indexed = new FrontendDependencies(classFinder,
+                false, indexFile);
+        Assert.assertTrue(indexFile.exists());
+        FrontendDependencies reused = new FrontendDependencies(classFinder,
+                false, indexFile);
+
+        for (FrontendDependencies dependencies : Arrays.asList(indexed,
+                reused)) {
+            Assert.assertEquals(expected.getModules(),
+                    dependencies.getModules());
+            Assert.assertEquals(expected.getScripts(),
+                    dependencies.getScripts());
+            Assert.assertEquals(expected.getClasses(),
+                    dependencies.getClasses());
+        }
+    }
+
     @Test
     public void defaultThemeIsLoadedForExporters() throws Exception {
         FakeLumo.class.newInstance();
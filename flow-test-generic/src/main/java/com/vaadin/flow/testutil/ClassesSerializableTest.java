@@ -70,6 +70,9 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.osgi\\..*",
 
                 "com\\.vaadin\\.flow\\.data\\.provider\\.InMemoryDataProviderHelpers",
+                "com\\.vaadin\\.flow\\.data\\.provider\\.DataCommunicator\\$AsyncFetch",
+                "com\\.vaadin\\.flow\\.data\\.provider\\.CachingDataProvider\\$CacheEntry",
+                "com\\.vaadin\\.flow\\.data\\.provider\\.hierarchy\\.HierarchyMapper\\$HierarchyNode",
                 "com\\.vaadin\\.flow\\.di\\.InstantiatorFactory",
                 "com\\.vaadin\\.flow\\.di\\.Lookup",
                 "com\\.vaadin\\.flow\\.di\\.ResourceProvider",
@@ -100,6 +103,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeProperties",
                 "com\\.vaadin\\.flow\\.internal\\.AnnotationReader",
                 "com\\.vaadin\\.flow\\.server\\.communication\\.ServerRpcHandler\\$LazyInvocationHandlers",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.rpc\\.PublishedServerEventHandlerRpcHandler\\$HandlerMethod",
                 "com\\.vaadin\\.flow\\.server\\.VaadinServletRequest",
                 "com\\.vaadin\\.flow\\.server\\.VaadinServletResponse",
                 "com\\.vaadin\\.flow\\.server\\.startup\\.AnnotationValidator",
@@ -154,6 +158,9 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.templatemodel\\.PropertyFilter",
                 "com\\.vaadin\\.flow\\.internal\\.ReflectTools(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.FutureAccess",
+                "com\\.vaadin\\.flow\\.server\\.AccessExecutor",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.PushCoalescer",
+                "com\\.vaadin\\.flow\\.internal\\.ResponseWriter\\$\\w*RangeWriter",
                 "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.ElementPropertyMap\\$PutResult",
                 "com\\.vaadin\\.flow\\.client\\.osgi\\.OSGiClientStaticResource(\\$.*)?",
                 "com\\.vaadin\\.flow\\.osgi\\.support\\.OsgiVaadinContributor(\\$.*)?",
@@ -179,8 +186,9 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.AbstractUpdateImports",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.FallibleCommand",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeTasks",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskGraph(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeUpdater",
-                "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskCopyFrontendFiles",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskCopyFrontendFiles(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskCopyLocalFrontendFiles",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskGeneratePackageJson",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskRunNpmInstall",
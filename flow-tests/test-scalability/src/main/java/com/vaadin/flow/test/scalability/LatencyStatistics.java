@@ -0,0 +1,107 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe histograms of the access and push latencies recorded by
+ * {@link PushLatencyUI}. Latencies are counted in buckets of one millisecond
+ * up to one second; longer latencies go to the last bucket.
+ */
+public class LatencyStatistics {
+
+    private static final int BUCKETS = 1000;
+
+    private final Histogram access = new Histogram();
+
+    private final Histogram push = new Histogram();
+
+    private static class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            buckets.incrementAndGet((int) Math.min(millis, BUCKETS - 1));
+            count.increment();
+            total.add(millis);
+            max.accumulate(millis);
+        }
+
+        private long percentile(double percentile) {
+            long target = (long) Math.ceil(count.sum() * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return i;
+                }
+            }
+            return BUCKETS - 1;
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.reset();
+            total.reset();
+            max.reset();
+        }
+
+        @Override
+        public String toString() {
+            long n = count.sum();
+            return String.format(
+                    "count=%d mean=%dms p50=%dms p95=%dms p99=%dms max=%dms",
+                    n, n == 0 ? 0 : total.sum() / n, percentile(0.5),
+                    percentile(0.95), percentile(0.99), max.get());
+        }
+    }
+
+    /**
+     * Records the latencies of one access task.
+     *
+     * @param accessNanos
+     *            the time from enqueuing the task until it started running
+     * @param pushNanos
+     *            the time from enqueuing the task until its changes had been
+     *            pushed
+     */
+    public void record(long accessNanos, long pushNanos) {
+        access.record(accessNanos);
+        push.record(pushNanos);
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    public void reset() {
+        access.reset();
+        push.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "access: " + access + "\npush: " + push;
+    }
+}
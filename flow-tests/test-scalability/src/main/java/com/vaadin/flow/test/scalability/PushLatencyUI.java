@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.test.scalability;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.Text;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.VaadinServletConfiguration;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.flow.shared.ui.Transport;
+
+/**
+ * A UI which is updated from a background thread and pushed to the client ten
+ * times per second. The time from calling {@link UI#access} until the task
+ * runs and the time until the changes have been pushed are recorded in
+ * {@link #STATISTICS} and can be read from {@link StatisticsServlet}.
+ * <p>
+ * Run the server with <code>-Dvaadin.accessExecutor=true</code> to run the
+ * access tasks and pushes on the dedicated access executor instead of on the
+ * threads that release the session lock.
+ */
+public class PushLatencyUI extends UI {
+
+    public static final String PATH = "/push/";
+
+    public static final String STATISTICS_PATH = "/push-latency";
+
+    static final LatencyStatistics STATISTICS = new LatencyStatistics();
+
+    private static final ScheduledExecutorService TICKER = Executors
+            .newScheduledThreadPool(4, runnable -> {
+                Thread thread = new Thread(runnable, "push-latency-ticker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Text text = new Text("");
+
+    private ScheduledFuture<?> ticks;
+
+    private int tick;
+
+    /**
+     * The servlet for the UI.
+     */
+    @WebServlet(urlPatterns = PATH
+            + "*", name = "PushLatencyServlet", asyncSupported = true)
+    @VaadinServletConfiguration(ui = PushLatencyUI.class, productionMode = false)
+    public static class Servlet extends VaadinServlet {
+    }
+
+    /**
+     * Writes the recorded latencies as plain text and resets them if the
+     * <code>reset</code> parameter is given.
+     */
+    @WebServlet(urlPatterns = STATISTICS_PATH, name = "PushLatencyStatisticsServlet")
+    public static class StatisticsServlet extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest request,
+                HttpServletResponse response) throws IOException {
+            response.setContentType("text/plain");
+            response.getWriter().println(STATISTICS);
+            if (request.getParameter("reset") != null) {
+                STATISTICS.reset();
+            }
+        }
+    }
+
+    @Override
+    protected void init(VaadinRequest request) {
+        getPushConfiguration().setPushMode(PushMode.MANUAL);
+        getPushConfiguration().setTransport(Transport.WEBSOCKET);
+        add(text);
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        ticks = TICKER.scheduleAtFixedRate(this::tick, 100, 100,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        ticks.cancel(false);
+        super.onDetach(detachEvent);
+    }
+
+    private void tick() {
+        long enqueued = System.nanoTime();
+        access(() -> {
+            long started = System.nanoTime();
+            text.setText("Tick " + ++tick);
+            push();
+            STATISTICS.record(started - enqueued,
+                    System.nanoTime() - enqueued);
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.vaadin.flow.test.scalability
+
+import scala.concurrent.duration._
+
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+/**
+ * Opens thousands of UIs that are all updated and pushed ten times per second
+ * by the server. The push latencies recorded by the server are printed once
+ * all users have been connected for a while.
+ *
+ * Compare the results with and without -Dvaadin.accessExecutor=true given to
+ * the server.
+ */
+class PushLatency extends Simulation {
+
+  val users = Integer.getInteger("pushLatency.users", 2000).intValue
+  val rampTime = 20 seconds
+  val holdTime = 30 seconds
+
+  val httpProtocol = http
+    .baseURL("http://localhost:8888")
+    .wsBaseURL("ws://localhost:8888")
+    .acceptHeader("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+    .acceptEncodingHeader("gzip, deflate")
+    .acceptLanguageHeader("en-US,en;q=0.5")
+    .userAgentHeader("Mozilla/5.0 (Macintosh; Intel Mac OS X 10.11; rv:46.0) Gecko/20100101 Firefox/46.0")
+
+  val url = "/push/"
+  val pushUrl = url + "?v-r=push&v-uiId=${uiId}&v-pushId=${pushId}" +
+    "&X-Atmosphere-tracking-id=0&X-Atmosphere-Framework=2.3.2.vaadin1-javascript" +
+    "&X-Atmosphere-Transport=websocket&X-Atmosphere-TrackMessageSize=true" +
+    "&X-atmo-protocol=true"
+
+  val storeUiId = regex(""""v-uiId":\s(\d+),""").saveAs("uiId")
+  val storePushId = regex(""""Vaadin-Push-ID":\s?"([^"]*)""").saveAs("pushId")
+
+  val pushingUsers = scenario("Receive pushed updates").exec(
+    http("Open push page")
+      .get(url)
+      .check(storeUiId)
+      .check(storePushId),
+    ws("Open push connection")
+      .open(pushUrl)
+      .check(wsAwait.within(30 seconds).until(1).regex("""Tick \d+""")),
+    pause(holdTime),
+    ws("Close push connection").close)
+
+  val report = scenario("Report push latency").exec(
+    http("Read push latency")
+      .get("/push-latency")
+      .check(bodyString.saveAs("latency")),
+    exec { session =>
+      println("Server side push latency:\n" + session("latency").as[String])
+      session
+    })
+
+  setUp(
+    pushingUsers.inject(rampUsers(users) over rampTime),
+    report.inject(nothingFor(rampTime + holdTime - (5 seconds)), atOnceUsers(1))
+  ).protocols(httpProtocol)
+}